@@ -0,0 +1,131 @@
+package br.com.springnoobs.reminderapi.config;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.quartz.SchedulerConfigException;
+import org.quartz.spi.ThreadPool;
+
+/*
+ * Quartz ThreadPool that runs every job on a new virtual thread. org.quartz.threadPool.threadCount caps how many
+ * jobs run at once instead of sizing a set of platform threads, so it can be raised to hundreds for jobs that
+ * mostly wait on the database or SMTP. Quartz creates the pool from spring.quartz.properties and sets its
+ * properties through the setters.
+ */
+public class VirtualThreadPool implements ThreadPool {
+
+    private static final long WAIT_MILLIS = 500;
+
+    private final Set<Thread> runningThreads = ConcurrentHashMap.newKeySet();
+
+    private int threadCount = 200;
+
+    private String instanceName = "QuartzScheduler";
+
+    private Semaphore permits;
+
+    private volatile boolean shutdown;
+
+    @Override
+    public void initialize() throws SchedulerConfigException {
+        if (threadCount <= 0) {
+            throw new SchedulerConfigException("Thread count must be > 0");
+        }
+
+        permits = new Semaphore(threadCount);
+    }
+
+    /*
+     * Blocks until the job can start within the concurrency cap, like SimpleThreadPool blocks until one of its
+     * threads is free. Returns false once the pool is shut down.
+     */
+    @Override
+    public boolean runInThread(Runnable runnable) {
+        if (runnable == null || !acquire()) {
+            return false;
+        }
+
+        Thread thread = Thread.ofVirtual().name(instanceName + "-job").unstarted(() -> {
+            try {
+                runnable.run();
+            } finally {
+                runningThreads.remove(Thread.currentThread());
+                permits.release();
+            }
+        });
+
+        runningThreads.add(thread);
+        thread.start();
+
+        return true;
+    }
+
+    /*
+     * Quartz acquires at most this many triggers per poll, so returning every free permit lets one poll fire up
+     * to org.quartz.scheduler.batchTriggerAcquisitionMaxCount triggers.
+     */
+    @Override
+    public int blockForAvailableThreads() {
+        if (!acquire()) {
+            return 0;
+        }
+
+        permits.release();
+
+        return Math.max(1, permits.availablePermits());
+    }
+
+    @Override
+    public void shutdown(boolean waitForJobsToComplete) {
+        shutdown = true;
+
+        if (!waitForJobsToComplete) {
+            return;
+        }
+
+        for (Thread thread : Set.copyOf(runningThreads)) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public int getPoolSize() {
+        return threadCount;
+    }
+
+    public int getRunningCount() {
+        return runningThreads.size();
+    }
+
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    @Override
+    public void setInstanceId(String schedInstId) {}
+
+    @Override
+    public void setInstanceName(String schedName) {
+        this.instanceName = schedName;
+    }
+
+    private boolean acquire() {
+        try {
+            while (!shutdown) {
+                if (permits.tryAcquire(WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,215 @@
+package br.com.springnoobs.reminderapi.mail.breaker;
+
+import br.com.springnoobs.reminderapi.mail.exception.EmailCircuitOpenException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * Circuit breaker around the SMTP relay. The outcome of the last window-size calls is kept in a ring; once
+ * minimum-calls are recorded and either the failure rate or the slow-call rate reaches its threshold the circuit
+ * opens and sends are rejected without touching the network. After the probe interval the circuit goes half-open
+ * and lets probe-calls sends through: if all of them succeed it closes, any failure opens it again.
+ */
+@Component
+public class MailCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailCircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final boolean enabled;
+
+    private final double failureRateThreshold;
+
+    private final double slowCallRateThreshold;
+
+    private final long slowCallNanos;
+
+    private final int minimumCalls;
+
+    private final long probeIntervalNanos;
+
+    private final int probeCalls;
+
+    private final byte[] outcomes;
+
+    private final Counter rejectedCounter;
+
+    private State state = State.CLOSED;
+
+    private int recorded;
+
+    private int next;
+
+    private int failures;
+
+    private int slowCalls;
+
+    private long openedAt;
+
+    private int probesStarted;
+
+    private int probesSucceeded;
+
+    public MailCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${mail.circuit-breaker.enabled:false}") boolean enabled,
+            @Value("${mail.circuit-breaker.failure-rate-threshold:50}") double failureRateThreshold,
+            @Value("${mail.circuit-breaker.slow-call-rate-threshold:80}") double slowCallRateThreshold,
+            @Value("${mail.circuit-breaker.slow-call-duration:PT5S}") Duration slowCallDuration,
+            @Value("${mail.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${mail.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${mail.circuit-breaker.probe-interval:PT30S}") Duration probeInterval,
+            @Value("${mail.circuit-breaker.probe-calls:3}") int probeCalls) {
+        this.enabled = enabled;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.probeIntervalNanos = probeInterval.toNanos();
+        this.probeCalls = probeCalls;
+        this.outcomes = new byte[windowSize];
+
+        Gauge.builder("mail.circuit-breaker.state", this, breaker -> breaker.getState()
+                        .ordinal())
+                .description("Mail circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+        Gauge.builder("mail.circuit-breaker.failure-rate", this, MailCircuitBreaker::getFailureRate)
+                .description("Percentage of failed SMTP calls in the sliding window")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("mail.circuit-breaker.rejected")
+                .description("Sends rejected without calling the relay because the circuit was open")
+                .register(meterRegistry);
+    }
+
+    /*
+     * Takes the permission for one call, or throws when the circuit is open. Every permitted call must be
+     * followed by onSuccess or onFailure.
+     */
+    public synchronized void acquirePermission() throws EmailCircuitOpenException {
+        if (!enabled) {
+            return;
+        }
+
+        if (state == State.OPEN && System.nanoTime() - openedAt >= probeIntervalNanos) {
+            transitionTo(State.HALF_OPEN);
+        }
+
+        if (state == State.CLOSED || (state == State.HALF_OPEN && probesStarted < probeCalls)) {
+            if (state == State.HALF_OPEN) {
+                probesStarted++;
+            }
+            return;
+        }
+
+        rejectedCounter.increment();
+
+        throw new EmailCircuitOpenException("Mail circuit breaker is open, SMTP relay not called");
+    }
+
+    /*
+     * Whether acquirePermission would let a call through right now, without taking a probe slot.
+     */
+    public synchronized boolean isCallPermitted() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> !enabled || System.nanoTime() - openedAt >= probeIntervalNanos;
+            case HALF_OPEN -> probesStarted < probeCalls;
+        };
+    }
+
+    /*
+     * Gives back a permission that ended without calling the relay, e.g. because the send was deferred.
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && probesStarted > 0) {
+            probesStarted--;
+        }
+    }
+
+    public synchronized void onSuccess(Duration latency) {
+        record(false, latency);
+    }
+
+    public synchronized void onFailure(Duration latency) {
+        record(true, latency);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized double getFailureRate() {
+        return recorded == 0 ? 0 : failures * 100.0 / recorded;
+    }
+
+    private void record(boolean failed, Duration latency) {
+        if (!enabled) {
+            return;
+        }
+
+        boolean slow = latency.toNanos() >= slowCallNanos;
+
+        if (state == State.HALF_OPEN) {
+            if (failed || slow) {
+                transitionTo(State.OPEN);
+            } else if (++probesSucceeded >= probeCalls) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+
+        if (state == State.OPEN) {
+            return;
+        }
+
+        byte outcome = (byte) ((failed ? 1 : 0) | (slow ? 2 : 0));
+
+        if (recorded == outcomes.length) {
+            failures -= outcomes[next] & 1;
+            slowCalls -= (outcomes[next] >> 1) & 1;
+        } else {
+            recorded++;
+        }
+
+        outcomes[next] = outcome;
+        next = (next + 1) % outcomes.length;
+        failures += failed ? 1 : 0;
+        slowCalls += slow ? 1 : 0;
+
+        if (recorded >= minimumCalls
+                && (failures * 100.0 / recorded >= failureRateThreshold
+                        || slowCalls * 100.0 / recorded >= slowCallRateThreshold)) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State newState) {
+        logger.warn("Mail circuit breaker {} -> {}", state, newState);
+
+        state = newState;
+        probesStarted = 0;
+        probesSucceeded = 0;
+
+        if (newState == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+
+        if (newState == State.CLOSED) {
+            recorded = 0;
+            next = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+    }
+}
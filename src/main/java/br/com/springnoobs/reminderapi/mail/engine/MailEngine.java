@@ -1,13 +1,30 @@
 package br.com.springnoobs.reminderapi.mail.engine;
 
+import br.com.springnoobs.reminderapi.mail.breaker.MailCircuitBreaker;
 import br.com.springnoobs.reminderapi.mail.exception.EmailSendException;
+import br.com.springnoobs.reminderapi.mail.governor.SendGovernor;
+import br.com.springnoobs.reminderapi.mail.template.EmailTemplate;
+import br.com.springnoobs.reminderapi.mail.template.EmailTemplateRegistry;
+import jakarta.mail.Address;
 import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
@@ -15,61 +32,281 @@ import org.springframework.stereotype.Component;
 @Component
 public class MailEngine {
 
+    private static final String EMAIL_TEMPLATE = "email-template";
+    private static final String DIGEST_TEMPLATE = "email-digest-template";
+    private static final String DIGEST_ITEM_TEMPLATE = "email-digest-item";
+
     Logger logger = org.slf4j.LoggerFactory.getLogger(MailEngine.class);
 
     private final JavaMailSender mailSender;
 
-    public MailEngine(JavaMailSender mailSender) {
+    private final SmtpTransportPool transportPool;
+
+    private final SendGovernor sendGovernor;
+
+    private final MailCircuitBreaker circuitBreaker;
+
+    private final EmailTemplateRegistry templateRegistry;
+
+    public MailEngine(
+            JavaMailSender mailSender,
+            SmtpTransportPool transportPool,
+            SendGovernor sendGovernor,
+            MailCircuitBreaker circuitBreaker,
+            EmailTemplateRegistry templateRegistry) {
         this.mailSender = mailSender;
+        this.transportPool = transportPool;
+        this.sendGovernor = sendGovernor;
+        this.circuitBreaker = circuitBreaker;
+        this.templateRegistry = templateRegistry;
     }
 
     public MimeMessage createEmailMessage(Map<String, String> variables) {
+        return createEmailMessage(variables, null, null);
+    }
+
+    /*
+     * Uses the template variant (e.g. the trigger offset) and locale when the registry has them, falling back
+     * to the plain template.
+     */
+    public MimeMessage createEmailMessage(Map<String, String> variables, String variant, Locale locale) {
         try {
-            MimeMessage message = mailSender.createMimeMessage();
+            return createMessage(
+                    variables,
+                    templateRegistry.get(EMAIL_TEMPLATE, variant, locale).render(variables));
+        } catch (UncheckedIOException | MessagingException e) {
+            logger.error("Error at create email: {}", e.getMessage());
+        }
 
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-            helper.setTo(variables.get("email"));
-            helper.setSubject(variables.get("subject"));
+        return null;
+    }
 
-            String mailTemplate = getEmailTemplateContent();
+    /*
+     * Renders the email and serializes it to MIME bytes so it can be spooled ahead of the fire time.
+     */
+    public byte[] renderEmailMessage(Map<String, String> variables, String variant, Locale locale) {
+        MimeMessage message = createEmailMessage(variables, variant, locale);
 
-            mailTemplate = replaceVariables(mailTemplate, variables);
+        if (message == null) {
+            return null;
+        }
 
-            helper.setText(mailTemplate, true);
+        try {
+            message.saveChanges();
 
-            return message;
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            message.writeTo(output);
+
+            return output.toByteArray();
         } catch (IOException | MessagingException e) {
-            logger.error("Error at create email: {}", e.getMessage());
+            logger.error("Error at render email: {}", e.getMessage());
         }
 
         return null;
     }
 
+    /*
+     * Rebuilds a message rendered by renderEmailMessage. The sent date is reset so it reflects the send
+     * rather than the render.
+     */
+    public MimeMessage readEmailMessage(InputStream mimeMessage) {
+        try {
+            MimeMessage message = mailSender.createMimeMessage(mimeMessage);
+            message.setSentDate(new Date());
+
+            return message;
+        } catch (MailException | MessagingException e) {
+            logger.error("Error at read spooled email: {}", e.getMessage());
+        }
+
+        return null;
+    }
+
+    /*
+     * Renders one email listing every item. Each item is rendered with the digest item template and the
+     * result is placed in the {{{reminders}}} slot of the digest template.
+     */
+    public MimeMessage createDigestMessage(
+            Map<String, String> variables, List<Map<String, String>> items, Locale locale) {
+        try {
+            EmailTemplate itemTemplate = templateRegistry.get(DIGEST_ITEM_TEMPLATE, null, locale);
+
+            StringBuilder renderedItems = new StringBuilder();
+            items.forEach(item -> renderedItems.append(itemTemplate.render(item)));
+
+            Map<String, String> digestVariables = new HashMap<>(variables);
+            digestVariables.put("reminders", renderedItems.toString());
+
+            return createMessage(
+                    variables,
+                    templateRegistry.get(DIGEST_TEMPLATE, null, locale).render(digestVariables));
+        } catch (UncheckedIOException | MessagingException e) {
+            logger.error("Error at create digest email: {}", e.getMessage());
+        }
+
+        return null;
+    }
+
+    /*
+     * Throws EmailCircuitOpenException right away while the circuit breaker is open, so an unreachable relay
+     * does not cost a connect timeout per message.
+     */
     public void sendEmail(MimeMessage message) throws EmailSendException {
+        SendGovernor.Permit permit = acquirePermits(recipientOf(message), 1);
+        long startedAt = System.nanoTime();
+
+        Exception failure = transportPool.isEnabled()
+                ? transportPool.send(List.of(message)).get(message)
+                : sendWithMailSender(message);
+
+        Duration latency = Duration.ofNanos(System.nanoTime() - startedAt);
+        boolean throttled = failure != null && SmtpReplies.isTransient(failure);
+        permit.release(latency, throttled);
+        recordOutcome(failure != null && SmtpReplies.isRelayUnavailable(failure), latency);
+
+        if (throttled) {
+            throw sendGovernor.defer(failure.getMessage());
+        }
+
+        if (failure != null) {
+            throw new EmailSendException(failure.getMessage());
+        }
+    }
+
+    /*
+     * Sends all messages over as few SMTP sessions as possible and returns the ones that failed. Messages are
+     * grouped by recipient domain so each group takes its tokens from the governor at once; groups larger than
+     * the domain burst are split, since the governor cannot grant more tokens than the burst at a time.
+     */
+    public Map<MimeMessage, EmailSendException> sendBatch(List<MimeMessage> messages) {
+        Map<MimeMessage, EmailSendException> failures = new LinkedHashMap<>();
+
+        Map<String, List<MimeMessage>> messagesByDomain = messages.stream()
+                .collect(Collectors.groupingBy(
+                        message -> domainOf(recipientOf(message)), LinkedHashMap::new, Collectors.toList()));
+
+        int maxGroupSize = sendGovernor.getMaxPermits();
+        List<List<MimeMessage>> groups = new ArrayList<>();
+
+        for (List<MimeMessage> domainMessages : messagesByDomain.values()) {
+            for (int from = 0; from < domainMessages.size(); from += maxGroupSize) {
+                groups.add(domainMessages.subList(from, Math.min(from + maxGroupSize, domainMessages.size())));
+            }
+        }
+
+        for (List<MimeMessage> group : groups) {
+            SendGovernor.Permit permit;
+
+            try {
+                permit = acquirePermits(recipientOf(group.getFirst()), group.size());
+            } catch (EmailSendException e) {
+                group.forEach(message -> failures.put(message, e));
+                continue;
+            }
+
+            long startedAt = System.nanoTime();
+            Map<MimeMessage, Exception> groupFailures = sendGroup(group);
+
+            // The group shares one session, so the limits compare the latency of a single message.
+            Duration latency = Duration.ofNanos(System.nanoTime() - startedAt).dividedBy(group.size());
+            boolean throttled = groupFailures.values().stream().anyMatch(SmtpReplies::isTransient);
+            permit.release(latency, throttled);
+            recordOutcome(
+                    groupFailures.size() == group.size()
+                            && groupFailures.values().stream().anyMatch(SmtpReplies::isRelayUnavailable),
+                    latency);
+
+            groupFailures.forEach((message, e) -> failures.put(
+                    message,
+                    SmtpReplies.isTransient(e)
+                            ? sendGovernor.defer(e.getMessage())
+                            : new EmailSendException(e.getMessage())));
+        }
+
+        return failures;
+    }
+
+    private SendGovernor.Permit acquirePermits(String recipient, int messages) throws EmailSendException {
+        circuitBreaker.acquirePermission();
+
         try {
-            mailSender.send(message);
+            return sendGovernor.acquire(recipient, messages);
+        } catch (EmailSendException e) {
+            circuitBreaker.releasePermission();
+            throw e;
+        }
+    }
+
+    private void recordOutcome(boolean relayUnavailable, Duration latency) {
+        if (relayUnavailable) {
+            circuitBreaker.onFailure(latency);
+        } else {
+            circuitBreaker.onSuccess(latency);
+        }
+    }
+
+    private Map<MimeMessage, Exception> sendGroup(List<MimeMessage> messages) {
+        if (transportPool.isEnabled()) {
+            return transportPool.send(messages);
+        }
+
+        Map<MimeMessage, Exception> failures = new LinkedHashMap<>();
+
+        try {
+            mailSender.send(messages.toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, cause) -> {
+                if (message instanceof MimeMessage mimeMessage) {
+                    failures.put(mimeMessage, cause);
+                }
+            });
+
+            if (failures.isEmpty()) {
+                messages.forEach(message -> failures.put(message, e));
+            }
         } catch (Exception e) {
-            throw new EmailSendException(e.getMessage());
+            messages.forEach(message -> failures.put(message, e));
         }
+
+        return failures;
     }
 
-    private String replaceVariables(String template, Map<String, String> variables) {
-        String result = template;
+    private Exception sendWithMailSender(MimeMessage message) {
+        try {
+            mailSender.send(message);
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
 
-        for (Map.Entry<String, String> entry : variables.entrySet()) {
-            String emailVariable = "{{" + entry.getKey() + "}}";
+    private static String recipientOf(MimeMessage message) {
+        try {
+            Address[] recipients = message.getAllRecipients();
 
-            if (result.contains(emailVariable)) {
-                result = result.replace(emailVariable, entry.getValue());
+            if (recipients != null && recipients.length > 0 && recipients[0] instanceof InternetAddress address) {
+                return address.getAddress();
             }
+        } catch (MessagingException e) {
+            return null;
         }
 
-        return result;
+        return null;
+    }
+
+    private static String domainOf(String recipient) {
+        return recipient == null ? "" : recipient.substring(recipient.lastIndexOf('@') + 1);
     }
 
-    private String getEmailTemplateContent() throws IOException {
-        ClassPathResource resource = new ClassPathResource("templates/email/email-template.html");
+    private MimeMessage createMessage(Map<String, String> variables, String html) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+
+        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+        helper.setTo(variables.get("email"));
+        helper.setSubject(variables.get("subject"));
+
+        helper.setText(html, true);
 
-        return new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        return message;
     }
 }
@@ -0,0 +1,70 @@
+package br.com.springnoobs.reminderapi.mail.engine;
+
+import jakarta.mail.MessagingException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSenderFailedException;
+import org.springframework.mail.MailSendException;
+
+final class SmtpReplies {
+
+    private SmtpReplies() {}
+
+    /*
+     * Transient negative completion replies (4xx) mean the server is throttling or temporarily unavailable,
+     * so the message should be tried again later rather than recorded as a failure.
+     */
+    static boolean isTransient(Throwable error) {
+        int replyCode = replyCode(error);
+        return replyCode >= 400 && replyCode < 500;
+    }
+
+    /*
+     * Failures that say nothing about the message itself: the relay could not be reached, timed out or
+     * answered 421 (service not available). These are the ones that count against the circuit breaker.
+     */
+    static boolean isRelayUnavailable(Throwable error) {
+        int replyCode = replyCode(error);
+        return replyCode < 0 || replyCode == 421;
+    }
+
+    static int replyCode(Throwable error) {
+        Deque<Throwable> pending = new ArrayDeque<>();
+        Set<Throwable> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        pending.push(error);
+
+        while (!pending.isEmpty()) {
+            Throwable current = pending.pop();
+
+            if (!visited.add(current)) {
+                continue;
+            }
+
+            switch (current) {
+                case SMTPSendFailedException e -> {
+                    return e.getReturnCode();
+                }
+                case SMTPAddressFailedException e -> {
+                    return e.getReturnCode();
+                }
+                case SMTPSenderFailedException e -> {
+                    return e.getReturnCode();
+                }
+                case MailSendException e -> e.getFailedMessages().values().forEach(pending::push);
+                case MessagingException e when e.getNextException() != null -> pending.push(e.getNextException());
+                default -> {}
+            }
+
+            if (current.getCause() != null) {
+                pending.push(current.getCause());
+            }
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,225 @@
+package br.com.springnoobs.reminderapi.mail.engine;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*
+ * Keeps a bounded set of connected SMTP transports so that consecutive sends skip the
+ * connect/EHLO/STARTTLS/AUTH handshake. Disabled by default (mail.smtp.pool.enabled).
+ */
+@Component
+public class SmtpTransportPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtpTransportPool.class);
+
+    private static final String DEFAULT_PROTOCOL = "smtp";
+
+    private final JavaMailSenderImpl mailSender;
+
+    private final boolean enabled;
+
+    private final Duration maxIdle;
+
+    private final Duration borrowTimeout;
+
+    private final Semaphore permits;
+
+    private final LinkedBlockingDeque<PooledTransport> idleTransports = new LinkedBlockingDeque<>();
+
+    public SmtpTransportPool(
+            JavaMailSender mailSender,
+            @Value("${mail.smtp.pool.enabled:false}") boolean enabled,
+            @Value("${mail.smtp.pool.max-size:4}") int maxSize,
+            @Value("${mail.smtp.pool.max-idle:PT2M}") Duration maxIdle,
+            @Value("${mail.smtp.pool.borrow-timeout:PT30S}") Duration borrowTimeout) {
+        this.mailSender = mailSender instanceof JavaMailSenderImpl impl ? impl : null;
+        this.enabled = enabled && this.mailSender != null;
+        this.maxIdle = maxIdle;
+        this.borrowTimeout = borrowTimeout;
+        this.permits = new Semaphore(maxSize, true);
+
+        if (enabled && this.mailSender == null) {
+            logger.warn("SMTP transport pool requires a JavaMailSenderImpl, falling back to one connection per send");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /*
+     * Sends every message over a single pooled connection. Returns the messages that could not be sent,
+     * mapped to their cause; an empty map means the whole batch was delivered.
+     */
+    public Map<MimeMessage, Exception> send(List<MimeMessage> messages) {
+        Map<MimeMessage, Exception> failures = new LinkedHashMap<>();
+
+        PooledTransport pooled;
+        try {
+            pooled = borrow();
+        } catch (MessagingException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            messages.forEach(message -> failures.put(message, e));
+            return failures;
+        }
+
+        try {
+            for (MimeMessage message : messages) {
+                try {
+                    if (message.getSentDate() == null) {
+                        message.setSentDate(new Date());
+                    }
+                    message.saveChanges();
+
+                    pooled.transport.sendMessage(message, message.getAllRecipients());
+                } catch (MessagingException e) {
+                    failures.put(message, e);
+
+                    if (!pooled.isHealthy()) {
+                        pooled.close();
+                        pooled = connect();
+                    }
+                }
+            }
+        } catch (MessagingException e) {
+            pooled = null;
+
+            messages.stream()
+                    .filter(message -> !failures.containsKey(message))
+                    .forEach(message -> failures.put(message, e));
+        } finally {
+            release(pooled);
+        }
+
+        return failures;
+    }
+
+    @Scheduled(fixedDelayString = "${mail.smtp.pool.eviction-interval:PT30S}")
+    public void evictIdleTransports() {
+        if (!enabled) {
+            return;
+        }
+
+        List<PooledTransport> healthy = new ArrayList<>();
+        PooledTransport pooled;
+
+        while ((pooled = idleTransports.pollLast()) != null) {
+            if (pooled.isExpired(maxIdle) || !pooled.isHealthy()) {
+                pooled.close();
+            } else {
+                healthy.add(pooled);
+            }
+        }
+
+        healthy.forEach(idleTransports::offerFirst);
+    }
+
+    public int getIdleCount() {
+        return idleTransports.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        PooledTransport pooled;
+
+        while ((pooled = idleTransports.poll()) != null) {
+            pooled.close();
+        }
+    }
+
+    private PooledTransport borrow() throws MessagingException, InterruptedException {
+        if (!permits.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new MessagingException("Timed out waiting for a pooled SMTP connection");
+        }
+
+        try {
+            PooledTransport pooled;
+
+            while ((pooled = idleTransports.pollFirst()) != null) {
+                if (!pooled.isExpired(maxIdle) && pooled.isHealthy()) {
+                    return pooled;
+                }
+                pooled.close();
+            }
+
+            return connect();
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(PooledTransport pooled) {
+        if (pooled != null) {
+            pooled.lastUsedAt = Instant.now();
+            idleTransports.offerFirst(pooled);
+        }
+
+        permits.release();
+    }
+
+    private PooledTransport connect() throws MessagingException {
+        Session session = mailSender.getSession();
+        String protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : DEFAULT_PROTOCOL;
+        Transport transport = session.getTransport(protocol);
+
+        transport.connect(
+                mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+
+        return new PooledTransport(transport);
+    }
+
+    private static class PooledTransport {
+
+        private final Transport transport;
+
+        private Instant lastUsedAt = Instant.now();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        private boolean isExpired(Duration maxIdle) {
+            return lastUsedAt.plus(maxIdle).isBefore(Instant.now());
+        }
+
+        // SMTPTransport.isConnected() issues a NOOP, so this doubles as the health check.
+        private boolean isHealthy() {
+            try {
+                return transport.isConnected();
+            } catch (RuntimeException e) {
+                return false;
+            }
+        }
+
+        private void close() {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                logger.debug("Error at close SMTP transport: {}", e.getMessage());
+            }
+        }
+    }
+}
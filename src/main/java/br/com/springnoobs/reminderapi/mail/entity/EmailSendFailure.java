@@ -1,20 +1,35 @@
 package br.com.springnoobs.reminderapi.mail.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import java.time.Instant;
 
 @Entity
-@Table(name = "email_send_failures")
+@Table(
+        name = "email_send_failures",
+        indexes = {
+            @Index(name = "idx_email_send_failures_due", columnList = "status, nextAttemptAt"),
+            @Index(name = "idx_email_send_failures_payload_hash", columnList = "payloadHash"),
+            @Index(name = "idx_email_send_failures_reminder", columnList = "reminderId")
+        })
 public class EmailSendFailure {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    private Long reminderId;
+
+    @Column(name = "reminder_offset", length = 32)
+    private String offset;
+
     private String email;
 
     private String subject;
@@ -35,6 +50,23 @@ public class EmailSendFailure {
 
     private String errorMessage;
 
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private EmailSendFailureStatus status = EmailSendFailureStatus.PENDING;
+
+    private Instant nextAttemptAt;
+
+    @Column(length = 128)
+    private String claimedBy;
+
+    private Instant leaseUntil;
+
+    @Column(length = 1048576)
+    private byte[] payload;
+
+    @Column(length = 64)
+    private String payloadHash;
+
     public EmailSendFailure() {}
 
     public EmailSendFailure(
@@ -70,6 +102,22 @@ public class EmailSendFailure {
         this.id = id;
     }
 
+    public Long getReminderId() {
+        return reminderId;
+    }
+
+    public void setReminderId(Long reminderId) {
+        this.reminderId = reminderId;
+    }
+
+    public String getOffset() {
+        return offset;
+    }
+
+    public void setOffset(String offset) {
+        this.offset = offset;
+    }
+
     public String getEmail() {
         return email;
     }
@@ -149,4 +197,52 @@ public class EmailSendFailure {
     public void setErrorMessage(String errorMessage) {
         this.errorMessage = errorMessage;
     }
+
+    public EmailSendFailureStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(EmailSendFailureStatus status) {
+        this.status = status;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+
+    public Instant getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(Instant leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+
+    public String getPayloadHash() {
+        return payloadHash;
+    }
+
+    public void setPayloadHash(String payloadHash) {
+        this.payloadHash = payloadHash;
+    }
 }
@@ -0,0 +1,6 @@
+package br.com.springnoobs.reminderapi.mail.entity;
+
+public enum EmailSendFailureStatus {
+    PENDING,
+    DEAD
+}
@@ -0,0 +1,7 @@
+package br.com.springnoobs.reminderapi.mail.exception;
+
+public class EmailCircuitOpenException extends EmailSendException {
+    public EmailCircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package br.com.springnoobs.reminderapi.mail.exception;
+
+public class EmailDeferredException extends EmailSendException {
+    public EmailDeferredException(String message) {
+        super(message);
+    }
+}
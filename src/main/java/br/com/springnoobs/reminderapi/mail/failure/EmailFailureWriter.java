@@ -0,0 +1,251 @@
+package br.com.springnoobs.reminderapi.mail.failure;
+
+import br.com.springnoobs.reminderapi.mail.entity.EmailSendFailure;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+ * Writes email_send_failures rows in JDBC batches. IDENTITY keys keep Hibernate from batching inserts, so new
+ * failures go through plain JDBC. With mail.failure.write-behind.enabled the rows are buffered and flushed once
+ * flush-size rows are waiting or every flush-interval; a full buffer is flushed by the caller that hits it.
+ * Buffered rows that have not been flushed are lost if the process dies, so the buffer is off by default.
+ *
+ * A reminder has at most one pending failure: a new failure for the same reminder replaces the pending one,
+ * whatever its offset, so only the latest email goes out after an outage. A failure whose payload hash matches
+ * a pending one is dropped, since the pending row sends the same email.
+ */
+@Component
+public class EmailFailureWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailFailureWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO email_send_failures (reminder_id, reminder_offset, email, "
+            + "subject, name, title, remind_at, due_date, disable_notification_url, failed_at, retry_count, "
+            + "error_message, status, next_attempt_at, payload, payload_hash) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_SUPERSEDED_SQL =
+            "DELETE FROM email_send_failures WHERE status = 'PENDING' AND reminder_id IN (%s)";
+
+    private static final String PENDING_HASHES_SQL =
+            "SELECT payload_hash FROM email_send_failures WHERE status = 'PENDING' AND payload_hash IN (%s)";
+
+    private static final String UPDATE_ATTEMPT_SQL = "UPDATE email_send_failures SET retry_count = ?, "
+            + "error_message = ?, status = ?, next_attempt_at = ?, claimed_by = NULL, lease_until = NULL "
+            + "WHERE id = ? AND claimed_by = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean writeBehind;
+
+    private final int flushSize;
+
+    private final BlockingQueue<EmailSendFailure> buffer;
+
+    public EmailFailureWriter(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${mail.failure.write-behind.enabled:false}") boolean writeBehind,
+            @Value("${mail.failure.write-behind.capacity:1000}") int capacity,
+            @Value("${mail.failure.write-behind.flush-size:100}") int flushSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.writeBehind = writeBehind;
+        this.flushSize = flushSize;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public void record(EmailSendFailure failure) {
+        if (!writeBehind) {
+            insert(List.of(failure));
+            return;
+        }
+
+        while (!buffer.offer(failure)) {
+            flush();
+        }
+
+        if (buffer.size() >= flushSize) {
+            flush();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mail.failure.write-behind.flush-interval:PT1S}")
+    @PreDestroy
+    public void flush() {
+        List<EmailSendFailure> batch = new ArrayList<>();
+
+        while (buffer.drainTo(batch, flushSize) > 0) {
+            insert(batch);
+            batch.clear();
+        }
+    }
+
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    /*
+     * Stores the outcome of failed retry attempts and releases their leases in one batch. Rows whose lease was
+     * taken over by another claim in the meantime are left alone.
+     */
+    public void updateAttempts(List<EmailSendFailure> failures, String claimedBy) {
+        if (failures.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE_ATTEMPT_SQL, failures, failures.size(), (ps, failure) -> {
+            ps.setInt(1, failure.getRetryCount());
+            ps.setString(2, failure.getErrorMessage());
+            ps.setString(3, failure.getStatus().name());
+            setInstant(ps, 4, failure.getNextAttemptAt());
+            ps.setLong(5, failure.getId());
+            ps.setString(6, claimedBy);
+        });
+    }
+
+    private void insert(List<EmailSendFailure> batch) {
+        List<EmailSendFailure> latest = latestPerReminder(batch);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                deleteSupersededFailures(latest);
+
+                List<EmailSendFailure> failures = withoutDuplicatePayloads(latest);
+
+                if (failures.isEmpty()) {
+                    return;
+                }
+
+                jdbcTemplate.batchUpdate(INSERT_SQL, failures, failures.size(), (ps, failure) -> {
+                    if (failure.getReminderId() != null) {
+                        ps.setLong(1, failure.getReminderId());
+                    } else {
+                        ps.setNull(1, Types.BIGINT);
+                    }
+                    ps.setString(2, failure.getOffset());
+                    ps.setString(3, failure.getEmail());
+                    ps.setString(4, failure.getSubject());
+                    ps.setString(5, failure.getName());
+                    ps.setString(6, failure.getTitle());
+                    ps.setString(7, failure.getRemindAt());
+                    ps.setString(8, failure.getDueDate());
+                    ps.setString(9, failure.getDisableNotificationUrl());
+                    setInstant(ps, 10, failure.getFailedAt());
+                    ps.setInt(11, failure.getRetryCount());
+                    ps.setString(12, failure.getErrorMessage());
+                    ps.setString(13, failure.getStatus().name());
+                    setInstant(ps, 14, failure.getNextAttemptAt());
+                    ps.setBytes(15, failure.getPayload());
+                    ps.setString(16, failure.getPayloadHash());
+                });
+            });
+        } catch (DataAccessException | TransactionException e) {
+            logger.error("Error at write {} email send failures: {}", latest.size(), e.getMessage());
+        }
+    }
+
+    /*
+     * Keeps the last failure queued for each reminder; failures without a reminder are all kept.
+     */
+    private static List<EmailSendFailure> latestPerReminder(List<EmailSendFailure> failures) {
+        Map<Long, EmailSendFailure> latest = new LinkedHashMap<>();
+        List<EmailSendFailure> result = new ArrayList<>();
+
+        for (EmailSendFailure failure : failures) {
+            if (failure.getReminderId() == null) {
+                result.add(failure);
+            } else {
+                latest.remove(failure.getReminderId());
+                latest.put(failure.getReminderId(), failure);
+            }
+        }
+
+        result.addAll(latest.values());
+
+        return result;
+    }
+
+    private void deleteSupersededFailures(List<EmailSendFailure> failures) {
+        List<Long> reminderIds = failures.stream()
+                .map(EmailSendFailure::getReminderId)
+                .filter(Objects::nonNull)
+                .toList();
+
+        if (reminderIds.isEmpty()) {
+            return;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(reminderIds.size(), "?"));
+        int superseded = jdbcTemplate.update(DELETE_SUPERSEDED_SQL.formatted(placeholders), reminderIds.toArray());
+
+        if (superseded > 0) {
+            logger.info("Replaced {} pending email send failures with newer ones", superseded);
+        }
+    }
+
+    private List<EmailSendFailure> withoutDuplicatePayloads(List<EmailSendFailure> failures) {
+        List<String> hashes = failures.stream()
+                .map(EmailSendFailure::getPayloadHash)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        if (hashes.isEmpty()) {
+            return failures;
+        }
+
+        Set<String> seen = new HashSet<>();
+        try {
+            String placeholders = String.join(", ", Collections.nCopies(hashes.size(), "?"));
+            seen.addAll(jdbcTemplate.queryForList(
+                    PENDING_HASHES_SQL.formatted(placeholders), String.class, hashes.toArray()));
+        } catch (DataAccessException e) {
+            logger.warn("Error at look up pending email payloads: {}", e.getMessage());
+        }
+
+        List<EmailSendFailure> unique = failures.stream()
+                .filter(failure -> failure.getPayloadHash() == null || seen.add(failure.getPayloadHash()))
+                .toList();
+
+        if (unique.size() < failures.size()) {
+            logger.info("Skipped {} email send failures already pending", failures.size() - unique.size());
+        }
+
+        return unique;
+    }
+
+    /* Bound the same way Hibernate binds Instant columns, as a UTC OffsetDateTime. */
+    private static void setInstant(PreparedStatement ps, int index, Instant instant) throws SQLException {
+        if (instant == null) {
+            ps.setNull(index, Types.TIMESTAMP_WITH_TIMEZONE);
+        } else {
+            ps.setObject(index, instant.atOffset(ZoneOffset.UTC), Types.TIMESTAMP_WITH_TIMEZONE);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.springnoobs.reminderapi.mail.failure;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * A built MIME message stored gzip-compressed, with the SHA-256 of the uncompressed bytes. Message-ID and Date
+ * are left out: both are set again when the message is sent, and without them two identical emails produce
+ * the same hash.
+ */
+public record EmailPayload(byte[] data, String hash) {
+
+    private static final String[] VOLATILE_HEADERS = {"Message-ID", "Date"};
+
+    public static EmailPayload of(MimeMessage mimeMessage) throws MessagingException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+            try (OutputStream out = new DigestOutputStream(new GZIPOutputStream(compressed), digest)) {
+                mimeMessage.writeTo(out, VOLATILE_HEADERS);
+            }
+
+            return new EmailPayload(compressed.toByteArray(), HexFormat.of().formatHex(digest.digest()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error at compress email payload", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static InputStream open(byte[] data) {
+        try {
+            return new GZIPInputStream(new ByteArrayInputStream(data));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error at decompress email payload", e);
+        }
+    }
+}
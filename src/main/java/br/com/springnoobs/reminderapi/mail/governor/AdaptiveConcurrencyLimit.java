@@ -0,0 +1,90 @@
+package br.com.springnoobs.reminderapi.mail.governor;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * AIMD concurrency limit: grows by roughly one slot per limit-worth of healthy sends and shrinks
+ * multiplicatively when a send is slow or the server answers with a transient (4xx) reply.
+ */
+class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double backoffRatio;
+
+    private final long latencyThresholdNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition slotReleased = lock.newCondition();
+
+    private double limit;
+
+    private int inFlight;
+
+    AdaptiveConcurrencyLimit(
+            int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    boolean acquire(long timeoutNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = timeoutNanos;
+
+            while (inFlight >= (int) limit) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = slotReleased.awaitNanos(remaining);
+            }
+
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release(long latencyNanos, boolean throttled) {
+        lock.lock();
+        try {
+            inFlight--;
+
+            if (throttled || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+
+            slotReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package br.com.springnoobs.reminderapi.mail.governor;
+
+import br.com.springnoobs.reminderapi.mail.exception.EmailDeferredException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*
+ * Outbound SMTP governor: a token bucket per recipient domain plus an adaptive concurrency limit shared by
+ * every send. When a permit cannot be obtained in time the send is deferred instead of failed.
+ */
+@Component
+public class SendGovernor {
+
+    private static final Permit NO_OP_PERMIT = (latency, throttled) -> {};
+
+    private final boolean enabled;
+
+    private final double domainRate;
+
+    private final double domainBurst;
+
+    private final Duration maxWait;
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+
+    private final Map<String, TokenBucket> domainBuckets = new ConcurrentHashMap<>();
+
+    private final Counter deferredCounter;
+
+    private final Counter throttledCounter;
+
+    public SendGovernor(
+            MeterRegistry meterRegistry,
+            @Value("${mail.governor.enabled:false}") boolean enabled,
+            @Value("${mail.governor.domain-rate:5}") double domainRate,
+            @Value("${mail.governor.domain-burst:10}") double domainBurst,
+            @Value("${mail.governor.initial-concurrency:4}") int initialConcurrency,
+            @Value("${mail.governor.min-concurrency:1}") int minConcurrency,
+            @Value("${mail.governor.max-concurrency:32}") int maxConcurrency,
+            @Value("${mail.governor.latency-threshold:PT2S}") Duration latencyThreshold,
+            @Value("${mail.governor.max-wait:PT10S}") Duration maxWait) {
+        this.enabled = enabled;
+        this.domainRate = domainRate;
+        this.domainBurst = domainBurst;
+        this.maxWait = maxWait;
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(
+                initialConcurrency, minConcurrency, maxConcurrency, 0.7, latencyThreshold.toNanos());
+
+        Gauge.builder("mail.governor.concurrency.limit", concurrencyLimit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive limit of concurrent SMTP sends")
+                .register(meterRegistry);
+        Gauge.builder("mail.governor.concurrency.in-flight", concurrencyLimit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("SMTP sends currently in flight")
+                .register(meterRegistry);
+        Gauge.builder("mail.governor.domain.rate", () -> domainRate)
+                .description("Sends per second allowed for each recipient domain")
+                .register(meterRegistry);
+        Gauge.builder("mail.governor.domains", domainBuckets, Map::size)
+                .description("Recipient domains with an active token bucket")
+                .register(meterRegistry);
+
+        this.deferredCounter = Counter.builder("mail.governor.deferred")
+                .description("Sends deferred because no permit was available in time or the server throttled")
+                .register(meterRegistry);
+        this.throttledCounter = Counter.builder("mail.governor.throttled")
+                .description("Sends answered with a transient (4xx) SMTP reply")
+                .register(meterRegistry);
+    }
+
+    /*
+     * Blocks until the recipient domain has a token and a concurrency slot is free. Throws
+     * EmailDeferredException when that takes longer than mail.governor.max-wait.
+     */
+    public Permit acquire(String recipient, int messages) throws EmailDeferredException {
+        if (!enabled) {
+            return NO_OP_PERMIT;
+        }
+
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        String domain = domainOf(recipient);
+
+        TokenBucket bucket = domainBuckets.computeIfAbsent(
+                domain, key -> new TokenBucket(domainBurst, domainRate, System.nanoTime()));
+
+        long waitNanos;
+        while ((waitNanos = bucket.tryAcquire(messages, System.nanoTime())) > 0) {
+            if (System.nanoTime() + waitNanos > deadline) {
+                throw defer("Send rate for domain " + domain + " exceeded");
+            }
+            LockSupport.parkNanos(waitNanos);
+        }
+
+        // The domain tokens go back to the bucket when no send slot is obtained, as nothing was sent.
+        try {
+            if (!concurrencyLimit.acquire(deadline - System.nanoTime())) {
+                bucket.refund(messages);
+                throw defer("SMTP concurrency limit reached");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            bucket.refund(messages);
+            throw defer("Interrupted while waiting for an SMTP send slot");
+        }
+
+        return (latency, throttled) -> {
+            if (throttled) {
+                throttledCounter.increment();
+            }
+            concurrencyLimit.release(latency.toNanos(), throttled);
+        };
+    }
+
+    /*
+     * The most messages one acquire() can cover: a domain bucket never holds more tokens than its burst, so a
+     * larger request would wait until it is deferred.
+     */
+    public int getMaxPermits() {
+        return enabled ? Math.max(1, (int) domainBurst) : Integer.MAX_VALUE;
+    }
+
+    public EmailDeferredException defer(String message) {
+        deferredCounter.increment();
+        return new EmailDeferredException(message);
+    }
+
+    public int getConcurrencyLimit() {
+        return concurrencyLimit.getLimit();
+    }
+
+    @Scheduled(fixedDelayString = "${mail.governor.bucket-cleanup-interval:PT10M}")
+    public void removeIdleBuckets() {
+        long now = System.nanoTime();
+
+        domainBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private static String domainOf(String recipient) {
+        if (recipient == null) {
+            return "";
+        }
+
+        int at = recipient.lastIndexOf('@');
+
+        return recipient.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+
+    @FunctionalInterface
+    public interface Permit {
+        void release(Duration latency, boolean throttled);
+    }
+}
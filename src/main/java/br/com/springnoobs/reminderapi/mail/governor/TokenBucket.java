@@ -0,0 +1,57 @@
+package br.com.springnoobs.reminderapi.mail.governor;
+
+import java.util.concurrent.TimeUnit;
+
+class TokenBucket {
+
+    private final double capacity;
+
+    private final double tokensPerNano;
+
+    private double tokens;
+
+    private long lastRefillNanos;
+
+    TokenBucket(double capacity, double tokensPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    /*
+     * Takes the tokens when available and returns 0, otherwise returns how many nanoseconds the caller
+     * should wait before trying again.
+     */
+    synchronized long tryAcquire(int permits, long nowNanos) {
+        refill(nowNanos);
+
+        if (tokens >= permits) {
+            tokens -= permits;
+            return 0;
+        }
+
+        return (long) Math.ceil((permits - tokens) / tokensPerNano);
+    }
+
+    /*
+     * Gives back tokens that were taken for a send that did not happen.
+     */
+    synchronized void refund(int permits) {
+        tokens = Math.min(capacity, tokens + permits);
+    }
+
+    synchronized boolean isFull(long nowNanos) {
+        refill(nowNanos);
+        return tokens >= capacity;
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            lastRefillNanos = nowNanos;
+        }
+    }
+}
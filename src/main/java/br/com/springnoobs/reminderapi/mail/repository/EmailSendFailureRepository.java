@@ -1,9 +1,43 @@
 package br.com.springnoobs.reminderapi.mail.repository;
 
 import br.com.springnoobs.reminderapi.mail.entity.EmailSendFailure;
+import br.com.springnoobs.reminderapi.mail.entity.EmailSendFailureStatus;
+import java.time.Instant;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface EmailSendFailureRepository extends JpaRepository<EmailSendFailure, Long> {
-    List<EmailSendFailure> findTop20ByOrderByFailedAtAsc();
+    @Query("SELECT f.id FROM EmailSendFailure f WHERE f.status = :status AND f.nextAttemptAt <= :now "
+            + "AND (f.leaseUntil IS NULL OR f.leaseUntil < :now) ORDER BY f.nextAttemptAt")
+    List<Long> findClaimableIds(EmailSendFailureStatus status, Instant now, Pageable pageable);
+
+    /*
+     * Leases the given rows to the claim token. The lease condition is re-checked by the update itself, so when
+     * several nodes race for the same ids each row goes to exactly one of them.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailSendFailure f SET f.claimedBy = :claimedBy, f.leaseUntil = :leaseUntil "
+            + "WHERE f.id IN :ids AND (f.leaseUntil IS NULL OR f.leaseUntil < :now)")
+    int claim(List<Long> ids, String claimedBy, Instant leaseUntil, Instant now);
+
+    List<EmailSendFailure> findByClaimedBy(String claimedBy);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailSendFailure f SET f.claimedBy = NULL, f.leaseUntil = NULL "
+            + "WHERE f.id IN :ids AND f.claimedBy = :claimedBy")
+    int releaseClaims(List<Long> ids, String claimedBy);
+
+    /*
+     * Rows written before status and nextAttemptAt existed are made due right away.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE EmailSendFailure f SET f.status = :status, f.nextAttemptAt = f.failedAt WHERE f.status IS NULL")
+    int backfillPendingFailures(EmailSendFailureStatus status);
 }
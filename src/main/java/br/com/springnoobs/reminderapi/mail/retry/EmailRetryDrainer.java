@@ -0,0 +1,201 @@
+package br.com.springnoobs.reminderapi.mail.retry;
+
+import br.com.springnoobs.reminderapi.mail.entity.EmailSendFailure;
+import br.com.springnoobs.reminderapi.mail.entity.EmailSendFailureStatus;
+import br.com.springnoobs.reminderapi.mail.exception.EmailCircuitOpenException;
+import br.com.springnoobs.reminderapi.mail.exception.EmailSendException;
+import br.com.springnoobs.reminderapi.mail.failure.EmailFailureWriter;
+import br.com.springnoobs.reminderapi.mail.repository.EmailSendFailureRepository;
+import br.com.springnoobs.reminderapi.mail.service.EmailService;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/*
+ * Drains due email failures in a way that is safe to run on several nodes at once. A run leases a batch of rows
+ * to a claim token of its own, retries the claimed rows on virtual threads and releases every lease it took
+ * when it writes the batch outcome.
+ * Rows leased by a node that died become claimable again once mail.retry.lease expires.
+ */
+@Component
+public class EmailRetryDrainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailRetryDrainer.class);
+
+    /*
+     * Keeps the claim token (node id, "/", UUID) within the 128 chars of claimedBy whatever the host name is.
+     */
+    private static final int MAX_NODE_ID_LENGTH = 64;
+
+    private final EmailSendFailureRepository repository;
+
+    private final EmailService emailService;
+
+    private final EmailFailureWriter emailFailureWriter;
+
+    private final EmailRetryPolicy retryPolicy;
+
+    private final int parallelism;
+
+    private final Duration lease;
+
+    private final String nodeId;
+
+    public EmailRetryDrainer(
+            EmailSendFailureRepository repository,
+            EmailService emailService,
+            EmailFailureWriter emailFailureWriter,
+            EmailRetryPolicy retryPolicy,
+            @Value("${mail.retry.parallelism:4}") int parallelism,
+            @Value("${mail.retry.lease:PT5M}") Duration lease) {
+        this.repository = repository;
+        this.emailService = emailService;
+        this.emailFailureWriter = emailFailureWriter;
+        this.retryPolicy = retryPolicy;
+        this.parallelism = Math.max(1, parallelism);
+        this.lease = lease;
+        String runtimeName = ManagementFactory.getRuntimeMXBean().getName();
+        this.nodeId = runtimeName.substring(0, Math.min(runtimeName.length(), MAX_NODE_ID_LENGTH));
+    }
+
+    /*
+     * Rows written before status and nextAttemptAt existed are made due once, when the application starts.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillPendingFailures() {
+        int backfilled = repository.backfillPendingFailures(EmailSendFailureStatus.PENDING);
+
+        if (backfilled > 0) {
+            logger.info("Backfilled {} email failures written before retry scheduling", backfilled);
+        }
+    }
+
+    /*
+     * Claims and retries one batch. Returns the number of rows this run claimed.
+     */
+    public int drain() {
+        Instant now = Instant.now();
+
+        List<Long> candidates = repository.findClaimableIds(
+                EmailSendFailureStatus.PENDING, now, PageRequest.of(0, retryPolicy.getBatchSize()));
+
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+
+        String claim = nodeId + "/" + UUID.randomUUID();
+
+        if (repository.claim(candidates, claim, now.plus(lease), now) == 0) {
+            return 0;
+        }
+
+        Queue<EmailSendFailure> claimed = new ConcurrentLinkedQueue<>(repository.findByClaimedBy(claim));
+        int claimedCount = claimed.size();
+
+        Queue<Long> sent = new ConcurrentLinkedQueue<>();
+        Queue<EmailSendFailure> failed = new ConcurrentLinkedQueue<>();
+        Queue<Long> released = new ConcurrentLinkedQueue<>();
+        AtomicBoolean rejected = new AtomicBoolean();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < Math.min(parallelism, claimedCount); i++) {
+                executor.execute(() -> {
+                    EmailSendFailure failure;
+
+                    while ((failure = claimed.poll()) != null) {
+                        RetryOutcome outcome = rejected.get() ? RetryOutcome.REJECTED : retry(failure);
+
+                        switch (outcome) {
+                            case SENT -> sent.add(failure.getId());
+                            case FAILED -> failed.add(failure);
+                            case REJECTED -> {
+                                rejected.set(true);
+                                released.add(failure.getId());
+                            }
+                        }
+                    }
+                });
+            }
+        }
+
+        persistOutcomes(claim, List.copyOf(sent), List.copyOf(failed), List.copyOf(released));
+
+        retryPolicy.recordBatch(sent.size() + failed.size(), sent.size());
+
+        return claimedCount;
+    }
+
+    /*
+     * Outcomes are written once per batch: one bulk delete for the sent rows, one JDBC batch for the failed
+     * attempts and one bulk update for the leases given back after a circuit breaker rejection.
+     */
+    private void persistOutcomes(String claim, List<Long> sent, List<EmailSendFailure> failed, List<Long> released) {
+        if (!sent.isEmpty()) {
+            repository.deleteAllByIdInBatch(sent);
+        }
+
+        emailFailureWriter.updateAttempts(failed, claim);
+
+        if (!released.isEmpty()) {
+            repository.releaseClaims(released, claim);
+        }
+    }
+
+    /*
+     * A rejection by the circuit breaker stops the batch and does not count as an attempt. A failed attempt is
+     * rescheduled with backoff, or dead-lettered once the policy gives up on it.
+     */
+    private RetryOutcome retry(EmailSendFailure failure) {
+        try {
+            emailService.retryEmailSendFailure(failure);
+
+            logger.info("Email resend successful to {}", failure.getEmail());
+
+            return RetryOutcome.SENT;
+        } catch (EmailCircuitOpenException e) {
+            logger.info("Email retry stopped: {}", e.getMessage());
+
+            return RetryOutcome.REJECTED;
+        } catch (EmailSendException e) {
+
+            logger.error("Failed to resend email ID {}: {}", failure.getId(), e.getMessage());
+
+            failure.setRetryCount(failure.getRetryCount() + 1);
+            failure.setErrorMessage(e.getMessage());
+
+            if (retryPolicy.isExhausted(failure.getRetryCount())) {
+                failure.setStatus(EmailSendFailureStatus.DEAD);
+
+                logger.warn(
+                        "Email ID {} to {} dead-lettered after {} attempts",
+                        failure.getId(),
+                        failure.getEmail(),
+                        failure.getRetryCount());
+            } else {
+                failure.setNextAttemptAt(Instant.now().plus(retryPolicy.nextDelay(failure.getRetryCount())));
+            }
+
+            return RetryOutcome.FAILED;
+        }
+    }
+
+    private enum RetryOutcome {
+        SENT,
+        FAILED,
+        REJECTED
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.springnoobs.reminderapi.mail.retry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * When and how much RetryFailedEmailsJob retries. The delay doubles with every attempt up to max-delay, with
+ * jitter over the upper half so failures from the same outage do not come back together. After max-attempts
+ * a failure is dead-lettered. The batch size grows while retries succeed and shrinks when most of them fail.
+ */
+@Component
+public class EmailRetryPolicy {
+
+    private static final double GROW_SUCCESS_RATE = 0.8;
+
+    private static final double SHRINK_SUCCESS_RATE = 0.5;
+
+    private final Duration baseDelay;
+
+    private final Duration maxDelay;
+
+    private final int maxAttempts;
+
+    private final int minBatchSize;
+
+    private final int maxBatchSize;
+
+    private int batchSize;
+
+    public EmailRetryPolicy(
+            @Value("${mail.retry.base-delay:PT1M}") Duration baseDelay,
+            @Value("${mail.retry.max-delay:PT12H}") Duration maxDelay,
+            @Value("${mail.retry.max-attempts:8}") int maxAttempts,
+            @Value("${mail.retry.batch-size:20}") int initialBatchSize,
+            @Value("${mail.retry.min-batch-size:5}") int minBatchSize,
+            @Value("${mail.retry.max-batch-size:500}") int maxBatchSize) {
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.maxAttempts = maxAttempts;
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.batchSize = initialBatchSize;
+    }
+
+    /*
+     * Delay before the next attempt of a failure that has already failed the given number of attempts.
+     */
+    public Duration nextDelay(int attempts) {
+        long cap = baseDelay.toMillis() << Math.min(Math.max(attempts - 1, 0), 30);
+        cap = Math.min(cap, maxDelay.toMillis());
+
+        long half = cap / 2;
+
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(cap - half + 1));
+    }
+
+    public boolean isExhausted(int attempts) {
+        return attempts >= maxAttempts;
+    }
+
+    public synchronized int getBatchSize() {
+        return batchSize;
+    }
+
+    /*
+     * Adapts the next batch size to the outcome of a run. Only full batches grow it, a run that drained the
+     * queue says nothing about how many more the relay would take.
+     */
+    public synchronized void recordBatch(int attempted, int succeeded) {
+        if (attempted == 0) {
+            return;
+        }
+
+        double successRate = (double) succeeded / attempted;
+
+        if (successRate >= GROW_SUCCESS_RATE && attempted >= batchSize) {
+            batchSize = Math.min(maxBatchSize, batchSize * 2);
+        } else if (successRate < SHRINK_SUCCESS_RATE) {
+            batchSize = Math.max(minBatchSize, batchSize / 2);
+        }
+    }
+}
@@ -2,18 +2,33 @@ package br.com.springnoobs.reminderapi.mail.service;
 
 import br.com.springnoobs.reminderapi.mail.engine.MailEngine;
 import br.com.springnoobs.reminderapi.mail.entity.EmailSendFailure;
+import br.com.springnoobs.reminderapi.mail.exception.EmailDeferredException;
 import br.com.springnoobs.reminderapi.mail.exception.EmailSendException;
-import br.com.springnoobs.reminderapi.mail.repository.EmailSendFailureRepository;
+import br.com.springnoobs.reminderapi.mail.failure.EmailFailureWriter;
+import br.com.springnoobs.reminderapi.mail.failure.EmailPayload;
+import br.com.springnoobs.reminderapi.mail.spool.MessageSpool;
+import br.com.springnoobs.reminderapi.mail.template.DateFormatters;
 import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
 import br.com.springnoobs.reminderapi.user.entity.Contact;
+import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -21,39 +36,199 @@ public class EmailService {
 
     Logger logger = org.slf4j.LoggerFactory.getLogger(EmailService.class);
 
+    private static final String SUBJECT_REMINDER = "mail.subject.reminder";
+
+    private static final String SUBJECT_DIGEST = "mail.subject.digest";
+
     private final MailEngine mailEngine;
 
-    private final EmailSendFailureRepository emailSendFailureRepository;
+    private final EmailFailureWriter emailFailureWriter;
+
+    private final TaskScheduler taskScheduler;
 
-    private static final DateTimeFormatter DATE_FORMATTER =
-            DateTimeFormatter.ofPattern("dd/MM/yyyy").withZone(ZoneId.of("America/Sao_Paulo"));
+    private final MessageSpool messageSpool;
+
+    private final MessageSource messageSource;
 
     @Value("${api.base-url}")
     private String baseUrl;
 
-    public EmailService(MailEngine mailEngine, EmailSendFailureRepository emailSendFailureRepository) {
+    @Value("${mail.locale:pt-BR}")
+    private Locale locale = Locale.forLanguageTag("pt-BR");
+
+    @Value("${mail.zone:America/Sao_Paulo}")
+    private ZoneId zone = ZoneId.of("America/Sao_Paulo");
+
+    @Value("${mail.governor.defer-delay:PT1M}")
+    private Duration deferDelay;
+
+    @Value("${mail.governor.max-deferrals:5}")
+    private int maxDeferrals;
+
+    @Value("${mail.failure.store-payload:false}")
+    private boolean storePayload;
+
+    public EmailService(
+            MailEngine mailEngine,
+            EmailFailureWriter emailFailureWriter,
+            TaskScheduler taskScheduler,
+            MessageSpool messageSpool,
+            MessageSource messageSource) {
         this.mailEngine = mailEngine;
-        this.emailSendFailureRepository = emailSendFailureRepository;
+        this.emailFailureWriter = emailFailureWriter;
+        this.taskScheduler = taskScheduler;
+        this.messageSpool = messageSpool;
+        this.messageSource = messageSource;
     }
 
     public void send(Reminder reminder) {
-        if (reminder.getUser() == null) {
-            throw new RuntimeException("User not found");
+        send(reminder, null);
+    }
+
+    /*
+     * Sends the message spooled for this trigger offset when there is one, otherwise renders it now. The offset
+     * also selects the template and subject variant for it, when one exists.
+     */
+    public void send(Reminder reminder, String offset) {
+        Map<String, String> variables = buildEmailVariables(reminder, offset);
+
+        MimeMessage mimeMessage = offset != null ? takeSpooledMessage(reminder.getId(), offset) : null;
+
+        if (mimeMessage == null) {
+            mimeMessage = mailEngine.createEmailMessage(variables, offset, locale);
         }
 
-        Contact contact = reminder.getUser().getContact();
+        if (mimeMessage == null) {
+            return;
+        }
 
-        String disableUrl = baseUrl + "/reminders/" + reminder.getId() + "/disable-notifications";
+        sendEmailWithFailureHandling(reminder, mimeMessage, variables);
+    }
+
+    /*
+     * Sends one email per reminder, each with the offset of its trigger, through MailEngine.sendBatch so they
+     * share pooled SMTP sessions and take their governor tokens per recipient domain. Returns the reminders
+     * whose email was sent or recorded as a failure; reminders that cannot be rendered are left out.
+     */
+    public List<Reminder> sendBatch(Map<Reminder, String> offsetsByReminder) {
+        List<Reminder> handled = new ArrayList<>(offsetsByReminder.size());
+        Map<MimeMessage, Reminder> remindersByMessage = new LinkedHashMap<>();
+        Map<MimeMessage, Map<String, String>> variablesByMessage = new HashMap<>();
+
+        offsetsByReminder.forEach((reminder, offset) -> {
+            try {
+                Map<String, String> variables = buildEmailVariables(reminder, offset);
+
+                MimeMessage mimeMessage = offset != null ? takeSpooledMessage(reminder.getId(), offset) : null;
+
+                if (mimeMessage == null) {
+                    mimeMessage = mailEngine.createEmailMessage(variables, offset, locale);
+                }
+
+                if (mimeMessage != null) {
+                    remindersByMessage.put(mimeMessage, reminder);
+                    variablesByMessage.put(mimeMessage, variables);
+                }
+            } catch (RuntimeException e) {
+                logger.error("Error at create email to reminder {}: {}", reminder.getId(), e.getMessage());
+            }
+        });
+
+        if (remindersByMessage.isEmpty()) {
+            return handled;
+        }
+
+        Map<MimeMessage, EmailSendException> failures = mailEngine.sendBatch(List.copyOf(remindersByMessage.keySet()));
+
+        remindersByMessage.forEach((mimeMessage, reminder) -> {
+            handled.add(reminder);
+
+            EmailSendException failure = failures.get(mimeMessage);
 
-        Map<String, String> variables = buildEmailVariables(contact, reminder, disableUrl);
+            if (failure == null) {
+                return;
+            }
 
-        MimeMessage mimeMessage = mailEngine.createEmailMessage(variables);
+            Map<String, String> variables = variablesByMessage.get(mimeMessage);
+
+            if (failure instanceof EmailDeferredException && maxDeferrals > 0) {
+                logger.warn("Email to reminder {} deferred: {}", reminder.getId(), failure.getMessage());
+
+                taskScheduler.schedule(
+                        () -> sendEmailWithFailureHandling(
+                                String.valueOf(reminder.getId()), mimeMessage, List.of(variables), 1),
+                        Instant.now().plus(deferDelay));
+                return;
+            }
+
+            logger.error("Error at send email: {}, to reminder:  {}", failure.getMessage(), reminder.getId());
+
+            registerEmailFailures(mimeMessage, List.of(variables), failure.getMessage());
+        });
+
+        return handled;
+    }
+
+    /*
+     * Sends a single email listing every reminder, keyed by the offset of the trigger that fired it. All reminders
+     * must belong to the same user; a single reminder is sent as a regular email for its offset.
+     */
+    public void sendDigest(Map<Reminder, String> offsetsByReminder) {
+        if (offsetsByReminder.size() == 1) {
+            Map.Entry<Reminder, String> entry =
+                    offsetsByReminder.entrySet().iterator().next();
+            send(entry.getKey(), entry.getValue());
+            return;
+        }
+
+        List<Reminder> reminders = new ArrayList<>(offsetsByReminder.keySet());
+
+        // Each item keeps its offset, so a failed digest is retried with the template and subject of that offset.
+        List<Map<String, String>> items = offsetsByReminder.entrySet().stream()
+                .map(entry -> buildEmailVariables(entry.getKey(), entry.getValue()))
+                .toList();
+
+        Map<String, String> variables = new HashMap<>(items.getFirst());
+        variables.put("reminder_count", String.valueOf(reminders.size()));
+        variables.put("subject", subject(SUBJECT_DIGEST, null, String.valueOf(reminders.size())));
+
+        MimeMessage mimeMessage = mailEngine.createDigestMessage(variables, items, locale);
 
         if (mimeMessage == null) {
             return;
         }
 
-        sendEmailWithFailureHandling(reminder, mimeMessage, variables);
+        String reminderIds = reminders.stream()
+                .map(reminder -> String.valueOf(reminder.getId()))
+                .collect(Collectors.joining(","));
+
+        sendEmailWithFailureHandling(reminderIds, mimeMessage, items, 0);
+    }
+
+    public void spool(Reminder reminder, String offset) {
+        byte[] message = mailEngine.renderEmailMessage(buildEmailVariables(reminder, offset), offset, locale);
+
+        if (message != null) {
+            messageSpool.append(reminder.getId(), offset, message);
+        }
+    }
+
+    /*
+     * Records a reminder that was never sent, keyed by the offset of its trigger so the retry renders that variant.
+     */
+    public void registerSendFailure(Reminder reminder, String offset, String errorMessage) {
+        registerEmailFailure(buildEmailVariables(reminder, offset), errorMessage);
+    }
+
+    private MimeMessage takeSpooledMessage(Long reminderId, String offset) {
+        MimeMessage mimeMessage = messageSpool
+                .open(reminderId, offset)
+                .map(mailEngine::readEmailMessage)
+                .orElse(null);
+
+        messageSpool.invalidate(reminderId, offset);
+
+        return mimeMessage;
     }
 
     void dispatchEmail(MimeMessage mimeMessage) throws EmailSendException {
@@ -61,18 +236,63 @@ public class EmailService {
     }
 
     void sendEmailWithFailureHandling(Reminder reminder, MimeMessage mimeMessage, Map<String, String> variables) {
+        sendEmailWithFailureHandling(String.valueOf(reminder.getId()), mimeMessage, List.of(variables), 0);
+    }
+
+    /*
+     * Throttled sends are deferred and tried again after mail.governor.defer-delay instead of going straight
+     * to the failure store; only after mail.governor.max-deferrals attempts are they recorded as failures.
+     * A failed digest records one failure per reminder, so retries go out as individual emails.
+     */
+    private void sendEmailWithFailureHandling(
+            String reminderIds, MimeMessage mimeMessage, List<Map<String, String>> failureVariables, int deferrals) {
         try {
             dispatchEmail(mimeMessage);
+        } catch (EmailDeferredException e) {
+            if (deferrals < maxDeferrals) {
+                logger.warn("Email to reminder {} deferred: {}", reminderIds, e.getMessage());
+
+                taskScheduler.schedule(
+                        () -> sendEmailWithFailureHandling(reminderIds, mimeMessage, failureVariables, deferrals + 1),
+                        Instant.now().plus(deferDelay));
+                return;
+            }
+
+            logger.error("Error at send email: {}, to reminder:  {}", e.getMessage(), reminderIds);
+
+            registerEmailFailures(mimeMessage, failureVariables, e.getMessage());
         } catch (EmailSendException e) {
-            logger.error("Error at send email: {}, to reminder:  {}", e.getMessage(), reminder.getId());
+            logger.error("Error at send email: {}, to reminder:  {}", e.getMessage(), reminderIds);
 
-            registerEmailFailure(variables, e.getMessage());
+            registerEmailFailures(mimeMessage, failureVariables, e.getMessage());
         }
     }
 
+    /*
+     * With mail.failure.store-payload the built message of a single email is kept with the failure, so the
+     * retry resends it as is. Digest failures are split per reminder and are always rendered again.
+     */
+    private void registerEmailFailures(
+            MimeMessage mimeMessage, List<Map<String, String>> failureVariables, String errorMessage) {
+        if (storePayload && failureVariables.size() == 1) {
+            registerEmailFailure(failureVariables.getFirst(), errorMessage, mimeMessage);
+            return;
+        }
+
+        failureVariables.forEach(variables -> registerEmailFailure(variables, errorMessage));
+    }
+
     void registerEmailFailure(Map<String, String> variables, String errorMessage) {
+        registerEmailFailure(variables, errorMessage, null);
+    }
+
+    void registerEmailFailure(Map<String, String> variables, String errorMessage, MimeMessage mimeMessage) {
         EmailSendFailure emailSendFailure = new EmailSendFailure();
 
+        if (variables.containsKey("reminder_id")) {
+            emailSendFailure.setReminderId(Long.valueOf(variables.get("reminder_id")));
+        }
+        emailSendFailure.setOffset(variables.get("offset"));
         emailSendFailure.setName(variables.get("name"));
         emailSendFailure.setEmail(variables.get("email"));
         emailSendFailure.setTitle(variables.get("title"));
@@ -82,11 +302,32 @@ public class EmailService {
         emailSendFailure.setSubject(variables.get("subject"));
         emailSendFailure.setErrorMessage(errorMessage);
         emailSendFailure.setFailedAt(Instant.now());
+        emailSendFailure.setNextAttemptAt(emailSendFailure.getFailedAt());
+
+        if (mimeMessage != null) {
+            try {
+                EmailPayload payload = EmailPayload.of(mimeMessage);
+                emailSendFailure.setPayload(payload.data());
+                emailSendFailure.setPayloadHash(payload.hash());
+            } catch (MessagingException | UncheckedIOException e) {
+                logger.warn("Error at store email payload, the retry will render it again: {}", e.getMessage());
+            }
+        }
 
-        emailSendFailureRepository.save(emailSendFailure);
+        emailFailureWriter.record(emailSendFailure);
     }
 
-    private Map<String, String> buildEmailVariables(Contact contact, Reminder reminder, String disableUrl) {
+    private Map<String, String> buildEmailVariables(Reminder reminder, String offset) {
+        if (reminder.getUser() == null) {
+            throw new RuntimeException("User not found");
+        }
+
+        Contact contact = reminder.getUser().getContact();
+
+        String disableUrl = baseUrl + "/reminders/" + reminder.getId() + "/disable-notifications";
+
+        DateTimeFormatter dateFormatter = DateFormatters.shortDate(zone, locale);
+
         Map<String, String> map = new HashMap<>();
 
         map.put("name", contact.getUser().getFirstName());
@@ -95,20 +336,36 @@ public class EmailService {
         map.put(
                 "remind_at",
                 reminder.getRemindAt() != null
-                        ? DATE_FORMATTER.format(reminder.getRemindAt())
-                        : DATE_FORMATTER.format(reminder.getDueDate()));
-        map.put("due_date", DATE_FORMATTER.format(reminder.getDueDate()));
+                        ? dateFormatter.format(reminder.getRemindAt())
+                        : dateFormatter.format(reminder.getDueDate()));
+        map.put("due_date", dateFormatter.format(reminder.getDueDate()));
         map.put("disable_notification_url", disableUrl);
-        map.put("subject", "Lembrete" + " - " + reminder.getTitle());
+        if (reminder.getId() != null) {
+            map.put("reminder_id", String.valueOf(reminder.getId()));
+        }
+        if (offset != null) {
+            map.put("offset", offset);
+        }
+        map.put("subject", subject(SUBJECT_REMINDER, offset, reminder.getTitle()));
 
         return map;
     }
 
+    /*
+     * Resends the stored payload when there is one, otherwise renders the email again with the template variant
+     * and locale of the offset that failed.
+     */
     public void retryEmailSendFailure(EmailSendFailure emailSendFailure) {
 
-        Map<String, String> variables = buildEmailParametersFromEmailFailure(emailSendFailure);
+        MimeMessage mimeMessage = emailSendFailure.getPayload() != null
+                ? mailEngine.readEmailMessage(EmailPayload.open(emailSendFailure.getPayload()))
+                : null;
 
-        MimeMessage mimeMessage = mailEngine.createEmailMessage(variables);
+        if (mimeMessage == null) {
+            Map<String, String> variables = buildEmailParametersFromEmailFailure(emailSendFailure);
+
+            mimeMessage = mailEngine.createEmailMessage(variables, emailSendFailure.getOffset(), locale);
+        }
 
         if (mimeMessage == null) {
             return;
@@ -117,7 +374,16 @@ public class EmailService {
         dispatchEmail(mimeMessage);
     }
 
-    private static Map<String, String> buildEmailParametersFromEmailFailure(EmailSendFailure emailSendFailure) {
+    /*
+     * Resolves <code>.<variant> first and falls back to the plain code, e.g. mail.subject.reminder.2-days.
+     */
+    private String subject(String code, String variant, String argument) {
+        String[] codes = variant != null ? new String[] {code + "." + variant, code} : new String[] {code};
+
+        return messageSource.getMessage(new DefaultMessageSourceResolvable(codes, new Object[] {argument}), locale);
+    }
+
+    private Map<String, String> buildEmailParametersFromEmailFailure(EmailSendFailure emailSendFailure) {
         Map<String, String> variables = new HashMap<>();
 
         variables.put("name", emailSendFailure.getName());
@@ -130,7 +396,14 @@ public class EmailService {
                         : emailSendFailure.getDueDate());
         variables.put("due_date", emailSendFailure.getDueDate());
         variables.put("disable_notification_url", emailSendFailure.getDisableNotificationUrl());
-        variables.put("subject", "Lembrete" + " - " + emailSendFailure.getTitle());
+        variables.put(
+                "subject",
+                emailSendFailure.getSubject() != null
+                        ? emailSendFailure.getSubject()
+                        : subject(SUBJECT_REMINDER, emailSendFailure.getOffset(), emailSendFailure.getTitle()));
+        if (emailSendFailure.getOffset() != null) {
+            variables.put("offset", emailSendFailure.getOffset());
+        }
 
         return variables;
     }
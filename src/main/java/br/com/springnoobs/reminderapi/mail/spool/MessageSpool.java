@@ -0,0 +1,288 @@
+package br.com.springnoobs.reminderapi.mail.spool;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/*
+ * Pre-rendered MIME messages keyed by reminder id and trigger offset. Messages are appended to segment files
+ * and read back through memory-mapped buffers. The index lives in memory only, so the spool starts empty on
+ * every boot and the segments left by a previous run are deleted. A segment is deleted once it is sealed and
+ * none of its entries is live. Disabled by default (mail.spool.enabled).
+ */
+@Component
+public class MessageSpool {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageSpool.class);
+
+    private static final String SEGMENT_GLOB = "segment-*.spool";
+
+    private final boolean enabled;
+
+    private final Path directory;
+
+    private final long segmentSize;
+
+    private final Map<SpoolKey, SpoolEntry> index = new ConcurrentHashMap<>();
+
+    private final Map<Long, Segment> segments = new ConcurrentHashMap<>();
+
+    private Segment activeSegment;
+
+    private long nextSegmentId;
+
+    public MessageSpool(
+            @Value("${mail.spool.enabled:false}") boolean enabled,
+            @Value("${mail.spool.directory:${java.io.tmpdir}/reminder-spool}") Path directory,
+            @Value("${mail.spool.segment-size:64MB}") DataSize segmentSize) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = segmentSize.toBytes();
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Files.createDirectories(directory);
+
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(directory, SEGMENT_GLOB)) {
+            for (Path segment : stale) {
+                Files.delete(segment);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean contains(long reminderId, String offset) {
+        return index.containsKey(new SpoolKey(reminderId, offset));
+    }
+
+    /*
+     * Appends the message and makes it the current entry for the key; a previous entry becomes garbage.
+     */
+    public synchronized void append(long reminderId, String offset, byte[] message) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            if (activeSegment == null || activeSegment.size >= segmentSize) {
+                rollSegment();
+            }
+
+            Segment segment = activeSegment;
+            long position = segment.size;
+
+            ByteBuffer buffer = ByteBuffer.wrap(message);
+            while (buffer.hasRemaining()) {
+                segment.channel.write(buffer, position + buffer.position());
+            }
+
+            segment.size += message.length;
+            segment.live.incrementAndGet();
+
+            release(index.put(
+                    new SpoolKey(reminderId, offset),
+                    new SpoolEntry(segment.id, position, message.length, Instant.now())));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error at append spooled message for reminder " + reminderId, e);
+        }
+    }
+
+    /*
+     * Opens the spooled message as a stream over a read-only mapping of the segment. The entry stays in the
+     * spool until it is invalidated.
+     */
+    public Optional<InputStream> open(long reminderId, String offset) {
+        SpoolEntry entry = index.get(new SpoolKey(reminderId, offset));
+
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        Segment segment = segments.get(entry.segmentId());
+
+        if (segment == null) {
+            return Optional.empty();
+        }
+
+        try {
+            ByteBuffer buffer = segment.channel.map(FileChannel.MapMode.READ_ONLY, entry.position(), entry.length());
+
+            return Optional.of(new ByteBufferInputStream(buffer));
+        } catch (IOException e) {
+            logger.warn("Error at read spooled message for reminder {}: {}", reminderId, e.getMessage());
+
+            invalidate(reminderId, offset);
+
+            return Optional.empty();
+        }
+    }
+
+    public void invalidate(long reminderId, String offset) {
+        release(index.remove(new SpoolKey(reminderId, offset)));
+    }
+
+    public void invalidate(Long reminderId) {
+        if (reminderId == null) {
+            return;
+        }
+
+        index.keySet().stream()
+                .filter(key -> key.reminderId() == reminderId)
+                .toList()
+                .forEach(key -> release(index.remove(key)));
+    }
+
+    /*
+     * Drops entries spooled before the given instant, e.g. messages whose trigger fired for a coalesced digest.
+     */
+    public void evictSpooledBefore(Instant instant) {
+        index.entrySet().stream()
+                .filter(entry -> entry.getValue().spooledAt().isBefore(instant))
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(key -> release(index.remove(key)));
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        index.clear();
+
+        segments.values().forEach(Segment::delete);
+        segments.clear();
+
+        activeSegment = null;
+    }
+
+    private void rollSegment() throws IOException {
+        Segment sealed = activeSegment;
+
+        Path path = directory.resolve("segment-%06d.spool".formatted(nextSegmentId));
+        FileChannel channel =
+                FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        activeSegment = new Segment(nextSegmentId++, path, channel);
+        segments.put(activeSegment.id, activeSegment);
+
+        if (sealed != null && sealed.live.get() == 0) {
+            segments.remove(sealed.id);
+            sealed.delete();
+        }
+    }
+
+    private void release(SpoolEntry entry) {
+        if (entry == null) {
+            return;
+        }
+
+        Segment segment = segments.get(entry.segmentId());
+
+        if (segment != null && segment.live.decrementAndGet() == 0 && isSealed(segment)) {
+            synchronized (this) {
+                if (segment.live.get() == 0 && segments.remove(segment.id, segment)) {
+                    segment.delete();
+                }
+            }
+        }
+    }
+
+    private synchronized boolean isSealed(Segment segment) {
+        return segment != activeSegment;
+    }
+
+    private record SpoolKey(long reminderId, String offset) {}
+
+    private record SpoolEntry(long segmentId, long position, int length, Instant spooledAt) {}
+
+    private static class Segment {
+
+        private final long id;
+
+        private final Path path;
+
+        private final FileChannel channel;
+
+        private final AtomicInteger live = new AtomicInteger();
+
+        private long size;
+
+        private Segment(long id, Path path, FileChannel channel) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        private void delete() {
+            try {
+                channel.close();
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                logger.warn("Error at delete spool segment {}: {}", path, e.getMessage());
+            }
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.springnoobs.reminderapi.mail.template;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Short date formatters (dd/MM/yyyy for pt-BR) built once per zone and locale.
+ */
+public class DateFormatters {
+
+    private static final Map<FormatterKey, DateTimeFormatter> SHORT_DATE = new ConcurrentHashMap<>();
+
+    private DateFormatters() {}
+
+    public static DateTimeFormatter shortDate(ZoneId zone, Locale locale) {
+        return SHORT_DATE.computeIfAbsent(
+                new FormatterKey(zone, locale), key -> DateTimeFormatter.ofLocalizedDate(FormatStyle.SHORT)
+                        .withLocale(key.locale())
+                        .withZone(key.zone()));
+    }
+
+    private record FormatterKey(ZoneId zone, Locale locale) {}
+}
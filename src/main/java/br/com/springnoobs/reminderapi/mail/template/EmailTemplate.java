@@ -0,0 +1,77 @@
+package br.com.springnoobs.reminderapi.mail.template;
+
+import java.util.Map;
+
+public class EmailTemplate {
+
+    private static final int ESTIMATED_VARIABLE_LENGTH = 32;
+
+    private final String[] literals;
+
+    private final String[] placeholders;
+
+    private final boolean[] raw;
+
+    private final int estimatedLength;
+
+    EmailTemplate(String[] literals, String[] placeholders, boolean[] raw) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+        this.raw = raw;
+
+        int literalLength = 0;
+        for (String literal : literals) {
+            literalLength += literal.length();
+        }
+
+        this.estimatedLength = literalLength + placeholders.length * ESTIMATED_VARIABLE_LENGTH;
+    }
+
+    /*
+     * Renders the template in a single pass. Literals and placeholders alternate, so there is always one literal
+     * more than placeholders. Values are HTML-escaped unless the placeholder is raw; missing variables render as
+     * an empty string.
+     */
+    public String render(Map<String, String> variables) {
+        StringBuilder builder = new StringBuilder(estimatedLength);
+
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(literals[i]);
+
+            String value = variables.get(placeholders[i]);
+
+            if (raw[i]) {
+                builder.append(value != null ? value : "");
+            } else {
+                appendEscaped(builder, value);
+            }
+        }
+
+        builder.append(literals[placeholders.length]);
+
+        return builder.toString();
+    }
+
+    public String[] getPlaceholders() {
+        return placeholders.clone();
+    }
+
+    private static void appendEscaped(StringBuilder builder, String value) {
+        if (value == null) {
+            return;
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            switch (c) {
+                case '&' -> builder.append("&amp;");
+                case '<' -> builder.append("&lt;");
+                case '>' -> builder.append("&gt;");
+                case '"' -> builder.append("&quot;");
+                case '\'' -> builder.append("&#39;");
+                default -> builder.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.springnoobs.reminderapi.mail.template;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+public class EmailTemplateCompiler {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private static final String RAW_OPEN = "{{{";
+    private static final String RAW_CLOSE = "}}}";
+
+    private EmailTemplateCompiler() {}
+
+    /*
+     * {{name}} placeholders are HTML-escaped when rendered, {{{name}}} placeholders are written as-is and are
+     * meant for markup the engine renders itself.
+     */
+    public static EmailTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        List<Boolean> raw = new ArrayList<>();
+
+        int cursor = 0;
+
+        while (true) {
+            int open = source.indexOf(OPEN, cursor);
+            boolean rawPlaceholder = open >= 0 && source.startsWith(RAW_OPEN, open);
+            String closeToken = rawPlaceholder ? RAW_CLOSE : CLOSE;
+            int nameStart = open + (rawPlaceholder ? RAW_OPEN.length() : OPEN.length());
+            int close = open < 0 ? -1 : source.indexOf(closeToken, nameStart);
+
+            if (open < 0 || close < 0) {
+                literals.add(source.substring(cursor));
+                break;
+            }
+
+            literals.add(source.substring(cursor, open));
+            placeholders.add(source.substring(nameStart, close).trim());
+            raw.add(rawPlaceholder);
+
+            cursor = close + closeToken.length();
+        }
+
+        boolean[] rawFlags = new boolean[raw.size()];
+        for (int i = 0; i < rawFlags.length; i++) {
+            rawFlags[i] = raw.get(i);
+        }
+
+        return new EmailTemplate(literals.toArray(String[]::new), placeholders.toArray(String[]::new), rawFlags);
+    }
+
+    public static EmailTemplate compile(Resource resource) {
+        try {
+            return compile(new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error at read email template: " + resource.getDescription(), e);
+        }
+    }
+
+    public static EmailTemplate compileClasspath(String path) {
+        return compile(new ClassPathResource(path));
+    }
+}
@@ -0,0 +1,115 @@
+package br.com.springnoobs.reminderapi.mail.template;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+/*
+ * Discovers every template under templates/email/ at startup and compiles it once. File names follow
+ * <name>[-<variant>][_<locale>].html, e.g. email-template-2-days_en.html; a file without locale suffix holds the
+ * default locale (mail.locale). Lookups try the most specific locale first and, within a locale, the variant
+ * before the plain template. Resolved lookups are cached, so each send costs one map read.
+ */
+@Component
+public class EmailTemplateRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailTemplateRegistry.class);
+
+    private static final String TEMPLATE_LOCATION = "classpath*:templates/email/*.html";
+
+    private static final String TEMPLATE_EXTENSION = ".html";
+
+    private final boolean reload;
+
+    private final Map<String, EmailTemplate> templates = new HashMap<>();
+
+    private final Map<String, Resource> resources = new HashMap<>();
+
+    private final Map<LookupKey, String> resolvedKeys = new ConcurrentHashMap<>();
+
+    public EmailTemplateRegistry(@Value("${mail.template.reload:false}") boolean reload) throws IOException {
+        this.reload = reload;
+
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(TEMPLATE_LOCATION)) {
+            String filename = resource.getFilename();
+
+            if (filename == null || !filename.endsWith(TEMPLATE_EXTENSION)) {
+                continue;
+            }
+
+            String key = filename.substring(0, filename.length() - TEMPLATE_EXTENSION.length());
+
+            resources.put(key, resource);
+            templates.put(key, EmailTemplateCompiler.compile(resource));
+        }
+
+        logger.info("Compiled {} email templates: {}", templates.size(), templates.keySet());
+    }
+
+    public EmailTemplate get(String name) {
+        return get(name, null, null);
+    }
+
+    /*
+     * Returns the best match for the template name, variant and locale; variant and locale may be null.
+     * Throws IllegalArgumentException when not even the plain template exists.
+     */
+    public EmailTemplate get(String name, String variant, Locale locale) {
+        String key = resolvedKeys.computeIfAbsent(new LookupKey(name, variant, locale), this::resolve);
+
+        if (reload) {
+            return EmailTemplateCompiler.compile(resources.get(key));
+        }
+
+        return templates.get(key);
+    }
+
+    public Set<String> getTemplateKeys() {
+        return Set.copyOf(templates.keySet());
+    }
+
+    private String resolve(LookupKey lookup) {
+        List<String> names = new ArrayList<>();
+        if (lookup.variant() != null) {
+            names.add(lookup.name() + "-" + lookup.variant());
+        }
+        names.add(lookup.name());
+
+        for (String suffix : localeSuffixes(lookup.locale())) {
+            for (String name : names) {
+                if (templates.containsKey(name + suffix)) {
+                    return name + suffix;
+                }
+            }
+        }
+
+        throw new IllegalArgumentException("Email template not found: " + lookup.name());
+    }
+
+    private static List<String> localeSuffixes(Locale locale) {
+        List<String> suffixes = new ArrayList<>();
+
+        if (locale != null && !locale.getLanguage().isEmpty()) {
+            if (!locale.getCountry().isEmpty()) {
+                suffixes.add("_" + locale.getLanguage() + "_" + locale.getCountry());
+            }
+            suffixes.add("_" + locale.getLanguage());
+        }
+        suffixes.add("");
+
+        return suffixes;
+    }
+
+    private record LookupKey(String name, String variant, Locale locale) {}
+}
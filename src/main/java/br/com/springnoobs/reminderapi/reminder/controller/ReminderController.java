@@ -2,9 +2,11 @@ package br.com.springnoobs.reminderapi.reminder.controller;
 
 import br.com.springnoobs.reminderapi.reminder.dto.request.CreateReminderRequestDTO;
 import br.com.springnoobs.reminderapi.reminder.dto.request.UpdateReminderRequestDTO;
+import br.com.springnoobs.reminderapi.reminder.dto.response.NotificationDeliveryResponseDTO;
 import br.com.springnoobs.reminderapi.reminder.dto.response.ReminderResponseDTO;
 import br.com.springnoobs.reminderapi.reminder.service.ReminderService;
 import jakarta.validation.Valid;
+import java.util.List;
 import org.quartz.SchedulerException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -36,6 +38,11 @@ public class ReminderController {
         return ResponseEntity.ok(reminderService.findById(id));
     }
 
+    @GetMapping("/{id}/deliveries")
+    public ResponseEntity<List<NotificationDeliveryResponseDTO>> findDeliveries(@PathVariable Long id) {
+        return ResponseEntity.ok(reminderService.findDeliveries(id));
+    }
+
     @PostMapping()
     public ResponseEntity<ReminderResponseDTO> create(@RequestBody @Valid CreateReminderRequestDTO dto) {
         return ResponseEntity.status(HttpStatus.CREATED).body(reminderService.create(dto));
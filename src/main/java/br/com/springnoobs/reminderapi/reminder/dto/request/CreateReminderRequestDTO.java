@@ -1,12 +1,15 @@
 package br.com.springnoobs.reminderapi.reminder.dto.request;
 
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffsetPlan;
 import br.com.springnoobs.reminderapi.user.dto.request.CreateUserRequestDTO;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import java.time.Instant;
 
 public record CreateReminderRequestDTO(
         @NotBlank(message = "Title must not be null") String title,
         @NotNull(message = "DueDate must not be null") @Future(message = "DueDate should be a date in the future!") Instant dueDate,
-        @NotNull(message = "User must not be null") CreateUserRequestDTO user) {}
+        @NotNull(message = "User must not be null") CreateUserRequestDTO user,
+        @Pattern(regexp = ReminderOffsetPlan.PATTERN, message = "OffsetPlan should look like 30d,7d,1d,1h") String offsetPlan) {}
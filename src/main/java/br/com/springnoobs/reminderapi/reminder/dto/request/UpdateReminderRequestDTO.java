@@ -1,10 +1,13 @@
 package br.com.springnoobs.reminderapi.reminder.dto.request;
 
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffsetPlan;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import java.time.Instant;
 
 public record UpdateReminderRequestDTO(
         @NotBlank(message = "Title must not be null") String title,
-        @NotNull(message = "DueDate must not be null") @Future(message = "DueDate should be a date in the future!") Instant dueDate) {}
+        @NotNull(message = "DueDate must not be null") @Future(message = "DueDate should be a date in the future!") Instant dueDate,
+        @Pattern(regexp = ReminderOffsetPlan.PATTERN, message = "OffsetPlan should look like 30d,7d,1d,1h") String offsetPlan) {}
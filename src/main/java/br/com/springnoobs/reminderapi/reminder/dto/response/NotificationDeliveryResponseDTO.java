@@ -0,0 +1,6 @@
+package br.com.springnoobs.reminderapi.reminder.dto.response;
+
+import java.time.Instant;
+
+public record NotificationDeliveryResponseDTO(
+        String offset, Instant fireAt, NotificationDeliveryStatus status, Instant sentAt) {}
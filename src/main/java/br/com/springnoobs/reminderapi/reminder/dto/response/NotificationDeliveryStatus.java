@@ -0,0 +1,8 @@
+package br.com.springnoobs.reminderapi.reminder.dto.response;
+
+public enum NotificationDeliveryStatus {
+    SCHEDULED,
+    SENT,
+    NOT_SENT,
+    DISABLED
+}
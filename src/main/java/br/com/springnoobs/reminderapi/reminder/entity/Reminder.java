@@ -1,6 +1,7 @@
 package br.com.springnoobs.reminderapi.reminder.entity;
 
 import br.com.springnoobs.reminderapi.user.entity.User;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -10,6 +11,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import java.time.Instant;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "reminders")
@@ -30,6 +32,17 @@ public class Reminder {
 
     private boolean sent = false;
 
+    @ColumnDefault("false")
+    private boolean notificationsDisabled = false;
+
+    /* Compact ReminderOffsetPlan; null uses the default plan. */
+    @Column(length = 64)
+    private String offsetPlan;
+
+    /* The plan the reminder's notifications were last scheduled with. */
+    @Column(length = 64)
+    private String scheduledOffsetPlan;
+
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
@@ -101,6 +114,30 @@ public class Reminder {
         this.description = description;
     }
 
+    public boolean isNotificationsDisabled() {
+        return notificationsDisabled;
+    }
+
+    public void setNotificationsDisabled(boolean notificationsDisabled) {
+        this.notificationsDisabled = notificationsDisabled;
+    }
+
+    public String getOffsetPlan() {
+        return offsetPlan;
+    }
+
+    public void setOffsetPlan(String offsetPlan) {
+        this.offsetPlan = offsetPlan;
+    }
+
+    public String getScheduledOffsetPlan() {
+        return scheduledOffsetPlan;
+    }
+
+    public void setScheduledOffsetPlan(String scheduledOffsetPlan) {
+        this.scheduledOffsetPlan = scheduledOffsetPlan;
+    }
+
     public Instant getDueDate() {
         return dueDate;
     }
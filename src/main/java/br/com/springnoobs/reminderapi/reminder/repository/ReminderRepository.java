@@ -1,14 +1,21 @@
 package br.com.springnoobs.reminderapi.reminder.repository;
 
 import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import jakarta.persistence.QueryHint;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface ReminderRepository extends JpaRepository<Reminder, Long> {
@@ -18,4 +25,59 @@ public interface ReminderRepository extends JpaRepository<Reminder, Long> {
 
     @Query("SELECT r FROM Reminder r JOIN FETCH r.user u JOIN FETCH u.contact WHERE r.id = :id")
     Optional<Reminder> findByIdWithAssociations(Long id);
+
+    @Query("SELECT r FROM Reminder r JOIN FETCH r.user u JOIN FETCH u.contact WHERE r.id IN :ids")
+    List<Reminder> findAllByIdWithAssociations(Collection<Long> ids);
+
+    @Query("SELECT r FROM Reminder r JOIN FETCH r.user u JOIN FETCH u.contact "
+            + "WHERE r.dueDate >= :from AND r.dueDate < :to")
+    List<Reminder> findAllByDueDateBetweenWithAssociations(Instant from, Instant to);
+
+    @Query("SELECT new br.com.springnoobs.reminderapi.reminder.repository.ReminderScheduleView("
+            + "r.id, r.user.id, r.dueDate, r.executedAt, r.offsetPlan) FROM Reminder r "
+            + "WHERE r.notificationsDisabled = false AND r.dueDate >= :from AND r.dueDate < :to")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<ReminderScheduleView> streamSchedulesByDueDateBetween(Instant from, Instant to);
+
+    @Query("SELECT new br.com.springnoobs.reminderapi.reminder.repository.ReminderScheduleView("
+            + "r.id, r.user.id, r.dueDate, r.executedAt, r.offsetPlan) FROM Reminder r "
+            + "WHERE r.notificationsDisabled = false AND r.id IN :ids")
+    List<ReminderScheduleView> findSchedulesByIdIn(Collection<Long> ids);
+
+    @Query("SELECT r FROM Reminder r WHERE r.notificationsDisabled = false AND r.dueDate > :dueAfter "
+            + "AND r.id > :afterId ORDER BY r.id")
+    List<Reminder> findSchedulableByIdGreaterThan(Instant dueAfter, Long afterId, Pageable pageable);
+
+    @Query("SELECT r.id FROM Reminder r WHERE r.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("SELECT DISTINCT r.offsetPlan FROM Reminder r WHERE r.offsetPlan IS NOT NULL AND r.dueDate > :dueAfter")
+    List<String> findDistinctOffsetPlansByDueDateAfter(Instant dueAfter);
+
+    @Query("SELECT r FROM Reminder r WHERE r.offsetPlan IS NULL AND r.notificationsDisabled = false "
+            + "AND r.dueDate > :dueAfter AND r.id > :afterId "
+            + "AND (r.scheduledOffsetPlan <> :plan OR (r.scheduledOffsetPlan IS NULL AND :includeUnrecorded = true)) "
+            + "ORDER BY r.id")
+    List<Reminder> findDefaultPlanRemindersScheduledWithOtherPlan(
+            String plan, boolean includeUnrecorded, Instant dueAfter, Long afterId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Reminder r SET r.scheduledOffsetPlan = :plan WHERE r.id IN :ids")
+    int updateScheduledOffsetPlan(Collection<Long> ids, String plan);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Reminder r SET r.executedAt = :executedAt, r.sent = true WHERE r.id IN :ids")
+    int updateExecuted(Collection<Long> ids, Instant executedAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Reminder r SET r.notificationsDisabled = :disabled WHERE r.id = :id")
+    int updateNotificationsDisabled(Long id, boolean disabled);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Reminder r SET r.notificationsDisabled = true WHERE r.id IN :ids")
+    int disableNotifications(Collection<Long> ids);
 }
@@ -0,0 +1,8 @@
+package br.com.springnoobs.reminderapi.reminder.repository;
+
+import java.time.Instant;
+
+/*
+ * The columns a scheduling engine needs to decide whether a notification still has to fire.
+ */
+public record ReminderScheduleView(Long id, Long userId, Instant dueDate, Instant executedAt, String offsetPlan) {}
@@ -1,17 +1,31 @@
 package br.com.springnoobs.reminderapi.reminder.service;
 
+import br.com.springnoobs.reminderapi.mail.spool.MessageSpool;
 import br.com.springnoobs.reminderapi.reminder.dto.request.CreateReminderRequestDTO;
 import br.com.springnoobs.reminderapi.reminder.dto.request.UpdateReminderRequestDTO;
+import br.com.springnoobs.reminderapi.reminder.dto.response.NotificationDeliveryResponseDTO;
+import br.com.springnoobs.reminderapi.reminder.dto.response.NotificationDeliveryStatus;
 import br.com.springnoobs.reminderapi.reminder.dto.response.ReminderResponseDTO;
 import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
 import br.com.springnoobs.reminderapi.reminder.exception.NotFoundException;
 import br.com.springnoobs.reminderapi.reminder.exception.ReminderSchedulerException;
 import br.com.springnoobs.reminderapi.reminder.mapper.ReminderMapper;
 import br.com.springnoobs.reminderapi.reminder.repository.ReminderRepository;
-import br.com.springnoobs.reminderapi.schedule.service.JobService;
+import br.com.springnoobs.reminderapi.schedule.dispatch.NotificationLedger;
+import br.com.springnoobs.reminderapi.schedule.engine.ReminderScheduleEngine;
+import br.com.springnoobs.reminderapi.schedule.entity.NotificationDelivery;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffset;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffsetPlan;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffsetPlans;
 import br.com.springnoobs.reminderapi.user.entity.User;
 import br.com.springnoobs.reminderapi.user.service.UserService;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import org.quartz.SchedulerException;
 import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
@@ -24,12 +38,24 @@ public class ReminderService {
 
     private final ReminderRepository repository;
     private final UserService userService;
-    private final JobService jobService;
-
-    public ReminderService(ReminderRepository repository, UserService userService, JobService jobService) {
+    private final ReminderScheduleEngine scheduleEngine;
+    private final MessageSpool messageSpool;
+    private final ReminderOffsetPlans offsetPlans;
+    private final NotificationLedger notificationLedger;
+
+    public ReminderService(
+            ReminderRepository repository,
+            UserService userService,
+            ReminderScheduleEngine scheduleEngine,
+            MessageSpool messageSpool,
+            ReminderOffsetPlans offsetPlans,
+            NotificationLedger notificationLedger) {
         this.repository = repository;
         this.userService = userService;
-        this.jobService = jobService;
+        this.scheduleEngine = scheduleEngine;
+        this.messageSpool = messageSpool;
+        this.offsetPlans = offsetPlans;
+        this.notificationLedger = notificationLedger;
     }
 
     @Transactional
@@ -41,9 +67,10 @@ public class ReminderService {
             User user = userService.createAndSaveUser(dto.user());
 
             reminder.setUser(user);
+            applyOffsetPlan(reminder);
 
             Reminder savedReminder = repository.save(reminder);
-            jobService.scheduleJob(savedReminder);
+            scheduleEngine.schedule(savedReminder);
 
             return ReminderMapper.toResponse(savedReminder);
 
@@ -62,6 +89,52 @@ public class ReminderService {
         return ReminderMapper.toResponse(reminder);
     }
 
+    /*
+     * One entry per offset of the reminder's plan for its current due date, followed by offsets delivered under
+     * an earlier plan.
+     */
+    public List<NotificationDeliveryResponseDTO> findDeliveries(Long id) {
+        var reminder = repository
+                .findById(id)
+                .orElseThrow(() -> new NotFoundException("Reminder with ID: " + id + " not found"));
+
+        Map<String, NotificationDelivery> deliveries = new LinkedHashMap<>();
+        for (NotificationDelivery delivery : notificationLedger.findDeliveries(id)) {
+            if (Objects.equals(delivery.getDueDate(), reminder.getDueDate())) {
+                deliveries.put(delivery.getOffset(), delivery);
+            }
+        }
+
+        Instant now = Instant.now();
+        List<NotificationDeliveryResponseDTO> response = new ArrayList<>();
+
+        for (ReminderOffset offset : offsetPlans.resolve(reminder).offsets()) {
+            Instant fireAt = reminder.getDueDate() != null ? offset.fireTime(reminder.getDueDate()) : null;
+            NotificationDelivery delivery = deliveries.remove(offset.suffix());
+
+            NotificationDeliveryStatus status;
+            if (delivery != null) {
+                status = NotificationDeliveryStatus.SENT;
+            } else if (reminder.isNotificationsDisabled()) {
+                status = NotificationDeliveryStatus.DISABLED;
+            } else if (fireAt != null && fireAt.isAfter(now)) {
+                status = NotificationDeliveryStatus.SCHEDULED;
+            } else {
+                status = NotificationDeliveryStatus.NOT_SENT;
+            }
+
+            response.add(new NotificationDeliveryResponseDTO(
+                    offset.suffix(), fireAt, status, delivery != null ? delivery.getClaimedAt() : null));
+        }
+
+        for (NotificationDelivery delivery : deliveries.values()) {
+            response.add(new NotificationDeliveryResponseDTO(
+                    delivery.getOffset(), null, NotificationDeliveryStatus.SENT, delivery.getClaimedAt()));
+        }
+
+        return response;
+    }
+
     public Page<ReminderResponseDTO> findAll(Pageable pageable) {
         return repository.findAllByOrderByRemindAtAsc(pageable).map(ReminderMapper::toResponse);
     }
@@ -72,9 +145,21 @@ public class ReminderService {
                     .findById(id)
                     .orElseThrow(() -> new NotFoundException("Reminder with ID: " + id + " not found"));
 
+            Instant previousDueDate = reminder.getDueDate();
+            String previousOffsetPlan = offsetPlans
+                    .resolveScheduled(reminder.getScheduledOffsetPlan())
+                    .format();
+
             BeanUtils.copyProperties(dto, reminder);
+            applyOffsetPlan(reminder);
 
-            jobService.updateReminderSchedules(reminder);
+            // Rescheduling also enables disabled notifications again, so only skip it when nothing would change.
+            if (reminder.isNotificationsDisabled()
+                    || !Objects.equals(previousDueDate, reminder.getDueDate())
+                    || !Objects.equals(previousOffsetPlan, reminder.getScheduledOffsetPlan())) {
+                scheduleEngine.reschedule(reminder);
+            }
+            messageSpool.invalidate(reminder.getId());
 
             return ReminderMapper.toResponse(repository.save(reminder));
         } catch (NotFoundException e) {
@@ -90,7 +175,9 @@ public class ReminderService {
                     .findById(id)
                     .orElseThrow(() -> new NotFoundException("Reminder with ID: " + id + " not found"));
 
-            jobService.deleteReminderSchedules(reminder.getId());
+            scheduleEngine.unschedule(reminder.getId());
+            messageSpool.invalidate(reminder.getId());
+            notificationLedger.forget(reminder.getId());
 
             repository.deleteById(id);
         } catch (NotFoundException e) {
@@ -107,11 +194,40 @@ public class ReminderService {
         repository.save(reminder);
     }
 
+    /*
+     * Registers the execution of every reminder with a single update instead of one entity save each.
+     */
+    public void registerReminderExecutions(Collection<Reminder> reminders) {
+        if (reminders.isEmpty()) {
+            return;
+        }
+
+        Instant executedAt = Instant.now();
+
+        reminders.forEach(reminder -> {
+            reminder.setExecutedAt(executedAt);
+            reminder.setSent(true);
+        });
+
+        repository.updateExecuted(reminders.stream().map(Reminder::getId).toList(), executedAt);
+    }
+
     public void disableReminderNotifications(Long id) throws SchedulerException {
         Reminder reminder = repository
                 .findById(id)
                 .orElseThrow(() -> new NotFoundException("Reminder with ID: " + id + " not found"));
 
-        jobService.unscheduleReminderJobTriggers(reminder.getId());
+        scheduleEngine.disableNotifications(reminder.getId());
+        messageSpool.invalidate(reminder.getId());
+    }
+
+    private void applyOffsetPlan(Reminder reminder) {
+        ReminderOffsetPlan plan = offsetPlans.resolve(reminder);
+
+        if (reminder.getOffsetPlan() != null) {
+            reminder.setOffsetPlan(plan.format());
+        }
+
+        reminder.setScheduledOffsetPlan(plan.format());
     }
 }
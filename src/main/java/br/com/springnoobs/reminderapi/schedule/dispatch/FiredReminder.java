@@ -0,0 +1,6 @@
+package br.com.springnoobs.reminderapi.schedule.dispatch;
+
+/*
+ * A reminder whose trigger fired, with the offset of that trigger (null when unknown).
+ */
+public record FiredReminder(long reminderId, String offset) {}
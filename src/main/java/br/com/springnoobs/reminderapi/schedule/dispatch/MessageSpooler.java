@@ -0,0 +1,108 @@
+package br.com.springnoobs.reminderapi.schedule.dispatch;
+
+import br.com.springnoobs.reminderapi.mail.service.EmailService;
+import br.com.springnoobs.reminderapi.mail.spool.MessageSpool;
+import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import br.com.springnoobs.reminderapi.reminder.repository.ReminderRepository;
+import br.com.springnoobs.reminderapi.schedule.engine.ReminderScheduleEngine;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffset;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffsetPlans;
+import java.time.Duration;
+import java.time.Instant;
+import org.quartz.SchedulerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*
+ * Renders the emails of triggers that fire within mail.spool.horizon into the MessageSpool, so at fire time
+ * the message is only read back and sent. Runs only while the dispatch queue is empty.
+ */
+@Component
+public class MessageSpooler {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageSpooler.class);
+
+    private final ReminderRepository reminderRepository;
+
+    private final ReminderScheduleEngine scheduleEngine;
+
+    private final EmailService emailService;
+
+    private final MessageSpool messageSpool;
+
+    private final ReminderDispatcher reminderDispatcher;
+
+    private final ReminderOffsetPlans offsetPlans;
+
+    private final Duration horizon;
+
+    public MessageSpooler(
+            ReminderRepository reminderRepository,
+            ReminderScheduleEngine scheduleEngine,
+            EmailService emailService,
+            MessageSpool messageSpool,
+            ReminderDispatcher reminderDispatcher,
+            ReminderOffsetPlans offsetPlans,
+            @Value("${mail.spool.horizon:PT6H}") Duration horizon) {
+        this.reminderRepository = reminderRepository;
+        this.scheduleEngine = scheduleEngine;
+        this.emailService = emailService;
+        this.messageSpool = messageSpool;
+        this.reminderDispatcher = reminderDispatcher;
+        this.offsetPlans = offsetPlans;
+        this.horizon = horizon;
+    }
+
+    @Scheduled(fixedDelayString = "${mail.spool.interval:PT5M}")
+    public void spoolUpcomingMessages() {
+        if (!messageSpool.isEnabled() || reminderDispatcher.getQueueSize() > 0) {
+            return;
+        }
+
+        Instant now = Instant.now();
+
+        // Anything older than the horizon has had its trigger fire already.
+        messageSpool.evictSpooledBefore(now.minus(horizon));
+
+        int spooled = 0;
+
+        for (ReminderOffset offset : offsetPlans.findOffsetsInUse(now)) {
+            Instant from = now.plus(offset.duration());
+
+            for (Reminder reminder :
+                    reminderRepository.findAllByDueDateBetweenWithAssociations(from, from.plus(horizon))) {
+                if (offsetPlans.resolve(reminder).find(offset.suffix()).isPresent()
+                        && spool(reminder, offset.suffix())) {
+                    spooled++;
+                }
+            }
+        }
+
+        if (spooled > 0) {
+            logger.info("Spooled {} messages firing before {}", spooled, now.plus(horizon));
+        }
+    }
+
+    private boolean spool(Reminder reminder, String offset) {
+        if (messageSpool.contains(reminder.getId(), offset)) {
+            return false;
+        }
+
+        try {
+            if (!scheduleEngine.hasPendingNotification(reminder.getId(), offset)) {
+                return false;
+            }
+
+            emailService.spool(reminder, offset);
+
+            return true;
+        } catch (SchedulerException | RuntimeException e) {
+            logger.warn("Error at spool message for reminder {}: {}", reminder.getId(), e.getMessage());
+
+            return false;
+        }
+    }
+}
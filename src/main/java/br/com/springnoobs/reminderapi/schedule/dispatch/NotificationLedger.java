@@ -0,0 +1,114 @@
+package br.com.springnoobs.reminderapi.schedule.dispatch;
+
+import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import br.com.springnoobs.reminderapi.schedule.entity.NotificationDelivery;
+import br.com.springnoobs.reminderapi.schedule.repository.NotificationDeliveryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+/*
+ * Records which offset of a reminder was sent, one notification_deliveries row per reminder and offset. A send
+ * claims its key before dispatch and is dropped when the key was already claimed for the same due date, so
+ * misfires, retried triggers and failover cannot send an offset twice. A key delivered for an earlier due date is
+ * claimed again by updating the row. Keys claimed or seen by this node are kept in a bounded in-memory LRU set
+ * (every hit refreshes the key), so repeated duplicates are rejected without a database round-trip. Sends without an offset (digests and triggers
+ * scheduled before offsets were stored) are not tracked.
+ */
+@Component
+public class NotificationLedger {
+
+    private final NotificationDeliveryRepository repository;
+
+    private final boolean enabled;
+
+    private final Map<DeliveryKey, Boolean> hotKeys;
+
+    private final Counter claimedCounter;
+
+    private final Counter duplicateCounter;
+
+    public NotificationLedger(
+            NotificationDeliveryRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${reminder.ledger.enabled:true}") boolean enabled,
+            @Value("${reminder.ledger.hot-keys:100000}") int hotKeyCapacity) {
+        this.repository = repository;
+        this.enabled = enabled;
+        // Access order: get() moves a key to the end, so the least recently seen key is evicted first.
+        this.hotKeys = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<DeliveryKey, Boolean> eldest) {
+                return size() > hotKeyCapacity;
+            }
+        });
+
+        this.claimedCounter = Counter.builder("reminder.ledger.claimed")
+                .description("Reminder notifications claimed for delivery")
+                .register(meterRegistry);
+        this.duplicateCounter = Counter.builder("reminder.ledger.duplicates")
+                .description("Reminder notifications dropped because their offset was already delivered")
+                .register(meterRegistry);
+    }
+
+    /*
+     * Returns true when the caller owns the delivery of this offset and must send it.
+     */
+    public boolean claim(Reminder reminder, String offset) {
+        if (!enabled || offset == null || reminder.getId() == null || reminder.getDueDate() == null) {
+            return true;
+        }
+
+        DeliveryKey key = new DeliveryKey(reminder.getId(), offset, reminder.getDueDate());
+
+        if (hotKeys.get(key) != null) {
+            duplicateCounter.increment();
+            return false;
+        }
+
+        Instant now = Instant.now();
+        boolean claimed;
+
+        try {
+            repository.saveAndFlush(new NotificationDelivery(reminder.getId(), offset, reminder.getDueDate(), now));
+            claimed = true;
+        } catch (DataIntegrityViolationException e) {
+            claimed = repository.reclaim(reminder.getId(), offset, reminder.getDueDate(), now) > 0;
+        }
+
+        hotKeys.put(key, Boolean.TRUE);
+
+        if (claimed) {
+            claimedCounter.increment();
+        } else {
+            duplicateCounter.increment();
+        }
+
+        return claimed;
+    }
+
+    public List<NotificationDelivery> findDeliveries(Long reminderId) {
+        return repository.findByReminderIdOrderByClaimedAt(reminderId);
+    }
+
+    public void forget(Long reminderId) {
+        if (reminderId == null) {
+            return;
+        }
+
+        repository.deleteByReminderId(reminderId);
+
+        synchronized (hotKeys) {
+            hotKeys.keySet().removeIf(key -> key.reminderId() == reminderId);
+        }
+    }
+
+    private record DeliveryKey(long reminderId, String offset, Instant dueDate) {}
+}
@@ -0,0 +1,100 @@
+package br.com.springnoobs.reminderapi.schedule.dispatch;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/*
+ * Holds reminders fired for the same user for a short window and dispatches them as one digest email.
+ * The first reminder of a user opens the window; everything that fires before it closes joins the digest.
+ * Each reminder keeps the offset of the trigger that fired it, so the dispatcher can claim it in the ledger.
+ * Disabled by default (mail.coalesce.enabled).
+ */
+@Component
+public class ReminderCoalescer {
+
+    private final ReminderDispatcher reminderDispatcher;
+
+    private final TaskScheduler taskScheduler;
+
+    private final boolean enabled;
+
+    private final Duration window;
+
+    private final Map<Long, Map<Long, String>> pending = new ConcurrentHashMap<>();
+
+    public ReminderCoalescer(
+            ReminderDispatcher reminderDispatcher,
+            TaskScheduler taskScheduler,
+            @Value("${mail.coalesce.enabled:false}") boolean enabled,
+            @Value("${mail.coalesce.window:PT60S}") Duration window) {
+        this.reminderDispatcher = reminderDispatcher;
+        this.taskScheduler = taskScheduler;
+        this.enabled = enabled;
+        this.window = window;
+    }
+
+    /*
+     * Returns false when coalescing is disabled, in which case the caller dispatches the reminder itself.
+     */
+    public boolean offer(long userId, long reminderId, String offset) {
+        if (!enabled) {
+            return false;
+        }
+
+        boolean[] opened = new boolean[1];
+
+        pending.compute(userId, (key, offsetsByReminderId) -> {
+            if (offsetsByReminderId == null) {
+                offsetsByReminderId = new LinkedHashMap<>();
+                opened[0] = true;
+            }
+            offsetsByReminderId.put(reminderId, offset);
+            return offsetsByReminderId;
+        });
+
+        if (opened[0]) {
+            taskScheduler.schedule(() -> flush(userId), Instant.now().plus(window));
+        }
+
+        return true;
+    }
+
+    public int getPendingCount() {
+        return pending.values().stream().mapToInt(Map::size).sum();
+    }
+
+    void flush(long userId) {
+        Map<Long, String> offsetsByReminderId = pending.remove(userId);
+
+        if (offsetsByReminderId == null || offsetsByReminderId.isEmpty()) {
+            return;
+        }
+
+        List<FiredReminder> reminders = offsetsByReminderId.entrySet().stream()
+                .map(entry -> new FiredReminder(entry.getKey(), entry.getValue()))
+                .toList();
+
+        if (reminders.size() == 1) {
+            FiredReminder fired = reminders.getFirst();
+            reminderDispatcher.dispatch(fired.reminderId(), fired.offset());
+        } else {
+            reminderDispatcher.dispatchDigest(reminders);
+        }
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        List<Long> userIds = new ArrayList<>(pending.keySet());
+
+        userIds.forEach(this::flush);
+    }
+}
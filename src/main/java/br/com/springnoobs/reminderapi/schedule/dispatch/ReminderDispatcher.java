@@ -0,0 +1,291 @@
+package br.com.springnoobs.reminderapi.schedule.dispatch;
+
+import br.com.springnoobs.reminderapi.mail.service.EmailService;
+import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import br.com.springnoobs.reminderapi.reminder.repository.ReminderRepository;
+import br.com.springnoobs.reminderapi.reminder.service.ReminderService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * Runs the work of a fired reminder: load it, render and send the email, register the execution.
+ * With mail.dispatch.async enabled the Quartz job only enqueues a command and returns; virtual-thread
+ * workers drain the bounded queue so a slow SMTP relay does not hold Quartz worker threads. Batches and
+ * digests load all their reminders with one query and register their executions with one update; the emails
+ * of a batch go out together through EmailService.sendBatch. Every offset is claimed in the NotificationLedger
+ * before it is sent, so an offset already delivered is skipped.
+ */
+@Component
+public class ReminderDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderDispatcher.class);
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    static final String QUEUE_FULL_MESSAGE = "Mail dispatch queue is full";
+
+    static final String SHUTDOWN_MESSAGE = "Mail dispatch stopped before sending";
+
+    private final ReminderRepository reminderRepository;
+
+    private final ReminderService reminderService;
+
+    private final EmailService emailService;
+
+    private final NotificationLedger notificationLedger;
+
+    private final boolean async;
+
+    private final int workerCount;
+
+    private final Duration shutdownTimeout;
+
+    private final BlockingQueue<DispatchCommand> queue;
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    private volatile boolean accepting = true;
+
+    public ReminderDispatcher(
+            ReminderRepository reminderRepository,
+            ReminderService reminderService,
+            EmailService emailService,
+            NotificationLedger notificationLedger,
+            @Value("${mail.dispatch.async:false}") boolean async,
+            @Value("${mail.dispatch.queue-capacity:1000}") int queueCapacity,
+            @Value("${mail.dispatch.workers:16}") int workerCount,
+            @Value("${mail.dispatch.shutdown-timeout:PT30S}") Duration shutdownTimeout) {
+        this.reminderRepository = reminderRepository;
+        this.reminderService = reminderService;
+        this.emailService = emailService;
+        this.notificationLedger = notificationLedger;
+        this.async = async;
+        this.workerCount = workerCount;
+        this.shutdownTimeout = shutdownTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void startWorkers() {
+        if (!async) {
+            return;
+        }
+
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofVirtual().name("mail-dispatch-" + i).start(this::workLoop));
+        }
+    }
+
+    public void dispatch(long reminderId) {
+        dispatch(reminderId, null);
+    }
+
+    /*
+     * The offset names the trigger that fired, so the message spooled for it can be sent as is.
+     */
+    public void dispatch(long reminderId, String offset) {
+        dispatch(new DispatchCommand(List.of(new FiredReminder(reminderId, offset)), false));
+    }
+
+    /*
+     * Sends one email per reminder, e.g. the triggers ReminderFiringBatcher grouped.
+     */
+    public void dispatchBatch(List<FiredReminder> reminders) {
+        dispatch(new DispatchCommand(List.copyOf(reminders), false));
+    }
+
+    /*
+     * Dispatches reminders of the same user as one digest email.
+     */
+    public void dispatchDigest(List<FiredReminder> reminders) {
+        dispatch(new DispatchCommand(List.copyOf(reminders), true));
+    }
+
+    private void dispatch(DispatchCommand command) {
+        if (!async) {
+            execute(command);
+            return;
+        }
+
+        if (!accepting || !queue.offer(command)) {
+            reject(command, accepting ? QUEUE_FULL_MESSAGE : SHUTDOWN_MESSAGE);
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /*
+     * Stops accepting commands and lets the workers drain the queue. Whatever is still queued when the
+     * timeout expires goes to the email failure store so RetryFailedEmailsJob sends it later.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!async) {
+            return;
+        }
+
+        accepting = false;
+
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+
+        for (Thread worker : workers) {
+            long remaining = deadline - System.nanoTime();
+
+            if (remaining <= 0 || !worker.join(Duration.ofNanos(remaining))) {
+                break;
+            }
+        }
+
+        workers.forEach(Thread::interrupt);
+
+        List<DispatchCommand> pending = new ArrayList<>();
+        queue.drainTo(pending);
+
+        if (!pending.isEmpty()) {
+            logger.warn("Mail dispatch shutdown timed out, {} reminders moved to the failure store", pending.size());
+            pending.forEach(command -> reject(command, SHUTDOWN_MESSAGE));
+        }
+    }
+
+    void execute(DispatchCommand command) {
+        if (command.reminders().size() == 1) {
+            FiredReminder fired = command.reminders().getFirst();
+
+            reminderRepository.findByIdWithAssociations(fired.reminderId()).ifPresent(reminder -> {
+                if (!claim(reminder, fired.offset())) {
+                    return;
+                }
+
+                emailService.send(reminder, fired.offset());
+
+                reminderService.registerReminderExecution(reminder);
+
+                logger.info("Executed reminder {} at {}", reminder.getId(), Instant.now());
+            });
+            return;
+        }
+
+        List<Reminder> reminders = reminderRepository.findAllByIdWithAssociations(command.reminderIds());
+
+        if (reminders.isEmpty()) {
+            return;
+        }
+
+        Map<Reminder, String> offsetsByReminder = claimAll(command.reminders(), reminders);
+
+        if (command.digest()) {
+            executeDigest(offsetsByReminder);
+            return;
+        }
+
+        executeBatch(offsetsByReminder);
+    }
+
+    /*
+     * Keeps the fired order and drops the reminders whose offset was already delivered.
+     */
+    private Map<Reminder, String> claimAll(List<FiredReminder> firedReminders, List<Reminder> reminders) {
+        Map<Long, Reminder> remindersById =
+                reminders.stream().collect(Collectors.toMap(Reminder::getId, Function.identity()));
+        Map<Reminder, String> offsetsByReminder = new LinkedHashMap<>();
+
+        for (FiredReminder fired : firedReminders) {
+            Reminder reminder = remindersById.remove(fired.reminderId());
+
+            if (reminder != null && claim(reminder, fired.offset())) {
+                offsetsByReminder.put(reminder, fired.offset());
+            }
+        }
+
+        return offsetsByReminder;
+    }
+
+    private void executeDigest(Map<Reminder, String> offsetsByReminder) {
+        if (offsetsByReminder.isEmpty()) {
+            return;
+        }
+
+        emailService.sendDigest(offsetsByReminder);
+
+        List<Reminder> executed = new ArrayList<>(offsetsByReminder.keySet());
+
+        reminderService.registerReminderExecutions(executed);
+
+        logger.info("Executed {} coalesced reminders at {}", executed.size(), Instant.now());
+    }
+
+    private void executeBatch(Map<Reminder, String> offsetsByReminder) {
+        List<Reminder> executed = emailService.sendBatch(offsetsByReminder);
+
+        reminderService.registerReminderExecutions(executed);
+
+        logger.info("Executed batch of {} reminders at {}", executed.size(), Instant.now());
+    }
+
+    private void workLoop() {
+        while (accepting || !queue.isEmpty()) {
+            try {
+                DispatchCommand command = queue.poll(POLL_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+
+                if (command != null) {
+                    execute(command);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Error at dispatch reminder: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void reject(DispatchCommand command, String reason) {
+        logger.warn("Reminders {} not dispatched: {}", command.reminderIds(), reason);
+
+        for (FiredReminder fired : command.reminders()) {
+            reminderRepository.findByIdWithAssociations(fired.reminderId()).ifPresent(reminder -> {
+                if (!claim(reminder, fired.offset())) {
+                    return;
+                }
+
+                emailService.registerSendFailure(reminder, fired.offset(), reason);
+
+                reminderService.registerReminderExecution(reminder);
+            });
+        }
+    }
+
+    private boolean claim(Reminder reminder, String offset) {
+        if (notificationLedger.claim(reminder, offset)) {
+            return true;
+        }
+
+        logger.info("Skipped reminder {}: offset {} was already delivered", reminder.getId(), offset);
+
+        return false;
+    }
+
+    record DispatchCommand(List<FiredReminder> reminders, boolean digest) {
+
+        List<Long> reminderIds() {
+            return reminders.stream().map(FiredReminder::reminderId).toList();
+        }
+    }
+}
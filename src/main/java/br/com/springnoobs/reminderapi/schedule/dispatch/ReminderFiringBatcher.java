@@ -0,0 +1,125 @@
+package br.com.springnoobs.reminderapi.schedule.dispatch;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/*
+ * Groups reminders whose triggers fire within a short window and dispatches them as one batch, so thousands of
+ * reminders sharing a due date cost one load query and one execution update per batch instead of two statements
+ * each. The first reminder opens the window; the batch is dispatched when the window closes or when it reaches
+ * mail.dispatch.batch.max-size. Every window is numbered, so the timer of a window already dispatched because
+ * it was full does not cut the next window short. Disabled by default (mail.dispatch.batch.enabled).
+ */
+@Component
+public class ReminderFiringBatcher {
+
+    private final ReminderDispatcher reminderDispatcher;
+
+    private final TaskScheduler taskScheduler;
+
+    private final boolean enabled;
+
+    private final Duration window;
+
+    private final int maxSize;
+
+    private List<FiredReminder> pending = new ArrayList<>();
+
+    private long windowNumber;
+
+    public ReminderFiringBatcher(
+            ReminderDispatcher reminderDispatcher,
+            TaskScheduler taskScheduler,
+            @Value("${mail.dispatch.batch.enabled:false}") boolean enabled,
+            @Value("${mail.dispatch.batch.window:PT0.2S}") Duration window,
+            @Value("${mail.dispatch.batch.max-size:500}") int maxSize) {
+        this.reminderDispatcher = reminderDispatcher;
+        this.taskScheduler = taskScheduler;
+        this.enabled = enabled;
+        this.window = window;
+        this.maxSize = maxSize;
+    }
+
+    /*
+     * Returns false when batching is disabled, in which case the caller dispatches the reminder itself.
+     */
+    public boolean offer(long reminderId, String offset) {
+        if (!enabled) {
+            return false;
+        }
+
+        boolean opened;
+        long openedWindow;
+        List<FiredReminder> full = null;
+
+        synchronized (this) {
+            opened = pending.isEmpty();
+            openedWindow = windowNumber;
+            pending.add(new FiredReminder(reminderId, offset));
+
+            if (pending.size() >= maxSize) {
+                full = take();
+            }
+        }
+
+        if (full != null) {
+            reminderDispatcher.dispatchBatch(full);
+        } else if (opened) {
+            taskScheduler.schedule(() -> flush(openedWindow), Instant.now().plus(window));
+        }
+
+        return true;
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void flush() {
+        List<FiredReminder> batch;
+
+        synchronized (this) {
+            batch = take();
+        }
+
+        dispatch(batch);
+    }
+
+    private void flush(long closingWindow) {
+        List<FiredReminder> batch;
+
+        synchronized (this) {
+            if (closingWindow != windowNumber) {
+                return;
+            }
+
+            batch = take();
+        }
+
+        dispatch(batch);
+    }
+
+    private void dispatch(List<FiredReminder> batch) {
+        if (batch.size() == 1) {
+            FiredReminder fired = batch.getFirst();
+            reminderDispatcher.dispatch(fired.reminderId(), fired.offset());
+        } else if (!batch.isEmpty()) {
+            reminderDispatcher.dispatchBatch(batch);
+        }
+    }
+
+    private List<FiredReminder> take() {
+        List<FiredReminder> batch = pending;
+        pending = new ArrayList<>();
+        windowNumber++;
+
+        return batch;
+    }
+}
@@ -0,0 +1,409 @@
+package br.com.springnoobs.reminderapi.schedule.engine;
+
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderCoalescer;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderDispatcher;
+import br.com.springnoobs.reminderapi.schedule.service.JobService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.TriggerKey;
+import org.quartz.TriggerListener;
+import org.quartz.impl.matchers.GroupMatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/*
+ * Keeps misfired reminder triggers from all firing at once after downtime. The Quartz misfire handler reports
+ * every misfired trigger to triggerMisfired before moving its fire time to now; when the trigger then fires,
+ * its execution is vetoed and the reminder is queued instead. Sending starts reminder.misfire-drain.collect-window
+ * after the first misfire of a burst, so the misfire handler can report the rest of the burst, and then drains
+ * the queue at reminder.misfire-drain.rate per second, closest due date first. Of several misfired offsets of one
+ * reminder only the latest is sent.
+ *
+ * A vetoed trigger is gone from Quartz, so a fallback trigger for the same job and offset is stored that fires
+ * reminder.misfire-drain.fallback-delay after the entry is expected to be sent, given the backlog ahead of it and
+ * the drain rate. It is removed once the queued reminder is sent or superseded, and fires, through the drain
+ * again, if the application stops before that. While the drain runs, the fallbacks of entries still queued are
+ * pushed out every half fallback-delay, so a large backlog never has its fallbacks fire together.
+ */
+@Component
+@ConditionalOnProperty(name = "reminder.scheduler.engine", havingValue = "quartz", matchIfMissing = true)
+public class QuartzMisfireDrain implements TriggerListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuartzMisfireDrain.class);
+
+    private static final String REMINDER_GROUP = "reminders";
+
+    private static final String FALLBACK_SUFFIX = "-drain-";
+
+    private static final long PROGRESS_LOG_INTERVAL = 1000;
+
+    private final Scheduler scheduler;
+
+    private final ReminderCoalescer reminderCoalescer;
+
+    private final ReminderDispatcher reminderDispatcher;
+
+    private final boolean enabled;
+
+    private final long intervalNanos;
+
+    private final Duration fallbackDelay;
+
+    private final long collectWindowNanos;
+
+    private final Map<TriggerKey, Instant> fallbackTimes = new ConcurrentHashMap<>();
+
+    private long nextFallbackCheck;
+
+    private final Map<TriggerKey, Boolean> misfired = new ConcurrentHashMap<>();
+
+    private static final Comparator<DrainEntry> DRAIN_ORDER =
+            Comparator.comparingLong(DrainEntry::dueDate).thenComparingLong(DrainEntry::fireTime);
+
+    private final PriorityQueue<DrainEntry> queue = new PriorityQueue<>(DRAIN_ORDER);
+
+    private final Map<Long, DrainEntry> queuedByReminder = new HashMap<>();
+
+    private final AtomicLong collected = new AtomicLong();
+
+    private long collectUntil;
+
+    private final Counter drainedCounter;
+
+    private final Counter supersededCounter;
+
+    private volatile boolean running;
+
+    private Thread drainer;
+
+    public QuartzMisfireDrain(
+            Scheduler scheduler,
+            ReminderCoalescer reminderCoalescer,
+            ReminderDispatcher reminderDispatcher,
+            MeterRegistry meterRegistry,
+            @Value("${reminder.misfire-drain.enabled:true}") boolean enabled,
+            @Value("${reminder.misfire-drain.rate:20}") double rate,
+            @Value("${reminder.misfire-drain.fallback-delay:PT30M}") Duration fallbackDelay,
+            @Value("${reminder.misfire-drain.collect-window:PT5S}") Duration collectWindow) {
+        this.scheduler = scheduler;
+        this.reminderCoalescer = reminderCoalescer;
+        this.reminderDispatcher = reminderDispatcher;
+        this.enabled = enabled;
+        this.intervalNanos = (long) (1_000_000_000 / rate);
+        this.fallbackDelay = fallbackDelay;
+        this.collectWindowNanos = collectWindow.toNanos();
+        this.nextFallbackCheck = System.nanoTime();
+
+        Gauge.builder("reminder.misfire-drain.pending", this, QuartzMisfireDrain::getPendingCount)
+                .description("Misfired reminder triggers waiting to be sent")
+                .register(meterRegistry);
+        this.drainedCounter = Counter.builder("reminder.misfire-drain.drained")
+                .description("Misfired reminder triggers sent by the drain")
+                .register(meterRegistry);
+        this.supersededCounter = Counter.builder("reminder.misfire-drain.superseded")
+                .description("Misfired reminder triggers dropped for a later offset of the same reminder")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws SchedulerException {
+        if (!enabled) {
+            return;
+        }
+
+        scheduler.getListenerManager().addTriggerListener(this, GroupMatcher.triggerGroupEquals(REMINDER_GROUP));
+
+        running = true;
+        drainer = Thread.ofVirtual().name("reminder-misfire-drain").start(this::drain);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+
+        if (drainer != null) {
+            drainer.interrupt();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "reminder-misfire-drain";
+    }
+
+    @Override
+    public void triggerMisfired(Trigger trigger) {
+        misfired.put(trigger.getKey(), Boolean.TRUE);
+        collected.incrementAndGet();
+    }
+
+    @Override
+    public boolean vetoJobExecution(Trigger trigger, JobExecutionContext context) {
+        if (misfired.remove(trigger.getKey()) == null) {
+            return false;
+        }
+
+        JobDataMap jobDataMap = context.getMergedJobDataMap();
+        // Misfire handling moved the scheduled fire time to now; the start time is the planned one.
+        long fireTime = trigger.getStartTime().getTime();
+
+        DrainEntry entry = new DrainEntry(
+                jobDataMap.getLong("reminder-id"),
+                jobDataMap.containsKey("user-id") ? jobDataMap.getLong("user-id") : null,
+                JobService.offsetOf(trigger),
+                jobDataMap.containsKey("due-date") ? jobDataMap.getLong("due-date") : fireTime,
+                fireTime,
+                storeFallbackTrigger(trigger));
+
+        enqueue(entry);
+
+        return true;
+    }
+
+    @Override
+    public void triggerFired(Trigger trigger, JobExecutionContext context) {}
+
+    @Override
+    public void triggerComplete(
+            Trigger trigger, JobExecutionContext context, Trigger.CompletedExecutionInstruction instruction) {}
+
+    public synchronized int getPendingCount() {
+        return queue.size();
+    }
+
+    public long getCollectedCount() {
+        return collected.get();
+    }
+
+    /*
+     * Queues the entry unless the reminder already has a later offset queued; an earlier offset that is queued
+     * is dropped instead.
+     */
+    synchronized void enqueue(DrainEntry entry) {
+        DrainEntry queued = queuedByReminder.get(entry.reminderId());
+
+        if (queued != null && queued.fireTime() >= entry.fireTime()) {
+            supersede(entry);
+            return;
+        }
+
+        if (queued != null) {
+            queue.remove(queued);
+            supersede(queued);
+        }
+
+        if (queue.isEmpty()) {
+            collectUntil = System.nanoTime() + collectWindowNanos;
+        }
+
+        queuedByReminder.put(entry.reminderId(), entry);
+        queue.add(entry);
+
+        notifyAll();
+    }
+
+    private synchronized DrainEntry take() throws InterruptedException {
+        while (queue.isEmpty() || System.nanoTime() < collectUntil) {
+            if (queue.isEmpty()) {
+                wait();
+            } else {
+                wait(Math.max(1, (collectUntil - System.nanoTime()) / 1_000_000));
+            }
+        }
+
+        DrainEntry entry = queue.poll();
+        queuedByReminder.remove(entry.reminderId());
+
+        return entry;
+    }
+
+    private void drain() {
+        long nextSendAt = System.nanoTime();
+
+        while (running) {
+            DrainEntry entry;
+            try {
+                entry = take();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            LockSupport.parkNanos(nextSendAt - System.nanoTime());
+            nextSendAt = Math.max(nextSendAt, System.nanoTime()) + intervalNanos;
+
+            try {
+                if (entry.userId() == null
+                        || !reminderCoalescer.offer(entry.userId(), entry.reminderId(), entry.offset())) {
+                    reminderDispatcher.dispatch(entry.reminderId(), entry.offset());
+                }
+
+                removeFallbackTrigger(entry);
+                drainedCounter.increment();
+            } catch (RuntimeException e) {
+                logger.error("Error at send misfired reminder {}: {}", entry.reminderId(), e.getMessage());
+            }
+
+            if (System.nanoTime() - nextFallbackCheck >= 0) {
+                postponeFallbackTriggers();
+                nextFallbackCheck = System.nanoTime() + fallbackDelay.toNanos() / 2;
+            }
+
+            reportProgress();
+        }
+    }
+
+    /*
+     * Moves the fallback of every queued entry that could fire before the next check to fallback-delay after
+     * the time the drain is now expected to reach that entry.
+     */
+    private void postponeFallbackTriggers() {
+        List<DrainEntry> pending;
+
+        synchronized (this) {
+            pending = new ArrayList<>(queue);
+        }
+
+        pending.sort(DRAIN_ORDER);
+
+        Instant now = Instant.now();
+        int postponed = 0;
+
+        for (int position = 0; position < pending.size(); position++) {
+            TriggerKey key = pending.get(position).fallbackKey();
+            Instant fallbackAt = key != null ? fallbackTimes.get(key) : null;
+            Instant sendAt = now.plusNanos(intervalNanos * (position + 1));
+
+            if (fallbackAt == null || fallbackAt.isAfter(sendAt.plus(fallbackDelay.dividedBy(2)))) {
+                continue;
+            }
+
+            if (rescheduleFallbackTrigger(key, sendAt.plus(fallbackDelay))) {
+                postponed++;
+            }
+        }
+
+        if (postponed > 0) {
+            logger.info("Misfire drain: postponed {} fallback triggers of {} pending", postponed, pending.size());
+        }
+    }
+
+    private boolean rescheduleFallbackTrigger(TriggerKey key, Instant fallbackAt) {
+        try {
+            Trigger current = scheduler.getTrigger(key);
+
+            if (current == null) {
+                fallbackTimes.remove(key);
+                return false;
+            }
+
+            Trigger moved =
+                    current.getTriggerBuilder().startAt(Date.from(fallbackAt)).build();
+
+            if (scheduler.rescheduleJob(key, moved) == null) {
+                fallbackTimes.remove(key);
+                return false;
+            }
+
+            fallbackTimes.put(key, fallbackAt);
+
+            return true;
+        } catch (SchedulerException e) {
+            logger.warn("Error at postpone fallback trigger {}: {}", key, e.getMessage());
+
+            return false;
+        }
+    }
+
+    private void reportProgress() {
+        long drained = (long) drainedCounter.count();
+        int pending = getPendingCount();
+
+        if (pending == 0 || drained % PROGRESS_LOG_INTERVAL == 0) {
+            logger.info(
+                    "Misfire drain: {} sent, {} superseded, {} pending of {} misfired triggers",
+                    drained,
+                    (long) supersededCounter.count(),
+                    pending,
+                    collected.get());
+        }
+    }
+
+    private void supersede(DrainEntry entry) {
+        removeFallbackTrigger(entry);
+        supersededCounter.increment();
+    }
+
+    private TriggerKey storeFallbackTrigger(Trigger trigger) {
+        String name = trigger.getKey().getName();
+        int suffix = name.indexOf(FALLBACK_SUFFIX);
+        String baseName = suffix >= 0 ? name.substring(0, suffix) : name;
+
+        // Sending starts after the collect window and reaches this entry after the backlog reported so far.
+        long backlog = getPendingCount() + misfired.size() + 1;
+        Instant fallbackAt = Instant.now()
+                .plusNanos(collectWindowNanos + intervalNanos * backlog)
+                .plus(fallbackDelay);
+
+        // The vetoed trigger is deleted by key after this returns, so the fallback needs a key of its own.
+        Trigger fallback = TriggerBuilder.newTrigger()
+                .withIdentity(baseName + FALLBACK_SUFFIX + System.currentTimeMillis(), REMINDER_GROUP)
+                .forJob(trigger.getJobKey())
+                .usingJobData(trigger.getJobDataMap())
+                .startAt(Date.from(fallbackAt))
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                .build();
+
+        try {
+            scheduler.scheduleJob(fallback);
+            fallbackTimes.put(fallback.getKey(), fallbackAt);
+
+            return fallback.getKey();
+        } catch (SchedulerException e) {
+            logger.warn("Error at store fallback trigger for {}: {}", name, e.getMessage());
+
+            return null;
+        }
+    }
+
+    private void removeFallbackTrigger(DrainEntry entry) {
+        if (entry.fallbackKey() == null) {
+            return;
+        }
+
+        fallbackTimes.remove(entry.fallbackKey());
+
+        try {
+            scheduler.unscheduleJob(entry.fallbackKey());
+        } catch (SchedulerException e) {
+            logger.warn("Error at remove fallback trigger {}: {}", entry.fallbackKey(), e.getMessage());
+        }
+    }
+
+    record DrainEntry(
+            long reminderId, Long userId, String offset, long dueDate, long fireTime, TriggerKey fallbackKey) {}
+}
@@ -0,0 +1,86 @@
+package br.com.springnoobs.reminderapi.schedule.engine;
+
+import br.com.springnoobs.reminderapi.schedule.entity.ReminderNotification;
+import br.com.springnoobs.reminderapi.schedule.entity.ReminderNotificationStatus;
+import br.com.springnoobs.reminderapi.schedule.partition.PartitionLeaseManager;
+import br.com.springnoobs.reminderapi.schedule.repository.ReminderNotificationRepository;
+import br.com.springnoobs.reminderapi.schedule.service.JobService;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderTrigger;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.quartz.SchedulerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/*
+ * Moves reminders scheduled with the Quartz engine to reminder_notifications when the application starts with
+ * the sweeper engine. The rows of every reminder are written before the Quartz jobs are deleted in bulk, and
+ * rows left by an interrupted run are replaced, so the migration can simply run again on the next start.
+ */
+@Component
+@ConditionalOnProperty(name = "reminder.scheduler.engine", havingValue = "sweeper")
+public class QuartzReminderJobMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuartzReminderJobMigration.class);
+
+    private final JobService jobService;
+
+    private final ReminderNotificationRepository repository;
+
+    private final boolean enabled;
+
+    private final int partitionCount;
+
+    public QuartzReminderJobMigration(
+            JobService jobService,
+            ReminderNotificationRepository repository,
+            @Value("${reminder.scheduler.migrate-quartz-jobs:true}") boolean enabled,
+            @Value("${reminder.partitions.count:64}") int partitionCount) {
+        this.jobService = jobService;
+        this.repository = repository;
+        this.enabled = enabled;
+        this.partitionCount = partitionCount;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            Map<Long, List<ReminderTrigger>> triggersByReminder = jobService.findReminderTriggers().stream()
+                    .collect(Collectors.groupingBy(ReminderTrigger::reminderId));
+
+            for (Map.Entry<Long, List<ReminderTrigger>> entry : triggersByReminder.entrySet()) {
+                repository.deleteByReminderIdAndStatus(entry.getKey(), ReminderNotificationStatus.PENDING);
+
+                // Runs after PartitionLeaseManager assigned the stored rows, so the partition is set here.
+                int partition = PartitionLeaseManager.partitionOf(entry.getKey(), partitionCount);
+
+                repository.saveAll(entry.getValue().stream()
+                        .map(trigger -> {
+                            ReminderNotification notification = new ReminderNotification(
+                                    trigger.reminderId(), trigger.userId(), trigger.offset(), trigger.fireAt());
+                            notification.setPartition(partition);
+                            return notification;
+                        })
+                        .toList());
+            }
+
+            jobService.deleteReminderSchedules(triggersByReminder.keySet());
+
+            if (!triggersByReminder.isEmpty()) {
+                logger.info("Migrated {} reminders from Quartz to the sweeper engine", triggersByReminder.size());
+            }
+        } catch (SchedulerException e) {
+            logger.error("Error at migrate Quartz reminder jobs: {}", e.getMessage());
+        }
+    }
+}
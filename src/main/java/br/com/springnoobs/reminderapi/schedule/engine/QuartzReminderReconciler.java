@@ -0,0 +1,236 @@
+package br.com.springnoobs.reminderapi.schedule.engine;
+
+import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import br.com.springnoobs.reminderapi.reminder.repository.ReminderRepository;
+import br.com.springnoobs.reminderapi.schedule.service.JobService;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffset;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffsetPlans;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.quartz.SchedulerException;
+import org.quartz.TriggerKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/*
+ * Repairs drift between the reminders table and the Quartz tables, e.g. after a restore or a failed scheduler
+ * call in a non-transactional update. The Quartz trigger keys and job names are read once; reminders that
+ * still expect triggers are then streamed in keyset pages and compared against them in memory:
+ *
+ * - a reminder missing the trigger of any offset firing after now + grace is scheduled again in bulk;
+ * - a reminder-job-* job whose reminder no longer exists is deleted in bulk.
+ *
+ * Disabling notifications used to only remove the triggers and keep the job, without storing
+ * notificationsDisabled. A reminder last scheduled by that code (no scheduledOffsetPlan) whose job has no
+ * trigger left is therefore taken as disabled: the flag is stored instead of recreating its triggers.
+ *
+ * Offsets firing within the grace period are skipped, as their trigger may just have fired and been removed.
+ * Runs in the background once the application is ready and on demand through the reconciliation endpoint.
+ */
+@Component
+@ConditionalOnProperty(name = "reminder.scheduler.engine", havingValue = "quartz", matchIfMissing = true)
+public class QuartzReminderReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuartzReminderReconciler.class);
+
+    private final JobService jobService;
+
+    private final ReminderRepository reminderRepository;
+
+    private final ReminderOffsetPlans offsetPlans;
+
+    private final boolean onStartup;
+
+    private final int pageSize;
+
+    private final Duration grace;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Counter scannedCounter;
+
+    private final Counter recreatedCounter;
+
+    private final Counter orphansDeletedCounter;
+
+    private volatile ReconciliationReport lastReport;
+
+    public QuartzReminderReconciler(
+            JobService jobService,
+            ReminderRepository reminderRepository,
+            ReminderOffsetPlans offsetPlans,
+            MeterRegistry meterRegistry,
+            @Value("${reminder.reconciliation.on-startup:true}") boolean onStartup,
+            @Value("${reminder.reconciliation.page-size:1000}") int pageSize,
+            @Value("${reminder.reconciliation.grace:PT1M}") Duration grace) {
+        this.jobService = jobService;
+        this.reminderRepository = reminderRepository;
+        this.offsetPlans = offsetPlans;
+        this.onStartup = onStartup;
+        this.pageSize = pageSize;
+        this.grace = grace;
+
+        this.scannedCounter = Counter.builder("reminder.reconciliation.scanned")
+                .description("Reminders compared against the Quartz triggers")
+                .register(meterRegistry);
+        this.recreatedCounter = Counter.builder("reminder.reconciliation.recreated")
+                .description("Reminders whose missing Quartz triggers were recreated")
+                .register(meterRegistry);
+        this.orphansDeletedCounter = Counter.builder("reminder.reconciliation.orphans-deleted")
+                .description("Quartz reminder jobs deleted because their reminder no longer exists")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (onStartup) {
+            Thread.ofVirtual().name("reminder-reconciliation").start(this::reconcile);
+        }
+    }
+
+    /*
+     * Runs one pass and returns its report, or an empty Optional when a pass is already running.
+     */
+    public Optional<ReconciliationReport> reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+
+        try {
+            ReconciliationReport report = run();
+            lastReport = report;
+
+            logger.info(
+                    "Reconciled {} reminders in {} ms ({} reminders/s): {} recreated, {} orphan jobs deleted",
+                    report.scanned(),
+                    report.duration().toMillis(),
+                    Math.round(report.remindersPerSecond()),
+                    report.recreated(),
+                    report.orphansDeleted());
+
+            return Optional.of(report);
+        } catch (SchedulerException | RuntimeException e) {
+            logger.error("Error at reconcile reminders with Quartz: {}", e.getMessage());
+
+            return Optional.empty();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public Optional<ReconciliationReport> getLastReport() {
+        return Optional.ofNullable(lastReport);
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private ReconciliationReport run() throws SchedulerException {
+        Instant startedAt = Instant.now();
+        Instant horizon = startedAt.plus(grace);
+
+        Set<TriggerKey> triggerKeys = jobService.findReminderTriggerKeys();
+        Set<Long> jobIds = jobService.findReminderJobIds();
+        Set<Long> triggeredIds = triggerKeys.stream()
+                .map(JobService::reminderIdOf)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        int scanned = 0;
+        int recreated = 0;
+        long afterId = 0;
+
+        List<Reminder> page;
+        do {
+            page = reminderRepository.findSchedulableByIdGreaterThan(startedAt, afterId, PageRequest.ofSize(pageSize));
+
+            List<Reminder> missing = new ArrayList<>();
+            List<Long> disabled = new ArrayList<>();
+
+            for (Reminder reminder : page) {
+                afterId = reminder.getId();
+                boolean hasJob = jobIds.remove(reminder.getId());
+
+                if (!isMissingTrigger(reminder, triggerKeys, horizon)) {
+                    continue;
+                }
+
+                if (reminder.getScheduledOffsetPlan() == null && hasJob && !triggeredIds.contains(reminder.getId())) {
+                    disabled.add(reminder.getId());
+                } else {
+                    missing.add(reminder);
+                }
+            }
+
+            if (!disabled.isEmpty()) {
+                reminderRepository.disableNotifications(disabled);
+
+                logger.info(
+                        "Stored notificationsDisabled for {} reminders disabled before it existed", disabled.size());
+            }
+
+            if (!missing.isEmpty()) {
+                jobService.scheduleJobs(missing);
+            }
+
+            scanned += page.size();
+            recreated += missing.size();
+            scannedCounter.increment(page.size());
+            recreatedCounter.increment(missing.size());
+        } while (page.size() == pageSize);
+
+        int orphansDeleted = deleteOrphanJobs(jobIds);
+
+        return ReconciliationReport.of(startedAt, scanned, recreated, orphansDeleted);
+    }
+
+    private boolean isMissingTrigger(Reminder reminder, Set<TriggerKey> triggerKeys, Instant horizon) {
+        for (ReminderOffset offset : offsetPlans.resolve(reminder).offsets()) {
+            if (offset.fireTime(reminder.getDueDate()).isAfter(horizon)
+                    && !triggerKeys.contains(JobService.reminderTriggerKey(reminder.getId(), offset.suffix()))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /*
+     * The remaining job ids belong to reminders that are past due, disabled or gone; only the last are deleted.
+     */
+    private int deleteOrphanJobs(Set<Long> jobIds) throws SchedulerException {
+        List<Long> candidates = new ArrayList<>(jobIds);
+        List<Long> orphans = new ArrayList<>();
+
+        for (int from = 0; from < candidates.size(); from += pageSize) {
+            List<Long> chunk = candidates.subList(from, Math.min(from + pageSize, candidates.size()));
+            Set<Long> existing = new HashSet<>(reminderRepository.findExistingIds(chunk));
+
+            chunk.stream().filter(id -> !existing.contains(id)).forEach(orphans::add);
+        }
+
+        if (!orphans.isEmpty()) {
+            jobService.deleteReminderSchedules(orphans);
+            orphansDeletedCounter.increment(orphans.size());
+        }
+
+        return orphans.size();
+    }
+}
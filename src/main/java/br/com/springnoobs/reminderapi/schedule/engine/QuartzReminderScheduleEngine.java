@@ -0,0 +1,52 @@
+package br.com.springnoobs.reminderapi.schedule.engine;
+
+import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import br.com.springnoobs.reminderapi.reminder.repository.ReminderRepository;
+import br.com.springnoobs.reminderapi.schedule.service.JobService;
+import org.quartz.SchedulerException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "reminder.scheduler.engine", havingValue = "quartz", matchIfMissing = true)
+public class QuartzReminderScheduleEngine implements ReminderScheduleEngine {
+
+    private final JobService jobService;
+
+    private final ReminderRepository reminderRepository;
+
+    public QuartzReminderScheduleEngine(JobService jobService, ReminderRepository reminderRepository) {
+        this.jobService = jobService;
+        this.reminderRepository = reminderRepository;
+    }
+
+    @Override
+    public void schedule(Reminder reminder) throws SchedulerException {
+        jobService.scheduleJob(reminder);
+    }
+
+    @Override
+    public void reschedule(Reminder reminder) throws SchedulerException {
+        reminder.setNotificationsDisabled(false);
+
+        jobService.updateReminderSchedules(reminder);
+    }
+
+    @Override
+    public void unschedule(Long reminderId) throws SchedulerException {
+        jobService.deleteReminderSchedules(reminderId);
+    }
+
+    @Override
+    public void disableNotifications(Long reminderId) throws SchedulerException {
+        // Persisted so that reconciliation does not recreate the triggers.
+        reminderRepository.updateNotificationsDisabled(reminderId, true);
+
+        jobService.unscheduleReminderJobTriggers(reminderId);
+    }
+
+    @Override
+    public boolean hasPendingNotification(Long reminderId, String offset) throws SchedulerException {
+        return jobService.hasPendingTrigger(reminderId, offset);
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.springnoobs.reminderapi.schedule.engine;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/*
+ * Outcome of one QuartzReminderReconciler pass. scanned counts the reminders that still expect triggers,
+ * recreated those of them that were missing at least one, orphansDeleted the reminder jobs without reminder.
+ */
+public record ReconciliationReport(
+        Instant startedAt,
+        Duration duration,
+        int scanned,
+        int recreated,
+        int orphansDeleted,
+        double remindersPerSecond) {
+
+    static ReconciliationReport of(Instant startedAt, int scanned, int recreated, int orphansDeleted) {
+        Duration duration = Duration.between(startedAt, Instant.now());
+        double seconds = Math.max(duration.toNanos(), 1) / 1_000_000_000.0;
+
+        return new ReconciliationReport(startedAt, duration, scanned, recreated, orphansDeleted, scanned / seconds);
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.springnoobs.reminderapi.schedule.engine;
+
+import br.com.springnoobs.reminderapi.mail.spool.MessageSpool;
+import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import br.com.springnoobs.reminderapi.reminder.repository.ReminderRepository;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffsetPlans;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.quartz.SchedulerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*
+ * Reschedules reminders that follow the default offset plan but were scheduled with another one, e.g. after
+ * reminder.offset-plan.default changed. Each run handles at most reminder.offset-plan.replan-batch-size
+ * reminders, so a changed plan spreads over many runs instead of rescheduling every reminder at once.
+ */
+@Component
+public class ReminderOffsetReplanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderOffsetReplanner.class);
+
+    private final ReminderRepository reminderRepository;
+
+    private final ReminderScheduleEngine scheduleEngine;
+
+    private final ReminderOffsetPlans offsetPlans;
+
+    private final MessageSpool messageSpool;
+
+    private final int batchSize;
+
+    /* Reminders that failed to reschedule are skipped until the cursor wraps around. */
+    private long lastReminderId;
+
+    public ReminderOffsetReplanner(
+            ReminderRepository reminderRepository,
+            ReminderScheduleEngine scheduleEngine,
+            ReminderOffsetPlans offsetPlans,
+            MessageSpool messageSpool,
+            @Value("${reminder.offset-plan.replan-batch-size:100}") int batchSize) {
+        this.reminderRepository = reminderRepository;
+        this.scheduleEngine = scheduleEngine;
+        this.offsetPlans = offsetPlans;
+        this.messageSpool = messageSpool;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${reminder.offset-plan.replan-interval:PT10S}")
+    public synchronized int replan() {
+        String plan = offsetPlans.getDefaultPlan().format();
+        // Reminders without a scheduled plan only need it when the default differs from the plan they were given.
+        boolean includeUnrecorded =
+                !plan.equals(offsetPlans.resolveScheduled(null).format());
+
+        List<Reminder> reminders = reminderRepository.findDefaultPlanRemindersScheduledWithOtherPlan(
+                plan, includeUnrecorded, Instant.now(), lastReminderId, PageRequest.ofSize(batchSize));
+
+        if (reminders.isEmpty()) {
+            lastReminderId = 0;
+            return 0;
+        }
+
+        List<Long> replanned = new ArrayList<>();
+
+        for (Reminder reminder : reminders) {
+            lastReminderId = reminder.getId();
+
+            try {
+                scheduleEngine.reschedule(reminder);
+                messageSpool.invalidate(reminder.getId());
+
+                replanned.add(reminder.getId());
+            } catch (SchedulerException | RuntimeException e) {
+                logger.warn("Error at replan reminder {}: {}", reminder.getId(), e.getMessage());
+            }
+        }
+
+        if (!replanned.isEmpty()) {
+            reminderRepository.updateScheduledOffsetPlan(replanned, plan);
+
+            logger.info("Rescheduled {} reminders with offset plan {}", replanned.size(), plan);
+        }
+
+        return replanned.size();
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.springnoobs.reminderapi.schedule.engine;
+
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/*
+ * GET /actuator/reconciliation returns the last report, POST runs a pass and returns its report.
+ */
+@Component
+@Endpoint(id = "reconciliation")
+@ConditionalOnProperty(name = "reminder.scheduler.engine", havingValue = "quartz", matchIfMissing = true)
+public class ReminderReconciliationEndpoint {
+
+    private final QuartzReminderReconciler reconciler;
+
+    public ReminderReconciliationEndpoint(QuartzReminderReconciler reconciler) {
+        this.reconciler = reconciler;
+    }
+
+    @ReadOperation
+    public Map<String, Object> lastReport() {
+        return reconciler
+                .getLastReport()
+                .<Map<String, Object>>map(report -> Map.of("running", reconciler.isRunning(), "lastReport", report))
+                .orElseGet(() -> Map.of("running", reconciler.isRunning()));
+    }
+
+    @WriteOperation
+    public Map<String, Object> reconcile() {
+        return reconciler
+                .reconcile()
+                .<Map<String, Object>>map(report -> Map.of("report", report))
+                .orElseGet(() -> Map.of("running", reconciler.isRunning()));
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.springnoobs.reminderapi.schedule.engine;
+
+import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import org.quartz.SchedulerException;
+
+/*
+ * Decides when the notifications of a reminder fire. The engine is picked with reminder.scheduler.engine:
+ * quartz (default) keeps one Quartz job per reminder, sweeper materializes the fire times in
+ * reminder_notifications and fires them from a single sweeper, optionally split into partitions leased to
+ * the nodes of a cluster (reminder.partitions.enabled), and wheel keeps the fire times of the next window in an
+ * in-memory timing wheel loaded from the reminders table (single node only).
+ */
+public interface ReminderScheduleEngine {
+
+    void schedule(Reminder reminder) throws SchedulerException;
+
+    void reschedule(Reminder reminder) throws SchedulerException;
+
+    void unschedule(Long reminderId) throws SchedulerException;
+
+    /*
+     * Stops the notifications that have not fired yet but keeps the reminder scheduled, so a later
+     * reschedule brings them back.
+     */
+    void disableNotifications(Long reminderId) throws SchedulerException;
+
+    boolean hasPendingNotification(Long reminderId, String offset) throws SchedulerException;
+}
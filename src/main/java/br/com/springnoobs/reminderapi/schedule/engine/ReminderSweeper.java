@@ -0,0 +1,174 @@
+package br.com.springnoobs.reminderapi.schedule.engine;
+
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderCoalescer;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderDispatcher;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderFiringBatcher;
+import br.com.springnoobs.reminderapi.schedule.entity.ReminderNotification;
+import br.com.springnoobs.reminderapi.schedule.entity.ReminderNotificationStatus;
+import br.com.springnoobs.reminderapi.schedule.partition.PartitionLeaseManager;
+import br.com.springnoobs.reminderapi.schedule.repository.ReminderNotificationRepository;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*
+ * Fires the notifications of the sweeper engine. Every reminder.sweeper.interval it claims, page by page,
+ * everything due within reminder.sweeper.lookahead. Due rows are dispatched right away, the others are handed
+ * to the TaskScheduler for their fire time. Claims are leases, so several nodes can sweep the same table and
+ * rows held by a node that died are swept again once the lease expires. A row is marked FIRED before it is
+ * dispatched and only if the claim still holds, so a reminder deleted in the meantime does not fire. With
+ * reminder.partitions.enabled the sweep only looks at the partitions PartitionLeaseManager leased to this node.
+ */
+@Component
+@ConditionalOnProperty(name = "reminder.scheduler.engine", havingValue = "sweeper")
+public class ReminderSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderSweeper.class);
+
+    /*
+     * Keeps the claim token (node id, "/", UUID) within the 128 chars of claimedBy whatever the host name is.
+     */
+    private static final int MAX_NODE_ID_LENGTH = 64;
+
+    private final ReminderNotificationRepository repository;
+
+    private final ReminderCoalescer reminderCoalescer;
+
+    private final ReminderFiringBatcher reminderFiringBatcher;
+
+    private final ReminderDispatcher reminderDispatcher;
+
+    private final TaskScheduler taskScheduler;
+
+    private final PartitionLeaseManager partitionLeaseManager;
+
+    private final Duration lookahead;
+
+    private final int pageSize;
+
+    private final Duration lease;
+
+    private final String nodeId;
+
+    public ReminderSweeper(
+            ReminderNotificationRepository repository,
+            ReminderCoalescer reminderCoalescer,
+            ReminderFiringBatcher reminderFiringBatcher,
+            ReminderDispatcher reminderDispatcher,
+            TaskScheduler taskScheduler,
+            PartitionLeaseManager partitionLeaseManager,
+            @Value("${reminder.sweeper.lookahead:PT30S}") Duration lookahead,
+            @Value("${reminder.sweeper.page-size:500}") int pageSize,
+            @Value("${reminder.sweeper.lease:PT2M}") Duration lease) {
+        this.repository = repository;
+        this.reminderCoalescer = reminderCoalescer;
+        this.reminderFiringBatcher = reminderFiringBatcher;
+        this.reminderDispatcher = reminderDispatcher;
+        this.taskScheduler = taskScheduler;
+        this.partitionLeaseManager = partitionLeaseManager;
+        this.lookahead = lookahead;
+        this.pageSize = pageSize;
+        this.lease = lease.compareTo(lookahead) > 0 ? lease : lookahead.multipliedBy(2);
+        String runtimeName = ManagementFactory.getRuntimeMXBean().getName();
+        this.nodeId = runtimeName.substring(0, Math.min(runtimeName.length(), MAX_NODE_ID_LENGTH));
+    }
+
+    /*
+     * Returns the number of notifications claimed by this sweep.
+     */
+    @Scheduled(fixedDelayString = "${reminder.sweeper.interval:PT5S}")
+    public int sweep() {
+        Instant now = Instant.now();
+        Instant horizon = now.plus(lookahead);
+
+        Set<Integer> partitions = partitionLeaseManager.isEnabled() ? partitionLeaseManager.getOwnedPartitions() : null;
+        if (partitions != null && partitions.isEmpty()) {
+            return 0;
+        }
+
+        int claimed = 0;
+        List<Long> candidates;
+
+        do {
+            candidates = findClaimableIds(partitions, horizon, now, PageRequest.of(0, pageSize));
+
+            if (candidates.isEmpty()) {
+                break;
+            }
+
+            String claim = nodeId + "/" + UUID.randomUUID();
+
+            if (repository.claim(candidates, claim, now.plus(lease), now) == 0) {
+                continue;
+            }
+
+            for (ReminderNotification notification : repository.findByClaimedBy(claim)) {
+                schedule(notification, claim, now);
+                claimed++;
+            }
+        } while (candidates.size() == pageSize);
+
+        if (claimed > 0) {
+            logger.debug("Swept {} reminder notifications due before {}", claimed, horizon);
+        }
+
+        return claimed;
+    }
+
+    private List<Long> findClaimableIds(Set<Integer> partitions, Instant horizon, Instant now, Pageable pageable) {
+        if (partitions == null) {
+            return repository.findClaimableIds(ReminderNotificationStatus.PENDING, horizon, now, pageable);
+        }
+
+        return repository.findClaimableIdsInPartitions(
+                partitions, ReminderNotificationStatus.PENDING, horizon, now, pageable);
+    }
+
+    private void schedule(ReminderNotification notification, String claim, Instant now) {
+        if (!notification.getFireAt().isAfter(now)) {
+            fire(notification, claim);
+            return;
+        }
+
+        taskScheduler.schedule(() -> fire(notification, claim), notification.getFireAt());
+    }
+
+    private void fire(ReminderNotification notification, String claim) {
+        try {
+            if (repository.updateClaimedStatus(notification.getId(), claim, ReminderNotificationStatus.FIRED) == 0) {
+                return;
+            }
+
+            Long userId = notification.getUserId();
+
+            if (userId != null
+                    && reminderCoalescer.offer(userId, notification.getReminderId(), notification.getOffset())) {
+                return;
+            }
+
+            if (reminderFiringBatcher.offer(notification.getReminderId(), notification.getOffset())) {
+                return;
+            }
+
+            reminderDispatcher.dispatch(notification.getReminderId(), notification.getOffset());
+        } catch (RuntimeException e) {
+            logger.error(
+                    "Error at fire notification {} of reminder {}: {}",
+                    notification.getOffset(),
+                    notification.getReminderId(),
+                    e.getMessage());
+        }
+    }
+}
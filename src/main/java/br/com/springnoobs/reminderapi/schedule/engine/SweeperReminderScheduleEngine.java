@@ -0,0 +1,95 @@
+package br.com.springnoobs.reminderapi.schedule.engine;
+
+import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import br.com.springnoobs.reminderapi.reminder.repository.ReminderRepository;
+import br.com.springnoobs.reminderapi.schedule.entity.ReminderNotification;
+import br.com.springnoobs.reminderapi.schedule.entity.ReminderNotificationStatus;
+import br.com.springnoobs.reminderapi.schedule.partition.PartitionLeaseManager;
+import br.com.springnoobs.reminderapi.schedule.repository.ReminderNotificationRepository;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffset;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffsetPlans;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/*
+ * Stores one reminder_notifications row per offset instead of Quartz jobs and triggers; ReminderSweeper fires
+ * them. Scheduling a reminder is a plain insert, with no Quartz lock involved.
+ */
+@Component
+@ConditionalOnProperty(name = "reminder.scheduler.engine", havingValue = "sweeper")
+public class SweeperReminderScheduleEngine implements ReminderScheduleEngine {
+
+    private final ReminderNotificationRepository repository;
+
+    private final ReminderRepository reminderRepository;
+
+    private final ReminderOffsetPlans offsetPlans;
+
+    private final int partitionCount;
+
+    public SweeperReminderScheduleEngine(
+            ReminderNotificationRepository repository,
+            ReminderRepository reminderRepository,
+            ReminderOffsetPlans offsetPlans,
+            @Value("${reminder.partitions.count:64}") int partitionCount) {
+        this.repository = repository;
+        this.reminderRepository = reminderRepository;
+        this.offsetPlans = offsetPlans;
+        this.partitionCount = partitionCount;
+    }
+
+    @Override
+    public void schedule(Reminder reminder) {
+        Instant now = Instant.now();
+        Long userId = reminder.getUser() != null ? reminder.getUser().getId() : null;
+
+        int partition = PartitionLeaseManager.partitionOf(reminder.getId(), partitionCount);
+        List<ReminderNotification> notifications = new ArrayList<>();
+
+        for (ReminderOffset offset : offsetPlans.resolve(reminder).offsets()) {
+            Instant fireAt = offset.fireTime(reminder.getDueDate());
+
+            if (!fireAt.isBefore(now)) {
+                ReminderNotification notification =
+                        new ReminderNotification(reminder.getId(), userId, offset.suffix(), fireAt);
+                notification.setPartition(partition);
+                notifications.add(notification);
+            }
+        }
+
+        repository.saveAll(notifications);
+    }
+
+    @Override
+    @Transactional
+    public void reschedule(Reminder reminder) {
+        reminder.setNotificationsDisabled(false);
+
+        unschedule(reminder.getId());
+
+        schedule(reminder);
+    }
+
+    @Override
+    public void unschedule(Long reminderId) {
+        repository.deleteByReminderIdAndStatus(reminderId, ReminderNotificationStatus.PENDING);
+    }
+
+    @Override
+    public void disableNotifications(Long reminderId) {
+        // Persisted so that the reminder reports its offsets as disabled rather than lost.
+        reminderRepository.updateNotificationsDisabled(reminderId, true);
+
+        unschedule(reminderId);
+    }
+
+    @Override
+    public boolean hasPendingNotification(Long reminderId, String offset) {
+        return repository.existsByReminderIdAndOffsetAndStatus(reminderId, offset, ReminderNotificationStatus.PENDING);
+    }
+}
@@ -0,0 +1,320 @@
+package br.com.springnoobs.reminderapi.schedule.engine;
+
+import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import br.com.springnoobs.reminderapi.reminder.repository.ReminderRepository;
+import br.com.springnoobs.reminderapi.reminder.repository.ReminderScheduleView;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderCoalescer;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderDispatcher;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderFiringBatcher;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffset;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffsetPlans;
+import br.com.springnoobs.reminderapi.schedule.wheel.TimingWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+ * Keeps the fire times of the next reminder.wheel.window in an in-memory timing wheel driven by one thread.
+ * Further horizons are streamed from the reminders table as the window moves, so nothing but the reminders
+ * table is persisted and the wheel is rebuilt on startup, including fires missed within
+ * reminder.wheel.recovery-lookback.
+ *
+ * Entries are never removed: an update, delete or disable leaves the old entry in the wheel, and every batch
+ * of expired entries is checked against the reminders table before it is dispatched. An entry fires only if
+ * the reminder still exists, its notifications are enabled, the offset still maps to the entry's deadline and
+ * the reminder was not executed since. Every node running this engine fires every reminder; use it on a single
+ * node.
+ */
+@Component
+@ConditionalOnProperty(name = "reminder.scheduler.engine", havingValue = "wheel")
+public class WheelReminderScheduleEngine implements ReminderScheduleEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(WheelReminderScheduleEngine.class);
+
+    /* Entry values hold reminderId * OFFSET_SLOTS + the offset's index in the reminder's plan. */
+    private static final int OFFSET_SLOTS = 16;
+
+    private final ReminderRepository repository;
+
+    private final ReminderCoalescer reminderCoalescer;
+
+    private final ReminderFiringBatcher reminderFiringBatcher;
+
+    private final ReminderDispatcher reminderDispatcher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReminderOffsetPlans offsetPlans;
+
+    private final long tickMillis;
+
+    private final long windowMillis;
+
+    private final long recoveryLookbackMillis;
+
+    private final TimingWheel wheel;
+
+    private final AtomicBoolean loading = new AtomicBoolean();
+
+    private volatile boolean running;
+
+    private Thread ticker;
+
+    /* Fire times before loadedUntil are in the wheel; loadingUntil is ahead of it while a slice is loading. */
+    private long loadedUntil;
+
+    private long loadingUntil;
+
+    public WheelReminderScheduleEngine(
+            ReminderRepository repository,
+            ReminderCoalescer reminderCoalescer,
+            ReminderFiringBatcher reminderFiringBatcher,
+            ReminderDispatcher reminderDispatcher,
+            TransactionTemplate transactionTemplate,
+            ReminderOffsetPlans offsetPlans,
+            @Value("${reminder.wheel.tick:10ms}") Duration tick,
+            @Value("${reminder.wheel.size:512}") int wheelSize,
+            @Value("${reminder.wheel.window:PT10M}") Duration window,
+            @Value("${reminder.wheel.recovery-lookback:PT1H}") Duration recoveryLookback) {
+        this.repository = repository;
+        this.reminderCoalescer = reminderCoalescer;
+        this.reminderFiringBatcher = reminderFiringBatcher;
+        this.reminderDispatcher = reminderDispatcher;
+        this.transactionTemplate = transactionTemplate;
+        this.offsetPlans = offsetPlans;
+        this.tickMillis = Math.max(1, tick.toMillis());
+        this.windowMillis = window.toMillis();
+        this.recoveryLookbackMillis = recoveryLookback.toMillis();
+
+        long now = System.currentTimeMillis();
+        this.wheel = new TimingWheel(tickMillis, wheelSize, windowMillis * 2, now);
+        this.loadedUntil = now - recoveryLookbackMillis;
+        this.loadingUntil = loadedUntil;
+    }
+
+    @PostConstruct
+    public void start() {
+        loadSlice(System.currentTimeMillis() + windowMillis);
+
+        running = true;
+        ticker = Thread.ofPlatform().name("reminder-wheel").daemon(true).start(this::tickLoop);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+
+        if (ticker != null) {
+            ticker.interrupt();
+            ticker.join(Duration.ofSeconds(5));
+        }
+    }
+
+    @Override
+    public void schedule(Reminder reminder) {
+        long now = System.currentTimeMillis();
+        List<ReminderOffset> offsets = offsetPlans.resolve(reminder).offsets();
+
+        synchronized (wheel) {
+            for (int i = 0; i < offsets.size(); i++) {
+                long fireAt = offsets.get(i).fireTime(reminder.getDueDate()).toEpochMilli();
+
+                // Later fire times are picked up by the slice that covers them.
+                if (fireAt >= now && fireAt < loadingUntil) {
+                    wheel.add(fireAt, reminder.getId() * OFFSET_SLOTS + i);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void reschedule(Reminder reminder) {
+        reminder.setNotificationsDisabled(false);
+
+        schedule(reminder);
+    }
+
+    @Override
+    public void unschedule(Long reminderId) {
+        // Entries of a deleted reminder fail the check at fire time.
+    }
+
+    @Override
+    public void disableNotifications(Long reminderId) {
+        repository.updateNotificationsDisabled(reminderId, true);
+    }
+
+    @Override
+    public boolean hasPendingNotification(Long reminderId, String offset) {
+        Instant now = Instant.now();
+
+        return repository.findSchedulesByIdIn(List.of(reminderId)).stream().anyMatch(view -> offsetPlans
+                .resolve(view.offsetPlan())
+                .find(offset)
+                .map(candidate -> candidate.fireTime(view.dueDate()))
+                .filter(fireAt -> fireAt.isAfter(now) && !isExecutedSince(view, fireAt.toEpochMilli()))
+                .isPresent());
+    }
+
+    public int getScheduledCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    private void tickLoop() {
+        while (running) {
+            long now = System.currentTimeMillis();
+            List<Expired> expired = new ArrayList<>();
+
+            synchronized (wheel) {
+                wheel.advance(now, (deadline, value) -> expired.add(new Expired(deadline, value)));
+            }
+
+            if (!expired.isEmpty()) {
+                Thread.ofVirtual().name("reminder-wheel-fire").start(() -> fire(expired));
+            }
+
+            if (now + windowMillis / 2 >= loadedUntil && loading.compareAndSet(false, true)) {
+                Thread.ofVirtual().name("reminder-wheel-load").start(() -> {
+                    try {
+                        loadSlice(System.currentTimeMillis() + windowMillis);
+                    } finally {
+                        loading.set(false);
+                    }
+                });
+            }
+
+            LockSupport.parkNanos(tickMillis * 1_000_000);
+        }
+    }
+
+    /*
+     * Streams the fire times in [loadedUntil, until) from the reminders table into the wheel. Fire times that
+     * are already past go to the wheel as well and fire on the next tick, unless the reminder was executed.
+     */
+    private void loadSlice(long until) {
+        long from;
+
+        synchronized (wheel) {
+            from = loadedUntil;
+            loadingUntil = until;
+        }
+
+        if (until <= from) {
+            return;
+        }
+
+        List<Expired> entries = new ArrayList<>();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (ReminderOffset offset : offsetPlans.findOffsetsInUse(Instant.ofEpochMilli(from))) {
+                    long offsetMillis = offset.duration().toMillis();
+
+                    try (Stream<ReminderScheduleView> views = repository.streamSchedulesByDueDateBetween(
+                            Instant.ofEpochMilli(from + offsetMillis), Instant.ofEpochMilli(until + offsetMillis))) {
+                        views.forEach(view -> {
+                            long fireAt = view.dueDate().toEpochMilli() - offsetMillis;
+                            int offsetIndex =
+                                    offsetPlans.resolve(view.offsetPlan()).indexOf(offset.duration());
+
+                            if (offsetIndex >= 0 && !isExecutedSince(view, fireAt)) {
+                                entries.add(new Expired(fireAt, view.id() * OFFSET_SLOTS + offsetIndex));
+                            }
+                        });
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.error(
+                    "Error at load reminder fire times before {}: {}", Instant.ofEpochMilli(until), e.getMessage());
+
+            synchronized (wheel) {
+                loadingUntil = loadedUntil;
+            }
+            return;
+        }
+
+        synchronized (wheel) {
+            entries.forEach(entry -> wheel.add(entry.deadline(), entry.value()));
+            loadedUntil = until;
+        }
+
+        logger.debug("Loaded {} reminder fire times before {}", entries.size(), Instant.ofEpochMilli(until));
+    }
+
+    /*
+     * Checks the expired entries against the reminders table in one query and dispatches the ones still valid.
+     * The same reminder and deadline can be in the wheel twice, e.g. scheduled while its slice was loading, so
+     * entries are deduplicated first.
+     */
+    private void fire(List<Expired> expired) {
+        try {
+            Set<Expired> unique = new LinkedHashSet<>(expired);
+
+            Map<Long, ReminderScheduleView> views = repository
+                    .findSchedulesByIdIn(unique.stream()
+                            .map(entry -> entry.value() / OFFSET_SLOTS)
+                            .collect(Collectors.toSet()))
+                    .stream()
+                    .collect(Collectors.toMap(ReminderScheduleView::id, Function.identity()));
+
+            for (Expired entry : unique) {
+                long reminderId = entry.value() / OFFSET_SLOTS;
+                int offsetIndex = (int) (entry.value() % OFFSET_SLOTS);
+                ReminderScheduleView view = views.get(reminderId);
+
+                if (view == null) {
+                    continue;
+                }
+
+                // A changed plan moves offsets to other indexes; the deadline check below drops the stale ones.
+                List<ReminderOffset> offsets =
+                        offsetPlans.resolve(view.offsetPlan()).offsets();
+                ReminderOffset offset = offsetIndex < offsets.size() ? offsets.get(offsetIndex) : null;
+
+                if (offset == null
+                        || offset.fireTime(view.dueDate()).toEpochMilli() != entry.deadline()
+                        || isExecutedSince(view, entry.deadline())) {
+                    continue;
+                }
+
+                if (view.userId() != null && reminderCoalescer.offer(view.userId(), reminderId, offset.suffix())) {
+                    continue;
+                }
+
+                if (reminderFiringBatcher.offer(reminderId, offset.suffix())) {
+                    continue;
+                }
+
+                reminderDispatcher.dispatch(reminderId, offset.suffix());
+            }
+        } catch (RuntimeException e) {
+            logger.error("Error at fire {} reminder notifications: {}", expired.size(), e.getMessage());
+        }
+    }
+
+    private static boolean isExecutedSince(ReminderScheduleView view, long fireAt) {
+        return view.executedAt() != null && view.executedAt().toEpochMilli() >= fireAt;
+    }
+
+    private record Expired(long deadline, long value) {}
+}
@@ -0,0 +1,83 @@
+package br.com.springnoobs.reminderapi.schedule.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.Instant;
+
+@Entity
+@Table(
+        name = "notification_deliveries",
+        uniqueConstraints =
+                @UniqueConstraint(
+                        name = "uk_notification_deliveries_reminder_offset",
+                        columnNames = {"reminderId", "reminder_offset"}))
+public class NotificationDelivery {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long reminderId;
+
+    @Column(name = "reminder_offset", length = 32, nullable = false)
+    private String offset;
+
+    private Instant dueDate;
+
+    private Instant claimedAt;
+
+    public NotificationDelivery() {}
+
+    public NotificationDelivery(Long reminderId, String offset, Instant dueDate, Instant claimedAt) {
+        this.reminderId = reminderId;
+        this.offset = offset;
+        this.dueDate = dueDate;
+        this.claimedAt = claimedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getReminderId() {
+        return reminderId;
+    }
+
+    public void setReminderId(Long reminderId) {
+        this.reminderId = reminderId;
+    }
+
+    public String getOffset() {
+        return offset;
+    }
+
+    public void setOffset(String offset) {
+        this.offset = offset;
+    }
+
+    public Instant getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(Instant dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public Instant getClaimedAt() {
+        return claimedAt;
+    }
+
+    public void setClaimedAt(Instant claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+}
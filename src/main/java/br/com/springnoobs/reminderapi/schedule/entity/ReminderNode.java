@@ -0,0 +1,41 @@
+package br.com.springnoobs.reminderapi.schedule.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+
+@Entity
+@Table(name = "reminder_nodes")
+public class ReminderNode {
+
+    @Id
+    @Column(length = 128)
+    private String nodeId;
+
+    private Instant heartbeatAt;
+
+    public ReminderNode() {}
+
+    public ReminderNode(String nodeId, Instant heartbeatAt) {
+        this.nodeId = nodeId;
+        this.heartbeatAt = heartbeatAt;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public Instant getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(Instant heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.springnoobs.reminderapi.schedule.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.Instant;
+
+@Entity
+@Table(
+        name = "reminder_notifications",
+        indexes = {
+            @Index(name = "idx_reminder_notifications_due", columnList = "status, fireAt"),
+            @Index(name = "idx_reminder_notifications_reminder", columnList = "reminderId"),
+            @Index(name = "idx_reminder_notifications_partition", columnList = "partition_no, status, fireAt")
+        })
+public class ReminderNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long reminderId;
+
+    private Long userId;
+
+    @Column(name = "partition_no")
+    private Integer partition;
+
+    @Column(name = "reminder_offset", length = 32)
+    private String offset;
+
+    private Instant fireAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private ReminderNotificationStatus status = ReminderNotificationStatus.PENDING;
+
+    @Column(length = 128)
+    private String claimedBy;
+
+    private Instant leaseUntil;
+
+    public ReminderNotification() {}
+
+    public ReminderNotification(Long reminderId, Long userId, String offset, Instant fireAt) {
+        this.reminderId = reminderId;
+        this.userId = userId;
+        this.offset = offset;
+        this.fireAt = fireAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getReminderId() {
+        return reminderId;
+    }
+
+    public void setReminderId(Long reminderId) {
+        this.reminderId = reminderId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Integer getPartition() {
+        return partition;
+    }
+
+    public void setPartition(Integer partition) {
+        this.partition = partition;
+    }
+
+    public String getOffset() {
+        return offset;
+    }
+
+    public void setOffset(String offset) {
+        this.offset = offset;
+    }
+
+    public Instant getFireAt() {
+        return fireAt;
+    }
+
+    public void setFireAt(Instant fireAt) {
+        this.fireAt = fireAt;
+    }
+
+    public ReminderNotificationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReminderNotificationStatus status) {
+        this.status = status;
+    }
+
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+
+    public Instant getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(Instant leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+}
@@ -0,0 +1,6 @@
+package br.com.springnoobs.reminderapi.schedule.entity;
+
+public enum ReminderNotificationStatus {
+    PENDING,
+    FIRED
+}
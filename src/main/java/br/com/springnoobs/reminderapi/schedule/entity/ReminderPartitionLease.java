@@ -0,0 +1,51 @@
+package br.com.springnoobs.reminderapi.schedule.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+
+@Entity
+@Table(name = "reminder_partition_leases")
+public class ReminderPartitionLease {
+
+    @Id
+    @Column(name = "partition_no")
+    private Integer partition;
+
+    @Column(length = 128)
+    private String owner;
+
+    private Instant leaseUntil;
+
+    public ReminderPartitionLease() {}
+
+    public ReminderPartitionLease(Integer partition) {
+        this.partition = partition;
+    }
+
+    public Integer getPartition() {
+        return partition;
+    }
+
+    public void setPartition(Integer partition) {
+        this.partition = partition;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public Instant getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(Instant leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+}
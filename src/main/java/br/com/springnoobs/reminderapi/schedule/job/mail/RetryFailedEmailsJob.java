@@ -1,10 +1,7 @@
 package br.com.springnoobs.reminderapi.schedule.job.mail;
 
-import br.com.springnoobs.reminderapi.mail.entity.EmailSendFailure;
-import br.com.springnoobs.reminderapi.mail.exception.EmailSendException;
-import br.com.springnoobs.reminderapi.mail.repository.EmailSendFailureRepository;
-import br.com.springnoobs.reminderapi.mail.service.EmailService;
-import java.util.List;
+import br.com.springnoobs.reminderapi.mail.breaker.MailCircuitBreaker;
+import br.com.springnoobs.reminderapi.mail.retry.EmailRetryDrainer;
 import org.quartz.Job;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobExecutionException;
@@ -17,42 +14,29 @@ public class RetryFailedEmailsJob implements Job {
 
     private static final Logger logger = LoggerFactory.getLogger(RetryFailedEmailsJob.class);
 
-    private final EmailSendFailureRepository repository;
-    private final EmailService emailService;
+    private final EmailRetryDrainer drainer;
+    private final MailCircuitBreaker circuitBreaker;
 
-    public RetryFailedEmailsJob(EmailSendFailureRepository repository, EmailService emailService) {
-        this.repository = repository;
-        this.emailService = emailService;
+    public RetryFailedEmailsJob(EmailRetryDrainer drainer, MailCircuitBreaker circuitBreaker) {
+        this.drainer = drainer;
+        this.circuitBreaker = circuitBreaker;
     }
 
+    /*
+     * Drains batch after batch until no due row is left, so a backlog is not capped at one mail.retry.batch-size
+     * per run. Stops as soon as the circuit breaker opens.
+     */
     @Override
     public void execute(JobExecutionContext jobExecutionContext) throws JobExecutionException {
-        List<EmailSendFailure> failureList = repository.findTop20ByOrderByFailedAtAsc();
+        int claimed;
 
-        if (failureList.isEmpty()) {
-            return;
-        }
+        do {
+            if (!circuitBreaker.isCallPermitted()) {
+                logger.info("Mail circuit breaker is {}, skipping email retry", circuitBreaker.getState());
+                return;
+            }
 
-        for (EmailSendFailure failure : failureList) {
-            retryFailedEmailsSent(failure);
-        }
-    }
-
-    private void retryFailedEmailsSent(EmailSendFailure failure) {
-        try {
-            emailService.retryEmailSendFailure(failure);
-
-            repository.delete(failure);
-
-            logger.info("Email resend successful to {}", failure.getEmail());
-
-        } catch (EmailSendException e) {
-
-            logger.error("Failed to resend email ID {}: {}", failure.getId(), e.getMessage());
-
-            failure.setRetryCount(failure.getRetryCount() + 1);
-            failure.setErrorMessage(e.getMessage());
-            repository.save(failure);
-        }
+            claimed = drainer.drain();
+        } while (claimed > 0);
     }
 }
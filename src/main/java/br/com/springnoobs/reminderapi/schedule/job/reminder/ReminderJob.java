@@ -1,42 +1,49 @@
 package br.com.springnoobs.reminderapi.schedule.job.reminder;
 
-import br.com.springnoobs.reminderapi.mail.service.EmailService;
-import br.com.springnoobs.reminderapi.reminder.repository.ReminderRepository;
-import br.com.springnoobs.reminderapi.reminder.service.ReminderService;
-import java.time.Instant;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderCoalescer;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderDispatcher;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderFiringBatcher;
+import br.com.springnoobs.reminderapi.schedule.service.JobService;
+import org.quartz.JobDataMap;
 import org.quartz.JobExecutionContext;
-import org.slf4j.Logger;
 import org.springframework.scheduling.quartz.QuartzJobBean;
 import org.springframework.stereotype.Component;
 
 @Component
 public class ReminderJob extends QuartzJobBean {
 
-    Logger logger = org.slf4j.LoggerFactory.getLogger(ReminderJob.class);
+    private final ReminderCoalescer reminderCoalescer;
 
-    private final ReminderRepository reminderRepository;
+    private final ReminderFiringBatcher reminderFiringBatcher;
 
-    private final ReminderService reminderService;
-
-    private final EmailService emailService;
+    private final ReminderDispatcher reminderDispatcher;
 
     public ReminderJob(
-            ReminderRepository reminderRepository, ReminderService reminderService, EmailService emailService) {
-        this.reminderRepository = reminderRepository;
-        this.reminderService = reminderService;
-        this.emailService = emailService;
+            ReminderCoalescer reminderCoalescer,
+            ReminderFiringBatcher reminderFiringBatcher,
+            ReminderDispatcher reminderDispatcher) {
+        this.reminderCoalescer = reminderCoalescer;
+        this.reminderFiringBatcher = reminderFiringBatcher;
+        this.reminderDispatcher = reminderDispatcher;
     }
 
     @Override
     protected void executeInternal(JobExecutionContext context) {
-        long reminderId = context.getMergedJobDataMap().getLong("reminder-id");
+        JobDataMap jobDataMap = context.getMergedJobDataMap();
+        long reminderId = jobDataMap.getLong("reminder-id");
+
+        String offset = JobService.offsetOf(context.getTrigger());
 
-        reminderRepository.findByIdWithAssociations(reminderId).ifPresent(reminder -> {
-            emailService.send(reminder);
+        // Jobs scheduled before user-id was stored cannot be coalesced without loading the reminder.
+        if (jobDataMap.containsKey("user-id")
+                && reminderCoalescer.offer(jobDataMap.getLong("user-id"), reminderId, offset)) {
+            return;
+        }
 
-            reminderService.registerReminderExecution(reminder);
+        if (reminderFiringBatcher.offer(reminderId, offset)) {
+            return;
+        }
 
-            logger.info("Executed reminder {} at {}", reminder.getId(), Instant.now());
-        });
+        reminderDispatcher.dispatch(reminderId, offset);
     }
 }
@@ -0,0 +1,200 @@
+package br.com.springnoobs.reminderapi.schedule.partition;
+
+import br.com.springnoobs.reminderapi.schedule.entity.ReminderNode;
+import br.com.springnoobs.reminderapi.schedule.entity.ReminderNotificationStatus;
+import br.com.springnoobs.reminderapi.schedule.entity.ReminderPartitionLease;
+import br.com.springnoobs.reminderapi.schedule.repository.ReminderNodeRepository;
+import br.com.springnoobs.reminderapi.schedule.repository.ReminderNotificationRepository;
+import br.com.springnoobs.reminderapi.schedule.repository.ReminderPartitionLeaseRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/*
+ * Splits the notifications of the sweeper engine into reminder.partitions.count partitions (reminder id modulo
+ * the count) and leases a share of them to this node, so every node sweeps only its own rows instead of all
+ * nodes racing for the same ones. Each heartbeat records the node in reminder_nodes, counts the live nodes,
+ * renews the leases it holds, releases the partitions above its fair share and acquires free or expired ones
+ * up to it. A node that dies stops renewing and its partitions are taken over once their lease expires; a node
+ * that shuts down releases them right away. Row claims still guard every notification, so a partition changing
+ * hands while a sweep is in flight never fires twice. Disabled by default (reminder.partitions.enabled).
+ */
+@Component
+@ConditionalOnProperty(name = "reminder.scheduler.engine", havingValue = "sweeper")
+public class PartitionLeaseManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionLeaseManager.class);
+
+    private final ReminderPartitionLeaseRepository leaseRepository;
+
+    private final ReminderNodeRepository nodeRepository;
+
+    private final ReminderNotificationRepository notificationRepository;
+
+    private final boolean enabled;
+
+    private final int count;
+
+    private final Duration lease;
+
+    private final String nodeId;
+
+    private volatile Set<Integer> ownedPartitions = Set.of();
+
+    private volatile Instant ownedUntil = Instant.EPOCH;
+
+    public PartitionLeaseManager(
+            ReminderPartitionLeaseRepository leaseRepository,
+            ReminderNodeRepository nodeRepository,
+            ReminderNotificationRepository notificationRepository,
+            MeterRegistry meterRegistry,
+            @Value("${reminder.partitions.enabled:false}") boolean enabled,
+            @Value("${reminder.partitions.count:64}") int count,
+            @Value("${reminder.partitions.lease:PT15S}") Duration lease,
+            @Value("${reminder.partitions.node-id:}") String nodeId) {
+        this.leaseRepository = leaseRepository;
+        this.nodeRepository = nodeRepository;
+        this.notificationRepository = notificationRepository;
+        this.enabled = enabled;
+        this.count = count;
+        this.lease = lease;
+        this.nodeId = nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+
+        Gauge.builder("reminder.partitions.owned", this, manager -> manager.getOwnedPartitions()
+                        .size())
+                .description("Reminder partitions leased to this node")
+                .register(meterRegistry);
+    }
+
+    public static int partitionOf(long reminderId, int count) {
+        return (int) Math.floorMod(reminderId, (long) count);
+    }
+
+    @PostConstruct
+    public void open() {
+        if (!enabled) {
+            return;
+        }
+
+        Set<Integer> existing = new HashSet<>(leaseRepository.findAllPartitions());
+        List<ReminderPartitionLease> missing = IntStream.range(0, count)
+                .filter(partition -> !existing.contains(partition))
+                .mapToObj(ReminderPartitionLease::new)
+                .toList();
+
+        try {
+            leaseRepository.saveAll(missing);
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Reminder partitions created concurrently by another node: {}", e.getMessage());
+        }
+
+        leaseRepository.deleteByPartitionGreaterThanEqual(count);
+
+        int assigned = notificationRepository.assignPartitions(count, ReminderNotificationStatus.PENDING);
+        if (assigned > 0) {
+            logger.info("Assigned {} pending reminder notifications to {} partitions", assigned, count);
+        }
+
+        heartbeat();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /*
+     * The partitions this node may sweep. Empty once the leases of the last heartbeat have expired, so a node
+     * that cannot reach the database stops sweeping before another one takes over.
+     */
+    public Set<Integer> getOwnedPartitions() {
+        return Instant.now().isAfter(ownedUntil) ? Set.of() : ownedPartitions;
+    }
+
+    @Scheduled(fixedDelayString = "${reminder.partitions.heartbeat-interval:PT5S}")
+    public synchronized void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        Instant leaseUntil = now.plus(lease);
+
+        nodeRepository.save(new ReminderNode(nodeId, now));
+        nodeRepository.deleteByHeartbeatAtBefore(now.minus(lease));
+
+        long liveNodes = Math.max(1, nodeRepository.count());
+        int fairShare = (int) ((count + liveNodes - 1) / liveNodes);
+
+        leaseRepository.renew(nodeId, leaseUntil, now);
+        List<Integer> owned = new ArrayList<>(leaseRepository.findOwnedPartitions(nodeId, now));
+
+        if (owned.size() > fairShare) {
+            List<Integer> excess = owned.subList(fairShare, owned.size());
+
+            leaseRepository.release(List.copyOf(excess), nodeId);
+            excess.clear();
+        } else if (owned.size() < fairShare) {
+            for (Integer partition : leaseRepository.findAcquirablePartitions(now)) {
+                if (owned.size() >= fairShare) {
+                    break;
+                }
+
+                if (leaseRepository.acquire(partition, nodeId, leaseUntil, now) > 0) {
+                    owned.add(partition);
+                }
+            }
+        }
+
+        Set<Integer> partitions = Set.copyOf(owned);
+        if (!partitions.equals(ownedPartitions)) {
+            logger.info(
+                    "Node {} owns {} of {} reminder partitions ({} live nodes)",
+                    nodeId,
+                    partitions.size(),
+                    count,
+                    liveNodes);
+        }
+
+        ownedPartitions = partitions;
+        ownedUntil = leaseUntil;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            if (!ownedPartitions.isEmpty()) {
+                leaseRepository.release(ownedPartitions, nodeId);
+            }
+            nodeRepository.deleteById(nodeId);
+        } catch (RuntimeException e) {
+            logger.warn("Error at release reminder partitions of node {}: {}", nodeId, e.getMessage());
+        }
+
+        ownedPartitions = Set.of();
+        ownedUntil = Instant.EPOCH;
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.springnoobs.reminderapi.schedule.repository;
+
+import br.com.springnoobs.reminderapi.schedule.entity.NotificationDelivery;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface NotificationDeliveryRepository extends JpaRepository<NotificationDelivery, Long> {
+
+    List<NotificationDelivery> findByReminderIdOrderByClaimedAt(Long reminderId);
+
+    /*
+     * Claims a key that was delivered for an earlier due date of the reminder. Only one of several concurrent
+     * claims for the same due date updates the row.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE NotificationDelivery d SET d.dueDate = :dueDate, d.claimedAt = :claimedAt "
+            + "WHERE d.reminderId = :reminderId AND d.offset = :offset "
+            + "AND (d.dueDate IS NULL OR d.dueDate <> :dueDate)")
+    int reclaim(Long reminderId, String offset, Instant dueDate, Instant claimedAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM NotificationDelivery d WHERE d.reminderId = :reminderId")
+    int deleteByReminderId(Long reminderId);
+}
@@ -0,0 +1,16 @@
+package br.com.springnoobs.reminderapi.schedule.repository;
+
+import br.com.springnoobs.reminderapi.schedule.entity.ReminderNode;
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ReminderNodeRepository extends JpaRepository<ReminderNode, String> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ReminderNode n WHERE n.heartbeatAt < :heartbeatAt")
+    int deleteByHeartbeatAtBefore(Instant heartbeatAt);
+}
@@ -0,0 +1,64 @@
+package br.com.springnoobs.reminderapi.schedule.repository;
+
+import br.com.springnoobs.reminderapi.schedule.entity.ReminderNotification;
+import br.com.springnoobs.reminderapi.schedule.entity.ReminderNotificationStatus;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ReminderNotificationRepository extends JpaRepository<ReminderNotification, Long> {
+
+    boolean existsByReminderIdAndOffsetAndStatus(Long reminderId, String offset, ReminderNotificationStatus status);
+
+    long countByStatus(ReminderNotificationStatus status);
+
+    @Query("SELECT n.id FROM ReminderNotification n WHERE n.status = :status AND n.fireAt <= :horizon "
+            + "AND (n.leaseUntil IS NULL OR n.leaseUntil < :now) ORDER BY n.fireAt")
+    List<Long> findClaimableIds(ReminderNotificationStatus status, Instant horizon, Instant now, Pageable pageable);
+
+    @Query("SELECT n.id FROM ReminderNotification n WHERE n.partition IN :partitions AND n.status = :status "
+            + "AND n.fireAt <= :horizon AND (n.leaseUntil IS NULL OR n.leaseUntil < :now) ORDER BY n.fireAt")
+    List<Long> findClaimableIdsInPartitions(
+            Collection<Integer> partitions,
+            ReminderNotificationStatus status,
+            Instant horizon,
+            Instant now,
+            Pageable pageable);
+
+    /*
+     * Leases the given rows to the claim token. The lease condition is re-checked by the update itself, so
+     * concurrent sweepers never claim the same row.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReminderNotification n SET n.claimedBy = :claimedBy, n.leaseUntil = :leaseUntil "
+            + "WHERE n.id IN :ids AND (n.leaseUntil IS NULL OR n.leaseUntil < :now)")
+    int claim(List<Long> ids, String claimedBy, Instant leaseUntil, Instant now);
+
+    List<ReminderNotification> findByClaimedBy(String claimedBy);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReminderNotification n SET n.status = :status, n.claimedBy = NULL, n.leaseUntil = NULL "
+            + "WHERE n.id = :id AND n.claimedBy = :claimedBy")
+    int updateClaimedStatus(Long id, String claimedBy, ReminderNotificationStatus status);
+
+    /*
+     * Recomputes the partition of the rows stored before partitioning was enabled or with another partition count.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReminderNotification n SET n.partition = CAST(MOD(n.reminderId, :count) AS Integer) "
+            + "WHERE n.status = :status AND (n.partition IS NULL OR n.partition <> MOD(n.reminderId, :count))")
+    int assignPartitions(int count, ReminderNotificationStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ReminderNotification n WHERE n.reminderId = :reminderId AND n.status = :status")
+    int deleteByReminderIdAndStatus(Long reminderId, ReminderNotificationStatus status);
+}
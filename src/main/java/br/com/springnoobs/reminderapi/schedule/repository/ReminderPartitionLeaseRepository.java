@@ -0,0 +1,51 @@
+package br.com.springnoobs.reminderapi.schedule.repository;
+
+import br.com.springnoobs.reminderapi.schedule.entity.ReminderPartitionLease;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ReminderPartitionLeaseRepository extends JpaRepository<ReminderPartitionLease, Integer> {
+
+    @Query("SELECT l.partition FROM ReminderPartitionLease l ORDER BY l.partition")
+    List<Integer> findAllPartitions();
+
+    @Query("SELECT l.partition FROM ReminderPartitionLease l WHERE l.owner = :owner AND l.leaseUntil >= :now "
+            + "ORDER BY l.partition")
+    List<Integer> findOwnedPartitions(String owner, Instant now);
+
+    @Query("SELECT l.partition FROM ReminderPartitionLease l WHERE l.owner IS NULL OR l.leaseUntil < :now "
+            + "ORDER BY l.partition")
+    List<Integer> findAcquirablePartitions(Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReminderPartitionLease l SET l.leaseUntil = :leaseUntil "
+            + "WHERE l.owner = :owner AND l.leaseUntil >= :now")
+    int renew(String owner, Instant leaseUntil, Instant now);
+
+    /*
+     * Takes the partition when it is free or its lease expired. The condition is re-checked by the update
+     * itself, so two nodes never acquire the same partition.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReminderPartitionLease l SET l.owner = :owner, l.leaseUntil = :leaseUntil "
+            + "WHERE l.partition = :partition AND (l.owner IS NULL OR l.leaseUntil < :now)")
+    int acquire(Integer partition, String owner, Instant leaseUntil, Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ReminderPartitionLease l SET l.owner = NULL, l.leaseUntil = NULL "
+            + "WHERE l.partition IN :partitions AND l.owner = :owner")
+    int release(Collection<Integer> partitions, String owner);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ReminderPartitionLease l WHERE l.partition >= :count")
+    int deleteByPartitionGreaterThanEqual(int count);
+}
@@ -6,11 +6,22 @@ import br.com.springnoobs.reminderapi.schedule.job.reminder.ReminderJob;
 import jakarta.annotation.PostConstruct;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.quartz.*;
+import org.quartz.impl.matchers.GroupMatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -20,6 +31,8 @@ public class JobService {
     private static final String REMINDER_JOB_NAME = "reminder-job";
     private static final String REMINDER_JOB_GROUP = "reminders";
 
+    private static final String DRAIN_TRIGGER_MARKER = "-drain-";
+
     private static final String RETRY_EMAIL_JOB_NAME = "retry-email-job";
     private static final String RETRY_EMAIL_TRIGGER_NAME = "retry-email-trigger";
     private static final String RETRY_EMAIL_GROUP = "email-retry";
@@ -27,8 +40,20 @@ public class JobService {
 
     private final Scheduler scheduler;
 
-    public JobService(Scheduler scheduler) {
+    private final ReminderOffsetPlans offsetPlans;
+
+    private final int bulkChunkSize;
+
+    @Value("${mail.retry.interval:PT1M}")
+    private Duration retryInterval = Duration.ofMinutes(1);
+
+    public JobService(
+            Scheduler scheduler,
+            ReminderOffsetPlans offsetPlans,
+            @Value("${reminder.scheduler.bulk-chunk-size:500}") int bulkChunkSize) {
         this.scheduler = scheduler;
+        this.offsetPlans = offsetPlans;
+        this.bulkChunkSize = bulkChunkSize;
     }
 
     @PostConstruct
@@ -36,23 +61,86 @@ public class JobService {
         scheduleRetryEmailJob();
     }
 
+    /*
+     * Stores the job and the triggers of every offset of the reminder's plan in a single scheduleJobs call, i.e.
+     * one job store transaction instead of one per trigger. The job keeps the plan it was scheduled with in its
+     * "offset-plan" data.
+     */
     public void scheduleJob(Reminder reminder) throws SchedulerException {
+        scheduleJobs(List.of(reminder));
+    }
+
+    /*
+     * Schedules the reminders with one scheduleJobs call, and so one job store transaction and one acquisition
+     * of the Quartz TRIGGER_ACCESS lock, per reminder.scheduler.bulk-chunk-size reminders. Chunks that were
+     * stored stay stored when a later chunk fails. Existing jobs are replaced, but triggers of offsets that are
+     * no longer in the plan are kept; use updateReminderSchedules for reminders that were scheduled before.
+     */
+    public void scheduleJobs(Collection<Reminder> reminders) throws SchedulerException {
+        for (List<Reminder> chunk : chunks(reminders)) {
+            Map<JobDetail, Set<? extends Trigger>> jobs = new LinkedHashMap<>();
 
-        JobDetail jobDetail = JobBuilder.newJob(ReminderJob.class)
+            for (Reminder reminder : chunk) {
+                ReminderOffsetPlan plan = offsetPlans.resolve(reminder);
+
+                jobs.put(buildReminderJob(reminder, plan), buildDueDateTriggers(reminder, plan));
+            }
+
+            scheduler.scheduleJobs(jobs, true);
+        }
+    }
+
+    private JobDetail buildReminderJob(Reminder reminder, ReminderOffsetPlan plan) {
+        JobBuilder jobBuilder = JobBuilder.newJob(ReminderJob.class)
                 .withIdentity(REMINDER_JOB_NAME + "-" + reminder.getId(), REMINDER_JOB_GROUP)
                 .usingJobData("reminder-id", reminder.getId())
-                .storeDurably()
-                .build();
+                .usingJobData("offset-plan", plan.format())
+                .storeDurably();
 
-        scheduler.addJob(jobDetail, true);
+        if (reminder.getUser() != null && reminder.getUser().getId() != null) {
+            jobBuilder.usingJobData("user-id", reminder.getUser().getId());
+        }
 
-        scheduleDueDateTriggers(reminder);
+        return jobBuilder.build();
     }
 
+    /*
+     * Moves only the triggers whose fire time changed: one rescheduleJob per moved offset, a scheduleJob per offset
+     * that moved into the future and an unscheduleJob per offset that moved into the past. The job is recreated
+     * only when it is missing or was scheduled with another offset plan. Fallback triggers of the misfire drain
+     * are left alone.
+     */
     public void updateReminderSchedules(Reminder reminder) throws SchedulerException {
-        deleteReminderSchedules(reminder.getId());
+        ReminderOffsetPlan plan = offsetPlans.resolve(reminder);
+        JobKey jobKey = new JobKey(REMINDER_JOB_NAME + "-" + reminder.getId(), REMINDER_JOB_GROUP);
+        JobDetail jobDetail = scheduler.getJobDetail(jobKey);
+
+        if (jobDetail == null || !plan.format().equals(jobDetail.getJobDataMap().getString("offset-plan"))) {
+            deleteReminderSchedules(reminder.getId());
+            scheduleJob(reminder);
+            return;
+        }
+
+        Map<TriggerKey, Trigger> currentTriggers = new HashMap<>();
+        for (Trigger trigger : scheduler.getTriggersOfJob(jobKey)) {
+            if (!trigger.getKey().getName().contains(DRAIN_TRIGGER_MARKER)) {
+                currentTriggers.put(trigger.getKey(), trigger);
+            }
+        }
+
+        for (Trigger trigger : buildDueDateTriggers(reminder, plan)) {
+            Trigger current = currentTriggers.remove(trigger.getKey());
+
+            if (current == null) {
+                scheduler.scheduleJob(trigger);
+            } else if (!trigger.getStartTime().equals(current.getNextFireTime())) {
+                scheduler.rescheduleJob(trigger.getKey(), trigger);
+            }
+        }
 
-        scheduleJob(reminder);
+        if (!currentTriggers.isEmpty()) {
+            scheduler.unscheduleJobs(List.copyOf(currentTriggers.keySet()));
+        }
     }
 
     public void deleteReminderSchedules(Long reminderId) throws SchedulerException {
@@ -63,26 +151,181 @@ public class JobService {
         }
     }
 
-    private void scheduleDueDateTriggers(Reminder reminder) throws SchedulerException {
-        scheduleTrigger(reminder, "10-days", reminder.getDueDate().minus(Duration.ofDays(10)));
-        scheduleTrigger(reminder, "5-days", reminder.getDueDate().minus(Duration.ofDays(5)));
-        scheduleTrigger(reminder, "2-days", reminder.getDueDate().minus(Duration.ofDays(2)));
+    /*
+     * Deletes the jobs and triggers of the reminders with one deleteJobs call per chunk. Reminders without a job
+     * are skipped.
+     */
+    public void deleteReminderSchedules(Collection<Long> reminderIds) throws SchedulerException {
+        for (List<Long> chunk : chunks(reminderIds)) {
+            scheduler.deleteJobs(chunk.stream()
+                    .map(reminderId -> new JobKey(REMINDER_JOB_NAME + "-" + reminderId, REMINDER_JOB_GROUP))
+                    .toList());
+        }
     }
 
-    private void scheduleTrigger(Reminder reminder, String suffix, Instant fireTime) throws SchedulerException {
+    /*
+     * Removes every trigger of the reminders but keeps their jobs. Triggers are listed with reads, which take no
+     * Quartz lock, and removed with one unscheduleJobs call per chunk.
+     */
+    public void unscheduleAll(Collection<Long> reminderIds) throws SchedulerException {
+        List<TriggerKey> triggerKeys = new ArrayList<>();
 
-        if (fireTime.isBefore(Instant.now())) {
-            return;
+        for (Long reminderId : reminderIds) {
+            for (Trigger trigger :
+                    scheduler.getTriggersOfJob(new JobKey(REMINDER_JOB_NAME + "-" + reminderId, REMINDER_JOB_GROUP))) {
+                triggerKeys.add(trigger.getKey());
+            }
         }
 
-        Trigger trigger = TriggerBuilder.newTrigger()
-                .withIdentity(REMINDER_TRIGGER_NAME + "-" + reminder.getId() + "-" + suffix, REMINDER_JOB_GROUP)
-                .forJob(REMINDER_JOB_NAME + "-" + reminder.getId(), REMINDER_JOB_GROUP)
-                .startAt(Date.from(fireTime))
-                .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
-                .build();
+        for (List<TriggerKey> chunk : chunks(triggerKeys)) {
+            scheduler.unscheduleJobs(chunk);
+        }
+    }
 
-        scheduler.scheduleJob(trigger);
+    public boolean hasPendingTrigger(Long reminderId, String offset) throws SchedulerException {
+        return scheduler.checkExists(reminderTriggerKey(reminderId, offset));
+    }
+
+    /*
+     * The offset a reminder trigger fires for. Triggers scheduled before the offset was stored in their data only
+     * carry it in their name, e.g. reminder-trigger-42-10-days, as do the misfire drain fallbacks created for them.
+     */
+    public static String offsetOf(Trigger trigger) {
+        String offset = trigger.getJobDataMap().getString("offset");
+
+        if (offset != null) {
+            return offset;
+        }
+
+        String name = trigger.getKey().getName();
+        String prefix = REMINDER_TRIGGER_NAME + "-";
+        int drainMarker = name.indexOf(DRAIN_TRIGGER_MARKER);
+        int separator = name.indexOf('-', prefix.length());
+
+        if (!name.startsWith(prefix) || separator < 0) {
+            return null;
+        }
+
+        return name.substring(separator + 1, drainMarker >= 0 ? drainMarker : name.length());
+    }
+
+    /*
+     * The reminder id in the name of a reminder trigger, or null when the name does not follow
+     * reminder-trigger-<id>-<offset>.
+     */
+    public static Long reminderIdOf(TriggerKey triggerKey) {
+        String name = triggerKey.getName();
+        String prefix = REMINDER_TRIGGER_NAME + "-";
+        int separator = name.indexOf('-', prefix.length());
+
+        if (!name.startsWith(prefix) || separator < 0) {
+            return null;
+        }
+
+        try {
+            return Long.parseLong(name.substring(prefix.length(), separator));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public static TriggerKey reminderTriggerKey(Long reminderId, String offset) {
+        return new TriggerKey(REMINDER_TRIGGER_NAME + "-" + reminderId + "-" + offset, REMINDER_JOB_GROUP);
+    }
+
+    /*
+     * Every reminder trigger key, read with a single query.
+     */
+    public Set<TriggerKey> findReminderTriggerKeys() throws SchedulerException {
+        return scheduler.getTriggerKeys(GroupMatcher.triggerGroupEquals(REMINDER_JOB_GROUP));
+    }
+
+    /*
+     * The reminder ids of every reminder-job-* job, read with a single query.
+     */
+    public Set<Long> findReminderJobIds() throws SchedulerException {
+        Set<Long> reminderIds = new HashSet<>();
+        String prefix = REMINDER_JOB_NAME + "-";
+
+        for (JobKey jobKey : scheduler.getJobKeys(GroupMatcher.jobGroupEquals(REMINDER_JOB_GROUP))) {
+            if (jobKey.getName().startsWith(prefix)) {
+                try {
+                    reminderIds.add(Long.parseLong(jobKey.getName().substring(prefix.length())));
+                } catch (NumberFormatException e) {
+                    logger.warn("Ignoring reminder job with unexpected name: {}", jobKey.getName());
+                }
+            }
+        }
+
+        return reminderIds;
+    }
+
+    /*
+     * Lists the triggers of every reminder job that still have a fire time ahead, e.g. to move them to another
+     * scheduling engine.
+     */
+    public List<ReminderTrigger> findReminderTriggers() throws SchedulerException {
+        List<ReminderTrigger> reminderTriggers = new ArrayList<>();
+
+        for (JobKey jobKey : scheduler.getJobKeys(GroupMatcher.jobGroupEquals(REMINDER_JOB_GROUP))) {
+            JobDetail jobDetail = scheduler.getJobDetail(jobKey);
+
+            if (jobDetail == null) {
+                continue;
+            }
+
+            JobDataMap jobDataMap = jobDetail.getJobDataMap();
+            long reminderId = jobDataMap.getLong("reminder-id");
+            Long userId = jobDataMap.containsKey("user-id") ? jobDataMap.getLong("user-id") : null;
+
+            for (Trigger trigger : scheduler.getTriggersOfJob(jobKey)) {
+                Date nextFireTime = trigger.getNextFireTime();
+
+                // Fallback triggers of the misfire drain duplicate an offset that already misfired.
+                if (nextFireTime != null && !trigger.getKey().getName().contains(DRAIN_TRIGGER_MARKER)) {
+                    reminderTriggers.add(
+                            new ReminderTrigger(reminderId, userId, offsetOf(trigger), nextFireTime.toInstant()));
+                }
+            }
+        }
+
+        return reminderTriggers;
+    }
+
+    private Set<Trigger> buildDueDateTriggers(Reminder reminder, ReminderOffsetPlan plan) {
+        Instant now = Instant.now();
+        Set<Trigger> triggers = new LinkedHashSet<>();
+
+        for (ReminderOffset offset : plan.offsets()) {
+            Instant fireTime = offset.fireTime(reminder.getDueDate());
+
+            if (fireTime.isBefore(now)) {
+                continue;
+            }
+
+            triggers.add(TriggerBuilder.newTrigger()
+                    .withIdentity(
+                            REMINDER_TRIGGER_NAME + "-" + reminder.getId() + "-" + offset.suffix(), REMINDER_JOB_GROUP)
+                    .forJob(REMINDER_JOB_NAME + "-" + reminder.getId(), REMINDER_JOB_GROUP)
+                    .usingJobData("offset", offset.suffix())
+                    .usingJobData("due-date", reminder.getDueDate().toEpochMilli())
+                    .startAt(Date.from(fireTime))
+                    .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                    .build());
+        }
+
+        return triggers;
+    }
+
+    private <T> List<List<T>> chunks(Collection<T> items) {
+        List<T> list = List.copyOf(items);
+        List<List<T>> chunks = new ArrayList<>();
+
+        for (int from = 0; from < list.size(); from += bulkChunkSize) {
+            chunks.add(list.subList(from, Math.min(from + bulkChunkSize, list.size())));
+        }
+
+        return chunks;
     }
 
     public void scheduleRetryEmailJob() throws SchedulerException {
@@ -98,9 +341,9 @@ public class JobService {
                 .withIdentity(RETRY_EMAIL_TRIGGER_NAME, RETRY_EMAIL_GROUP)
                 .forJob(jobDetail)
                 .withSchedule(SimpleScheduleBuilder.simpleSchedule()
-                        .withIntervalInMinutes(20)
+                        .withIntervalInMilliseconds(retryInterval.toMillis())
                         .repeatForever()
-                        .withMisfireHandlingInstructionFireNow())
+                        .withMisfireHandlingInstructionNextWithRemainingCount())
                 .startNow()
                 .build();
 
@@ -0,0 +1,14 @@
+package br.com.springnoobs.reminderapi.schedule.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/*
+ * How long before the due date a reminder fires. The suffix names the trigger and the spooled message.
+ */
+public record ReminderOffset(String suffix, Duration duration) {
+
+    public Instant fireTime(Instant dueDate) {
+        return dueDate.minus(duration);
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.springnoobs.reminderapi.schedule.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/*
+ * The offsets a reminder fires at, stored on the reminder in its compact form: a comma-separated list of
+ * amounts in days, hours or minutes, e.g. "30d,7d,1d,1h". Offsets are kept sorted from the earliest fire time
+ * to the latest and without duplicates, so the compact form of equal plans is equal.
+ */
+public record ReminderOffsetPlan(List<ReminderOffset> offsets) {
+
+    public static final int MAX_OFFSETS = 8;
+
+    public static final String PATTERN = "^\\d{1,4}[dhm](,\\d{1,4}[dhm]){0,7}$";
+
+    public ReminderOffsetPlan {
+        offsets = List.copyOf(offsets);
+    }
+
+    public static ReminderOffsetPlan parse(String plan) {
+        if (plan == null || !plan.matches(PATTERN)) {
+            throw new IllegalArgumentException("Invalid offset plan: " + plan);
+        }
+
+        List<ReminderOffset> offsets = new ArrayList<>();
+
+        for (String token : plan.split(",")) {
+            long amount = Long.parseLong(token.substring(0, token.length() - 1));
+
+            Duration duration =
+                    switch (token.charAt(token.length() - 1)) {
+                        case 'd' -> Duration.ofDays(amount);
+                        case 'h' -> Duration.ofHours(amount);
+                        default -> Duration.ofMinutes(amount);
+                    };
+
+            offsets.add(new ReminderOffset(suffix(duration), duration));
+        }
+
+        return new ReminderOffsetPlan(offsets.stream()
+                .distinct()
+                .sorted(Comparator.comparing(ReminderOffset::duration).reversed())
+                .toList());
+    }
+
+    public Optional<ReminderOffset> find(String suffix) {
+        return offsets.stream().filter(offset -> offset.suffix().equals(suffix)).findFirst();
+    }
+
+    public int indexOf(Duration duration) {
+        for (int i = 0; i < offsets.size(); i++) {
+            if (offsets.get(i).duration().equals(duration)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    public String format() {
+        return offsets.stream().map(offset -> compact(offset.duration())).collect(Collectors.joining(","));
+    }
+
+    /*
+     * Suffixes keep the "<n>-days" form of the original 10, 5 and 2 days triggers, so their trigger names and
+     * email template variants stay valid.
+     */
+    private static String suffix(Duration duration) {
+        if (duration.toMinutesPart() == 0 && duration.toHoursPart() == 0) {
+            return unit(duration.toDays(), "day");
+        }
+
+        if (duration.toMinutesPart() == 0) {
+            return unit(duration.toHours(), "hour");
+        }
+
+        return unit(duration.toMinutes(), "minute");
+    }
+
+    private static String unit(long amount, String unit) {
+        return amount + "-" + unit + (amount == 1 ? "" : "s");
+    }
+
+    private static String compact(Duration duration) {
+        if (duration.toMinutesPart() == 0 && duration.toHoursPart() == 0) {
+            return duration.toDays() + "d";
+        }
+
+        if (duration.toMinutesPart() == 0) {
+            return duration.toHours() + "h";
+        }
+
+        return duration.toMinutes() + "m";
+    }
+}
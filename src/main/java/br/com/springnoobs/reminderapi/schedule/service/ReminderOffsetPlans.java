@@ -0,0 +1,79 @@
+package br.com.springnoobs.reminderapi.schedule.service;
+
+import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import br.com.springnoobs.reminderapi.reminder.repository.ReminderRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * Resolves the offset plan of a reminder: its own plan when it has one, otherwise reminder.offset-plan.default.
+ * Parsed plans are cached by their compact form.
+ */
+@Component
+public class ReminderOffsetPlans {
+
+    /* The plan of every reminder scheduled before the scheduled plan was stored with it. */
+    private static final ReminderOffsetPlan UNRECORDED_PLAN = ReminderOffsetPlan.parse("10d,5d,2d");
+
+    private final ReminderRepository reminderRepository;
+
+    private final ReminderOffsetPlan defaultPlan;
+
+    private final Map<String, ReminderOffsetPlan> plans = new ConcurrentHashMap<>();
+
+    public ReminderOffsetPlans(
+            ReminderRepository reminderRepository,
+            @Value("${reminder.offset-plan.default:10d,5d,2d}") String defaultPlan) {
+        this.reminderRepository = reminderRepository;
+        this.defaultPlan = ReminderOffsetPlan.parse(defaultPlan);
+    }
+
+    public ReminderOffsetPlan getDefaultPlan() {
+        return defaultPlan;
+    }
+
+    public ReminderOffsetPlan resolve(Reminder reminder) {
+        return resolve(reminder.getOffsetPlan());
+    }
+
+    public ReminderOffsetPlan resolve(String offsetPlan) {
+        if (offsetPlan == null) {
+            return defaultPlan;
+        }
+
+        return plans.computeIfAbsent(offsetPlan, ReminderOffsetPlan::parse);
+    }
+
+    /*
+     * The plan a reminder was scheduled with. Reminders without a scheduled plan were scheduled before it was
+     * stored, with the original 10d,5d,2d offsets.
+     */
+    public ReminderOffsetPlan resolveScheduled(String scheduledOffsetPlan) {
+        return scheduledOffsetPlan == null ? UNRECORDED_PLAN : resolve(scheduledOffsetPlan);
+    }
+
+    /*
+     * Every offset of the default plan and of the plans of reminders due after the given instant, from the
+     * longest to the shortest. Used to turn "fires within a window" into one due date range per offset.
+     */
+    public List<ReminderOffset> findOffsetsInUse(Instant dueAfter) {
+        Set<ReminderOffset> offsets = new LinkedHashSet<>(defaultPlan.offsets());
+
+        for (String offsetPlan : reminderRepository.findDistinctOffsetPlansByDueDateAfter(dueAfter)) {
+            offsets.addAll(resolve(offsetPlan).offsets());
+        }
+
+        List<ReminderOffset> sorted = new ArrayList<>(offsets);
+        sorted.sort(Comparator.comparing(ReminderOffset::duration).reversed());
+
+        return sorted;
+    }
+}
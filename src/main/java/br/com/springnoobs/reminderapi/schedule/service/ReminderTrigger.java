@@ -0,0 +1,5 @@
+package br.com.springnoobs.reminderapi.schedule.service;
+
+import java.time.Instant;
+
+public record ReminderTrigger(long reminderId, Long userId, String offset, Instant fireAt) {}
@@ -0,0 +1,216 @@
+package br.com.springnoobs.reminderapi.schedule.wheel;
+
+import java.util.Arrays;
+
+/*
+ * Hierarchical timing wheel holding (deadline, value) pairs of longs. Level 0 has one slot per tick, every
+ * level above it has slots wheelSize times wider. An entry sits in the lowest level whose span covers it and
+ * moves down a level each time the slot it is in becomes current, until it expires from level 0. Slots are
+ * pairs of growable long arrays, so an entry costs 16 bytes plus array slack and no object per entry.
+ *
+ * Not thread-safe; callers synchronize.
+ */
+public class TimingWheel {
+
+    private static final int INITIAL_BUCKET_CAPACITY = 4;
+
+    private final long tickMillis;
+
+    private final int wheelSize;
+
+    private final long[] levelTicks;
+
+    private final Bucket[][] levels;
+
+    private final Bucket due = new Bucket();
+
+    private long currentTime;
+
+    private int size;
+
+    public TimingWheel(long tickMillis, int wheelSize, long spanMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+
+        int levelCount = 1;
+        long span = tickMillis * wheelSize;
+        while (span < spanMillis) {
+            span = Math.multiplyExact(span, wheelSize);
+            levelCount++;
+        }
+
+        this.levelTicks = new long[levelCount];
+        this.levels = new Bucket[levelCount][];
+
+        long levelTick = tickMillis;
+        for (int level = 0; level < levelCount; level++) {
+            levelTicks[level] = levelTick;
+            levels[level] = new Bucket[wheelSize];
+            levelTick *= wheelSize;
+        }
+
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+    }
+
+    /*
+     * Adds the entry. Deadlines already in the past expire on the next advance. Returns false when the deadline
+     * is beyond the span of the top level; such entries have to be added again later.
+     */
+    public boolean add(long deadline, long value) {
+        if (!place(deadline, value)) {
+            return false;
+        }
+
+        size++;
+        return true;
+    }
+
+    /*
+     * Moves the wheel to now, one tick at a time, and hands the entries of every tick that has fully elapsed to
+     * the consumer, tick by tick. An entry never expires before its deadline and at most one tick after it.
+     */
+    public void advance(long now, EntryConsumer consumer) {
+        drain(due, consumer);
+
+        while (currentTime + tickMillis <= now) {
+            Bucket bucket = levels[0][slot(currentTime, 0)];
+
+            if (bucket != null) {
+                drain(bucket, consumer);
+            }
+
+            currentTime += tickMillis;
+
+            for (int level = levels.length - 1; level > 0; level--) {
+                if (Math.floorMod(currentTime, levelTicks[level]) == 0) {
+                    cascade(level);
+                }
+            }
+
+            drain(due, consumer);
+        }
+    }
+
+    public long getCurrentTime() {
+        return currentTime;
+    }
+
+    public long getSpanMillis() {
+        return levelTicks[levelTicks.length - 1] * wheelSize;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /*
+     * Bytes held by the entry arrays, including unused capacity.
+     */
+    public long getEntryBytes() {
+        long bytes = due.capacity() * 16L;
+
+        for (Bucket[] level : levels) {
+            for (Bucket bucket : level) {
+                if (bucket != null) {
+                    bytes += bucket.capacity() * 16L;
+                }
+            }
+        }
+
+        return bytes;
+    }
+
+    private boolean place(long deadline, long value) {
+        for (int level = 0; level < levels.length; level++) {
+            long levelTick = levelTicks[level];
+            long distance = Math.floorDiv(deadline, levelTick) - Math.floorDiv(currentTime, levelTick);
+
+            if (level == 0 && deadline < currentTime) {
+                due.add(deadline, value);
+                return true;
+            }
+
+            if (distance < wheelSize) {
+                int slot = slot(deadline, level);
+
+                if (levels[level][slot] == null) {
+                    levels[level][slot] = new Bucket();
+                }
+
+                levels[level][slot].add(deadline, value);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private int slot(long time, int level) {
+        return (int) Math.floorMod(Math.floorDiv(time, levelTicks[level]), (long) wheelSize);
+    }
+
+    private void cascade(int level) {
+        int slot = slot(currentTime, level);
+        Bucket bucket = levels[level][slot];
+
+        if (bucket == null || bucket.size == 0) {
+            return;
+        }
+
+        levels[level][slot] = null;
+
+        for (int i = 0; i < bucket.size; i++) {
+            place(bucket.deadlines[i], bucket.values[i]);
+        }
+    }
+
+    private void drain(Bucket bucket, EntryConsumer consumer) {
+        int count = bucket.size;
+
+        for (int i = 0; i < count; i++) {
+            consumer.accept(bucket.deadlines[i], bucket.values[i]);
+        }
+
+        size -= count;
+        bucket.clear();
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+
+        void accept(long deadline, long value);
+    }
+
+    private static class Bucket {
+
+        private long[] deadlines = new long[INITIAL_BUCKET_CAPACITY];
+
+        private long[] values = new long[INITIAL_BUCKET_CAPACITY];
+
+        private int size;
+
+        private void add(long deadline, long value) {
+            if (size == deadlines.length) {
+                deadlines = Arrays.copyOf(deadlines, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+
+            deadlines[size] = deadline;
+            values[size] = value;
+            size++;
+        }
+
+        private void clear() {
+            size = 0;
+
+            if (deadlines.length > INITIAL_BUCKET_CAPACITY * 16) {
+                deadlines = new long[INITIAL_BUCKET_CAPACITY];
+                values = new long[INITIAL_BUCKET_CAPACITY];
+            }
+        }
+
+        private int capacity() {
+            return deadlines.length;
+        }
+    }
+}
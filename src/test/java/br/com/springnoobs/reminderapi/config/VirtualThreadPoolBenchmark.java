@@ -0,0 +1,124 @@
+package br.com.springnoobs.reminderapi.config;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.impl.StdSchedulerFactory;
+
+/*
+ * Fires JOBS due triggers whose job blocks for 20 ms, standing in for the JPA load, SMTP send and save of a
+ * reminder, and measures the time per job until all of them completed. "before" is the Spring default
+ * (SimpleThreadPool with 10 threads, one trigger per acquisition), "after" the application configuration
+ * (VirtualThreadPool capped at 200, up to 200 triggers per acquisition). Run with:
+ * ./mvnw -Pbenchmark verify -Djmh.includes=VirtualThreadPoolBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class VirtualThreadPoolBenchmark {
+
+    private static final int JOBS = 2_000;
+
+    private static final long BLOCKING_MILLIS = 20;
+
+    private static volatile CountDownLatch completed;
+
+    @Param({"before", "after"})
+    private String configuration;
+
+    private Scheduler scheduler;
+
+    @Setup(Level.Invocation)
+    public void setup() throws SchedulerException {
+        Properties properties = new Properties();
+        properties.setProperty(StdSchedulerFactory.PROP_SCHED_INSTANCE_NAME, "benchmark-" + UUID.randomUUID());
+        properties.setProperty(StdSchedulerFactory.PROP_JOB_STORE_CLASS, "org.quartz.simpl.RAMJobStore");
+
+        if (configuration.equals("after")) {
+            properties.setProperty(StdSchedulerFactory.PROP_THREAD_POOL_CLASS, VirtualThreadPool.class.getName());
+            properties.setProperty("org.quartz.threadPool.threadCount", "200");
+            properties.setProperty("org.quartz.scheduler.batchTriggerAcquisitionMaxCount", "200");
+            properties.setProperty("org.quartz.scheduler.batchTriggerAcquisitionFireAheadTimeWindow", "1000");
+        } else {
+            properties.setProperty(StdSchedulerFactory.PROP_THREAD_POOL_CLASS, "org.quartz.simpl.SimpleThreadPool");
+            properties.setProperty("org.quartz.threadPool.threadCount", "10");
+        }
+
+        scheduler = new StdSchedulerFactory(properties).getScheduler();
+        completed = new CountDownLatch(JOBS);
+
+        Map<JobDetail, Set<? extends Trigger>> jobs = new HashMap<>();
+
+        for (int i = 0; i < JOBS; i++) {
+            JobDetail job = JobBuilder.newJob(BlockingJob.class)
+                    .withIdentity("job-" + i)
+                    .build();
+            Set<Trigger> triggers = new LinkedHashSet<>();
+            triggers.add(TriggerBuilder.newTrigger()
+                    .withIdentity("trigger-" + i)
+                    .startNow()
+                    .build());
+
+            jobs.put(job, triggers);
+        }
+
+        scheduler.scheduleJobs(jobs, true);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws SchedulerException {
+        scheduler.shutdown(true);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JOBS)
+    public void fireDueTriggers() throws SchedulerException, InterruptedException {
+        scheduler.start();
+
+        completed.await();
+    }
+
+    public static class BlockingJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+            try {
+                Thread.sleep(BLOCKING_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                completed.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package br.com.springnoobs.reminderapi.mail;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import br.com.springnoobs.reminderapi.mail.repository.EmailSendFailureRepository;
+import br.com.springnoobs.reminderapi.mail.smtp.FakeSmtpServer;
+import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import br.com.springnoobs.reminderapi.reminder.repository.ReminderRepository;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderDispatcher;
+import br.com.springnoobs.reminderapi.user.entity.Contact;
+import br.com.springnoobs.reminderapi.user.entity.User;
+import br.com.springnoobs.reminderapi.user.repository.UserRepository;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/*
+ * End-to-end mail throughput: seeds reminders in H2, fires them the way ReminderJob does from a pool sized like
+ * the Quartz one and reports sends/sec, dispatch latency and the rows left in email_send_failures.
+ * Excluded from the regular build, run with: ./mvnw -Pbenchmark test -Dtest=MailThroughputHarnessTest
+ * Tune with -Dharness.reminders, -Dharness.threads, -Dharness.latency, -Dharness.failure-rate and
+ * -Dharness.max-connections.
+ */
+@Tag("benchmark")
+@SpringBootTest(
+        properties = {
+            "spring.quartz.auto-startup=false",
+            "spring.mail.username=",
+            "spring.mail.password=",
+            "spring.mail.properties.mail.smtp.auth=false",
+            "spring.jpa.show-sql=false",
+            "mail.governor.max-deferrals=0"
+        })
+@ActiveProfiles("test")
+class MailThroughputHarnessTest {
+
+    private static final int REMINDERS = Integer.getInteger("harness.reminders", 500);
+
+    private static final int THREADS = Integer.getInteger("harness.threads", 10);
+
+    private static FakeSmtpServer smtpServer;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReminderRepository reminderRepository;
+
+    @Autowired
+    private EmailSendFailureRepository emailSendFailureRepository;
+
+    @Autowired
+    private ReminderDispatcher reminderDispatcher;
+
+    @BeforeAll
+    static void startSmtpServer() throws IOException {
+        smtpServer = new FakeSmtpServer(
+                Duration.parse(System.getProperty("harness.latency", "PT0.005S")),
+                Double.parseDouble(System.getProperty("harness.failure-rate", "0.01")),
+                Integer.getInteger("harness.max-connections", 100));
+    }
+
+    @AfterAll
+    static void stopSmtpServer() {
+        smtpServer.close();
+    }
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", () -> smtpServer.getPort());
+    }
+
+    @Test
+    void shouldReportThroughputWhenFiringSeededReminders() throws Exception {
+        // Arrange
+        List<Long> reminderIds = seedReminders();
+        long failuresBefore = emailSendFailureRepository.count();
+
+        long[] latencies = new long[reminderIds.size()];
+        List<Future<?>> dispatches = new ArrayList<>();
+
+        // Act
+        long startedAt = System.nanoTime();
+
+        try (ExecutorService quartzThreads = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < reminderIds.size(); i++) {
+                int index = i;
+
+                dispatches.add(quartzThreads.submit(() -> {
+                    long dispatchedAt = System.nanoTime();
+                    reminderDispatcher.dispatch(reminderIds.get(index));
+                    latencies[index] = System.nanoTime() - dispatchedAt;
+                }));
+            }
+
+            for (Future<?> dispatch : dispatches) {
+                dispatch.get();
+            }
+        }
+
+        long elapsed = System.nanoTime() - startedAt;
+
+        // Assert
+        long failures = emailSendFailureRepository.count() - failuresBefore;
+        Arrays.sort(latencies);
+
+        System.out.printf(
+                "%nMail throughput: %d reminders, %d threads, %.1f sends/sec, p50 %.2f ms, p99 %.2f ms, "
+                        + "%d delivered, %d rows in email_send_failures%n%n",
+                reminderIds.size(),
+                THREADS,
+                reminderIds.size() / (elapsed / 1e9),
+                percentile(latencies, 0.50) / 1e6,
+                percentile(latencies, 0.99) / 1e6,
+                smtpServer.getMessages().size(),
+                failures);
+
+        assertEquals(reminderIds.size(), smtpServer.getMessages().size() + failures);
+    }
+
+    private List<Long> seedReminders() {
+        List<Long> reminderIds = new ArrayList<>();
+
+        for (int i = 0; i < REMINDERS; i++) {
+            User user = new User();
+            user.setFirstName("User " + i);
+            user.setLastName("Harness");
+
+            Contact contact = new Contact();
+            contact.setEmail("user" + i + "-" + System.nanoTime() + "@harness.test");
+            contact.setUser(user);
+            user.setContact(contact);
+
+            Reminder reminder = new Reminder();
+            reminder.setTitle("Reminder " + i);
+            reminder.setDueDate(Instant.now().plus(Duration.ofDays(2)));
+            reminder.setUser(user);
+            user.getReminders().add(reminder);
+
+            userRepository.save(user);
+            reminderIds.add(reminder.getId());
+        }
+
+        return reminderIds;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+}
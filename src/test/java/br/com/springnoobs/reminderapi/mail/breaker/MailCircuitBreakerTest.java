@@ -0,0 +1,115 @@
+package br.com.springnoobs.reminderapi.mail.breaker;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.springnoobs.reminderapi.mail.exception.EmailCircuitOpenException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MailCircuitBreakerTest {
+
+    private static final Duration FAST = Duration.ofMillis(10);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MailCircuitBreaker breaker;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        breaker = new MailCircuitBreaker(
+                meterRegistry, true, 50, 80, Duration.ofSeconds(5), 10, 4, Duration.ofMinutes(5), 2);
+    }
+
+    @Test
+    void shouldOpenAndRejectWhenFailureRateReachesThreshold() {
+        // Act
+        for (int i = 0; i < 4; i++) {
+            breaker.acquirePermission();
+            breaker.onFailure(FAST);
+        }
+
+        // Assert
+        assertEquals(MailCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.isCallPermitted());
+        assertThrows(EmailCircuitOpenException.class, breaker::acquirePermission);
+        assertEquals(
+                1.0, meterRegistry.get("mail.circuit-breaker.state").gauge().value());
+        assertEquals(
+                1.0,
+                meterRegistry.get("mail.circuit-breaker.rejected").counter().count());
+    }
+
+    @Test
+    void shouldStayClosedWhenFailuresAreBelowThreshold() {
+        // Act
+        for (int i = 0; i < 10; i++) {
+            breaker.acquirePermission();
+            if (i % 4 == 0) {
+                breaker.onFailure(FAST);
+            } else {
+                breaker.onSuccess(FAST);
+            }
+        }
+
+        // Assert
+        assertEquals(MailCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void shouldOpenWhenCallsAreSlow() {
+        // Act
+        for (int i = 0; i < 4; i++) {
+            breaker.acquirePermission();
+            breaker.onSuccess(Duration.ofSeconds(10));
+        }
+
+        // Assert
+        assertEquals(MailCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void shouldCloseWhenProbesSucceedAfterProbeInterval() {
+        // Arrange
+        MailCircuitBreaker breaker =
+                new MailCircuitBreaker(meterRegistry, true, 50, 80, Duration.ofSeconds(5), 10, 4, Duration.ZERO, 2);
+        for (int i = 0; i < 4; i++) {
+            breaker.acquirePermission();
+            breaker.onFailure(FAST);
+        }
+
+        // Act
+        for (int i = 0; i < 2; i++) {
+            assertDoesNotThrow(breaker::acquirePermission);
+            breaker.onSuccess(FAST);
+        }
+
+        // Assert
+        assertEquals(MailCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.isCallPermitted());
+    }
+
+    @Test
+    void shouldReopenWhenProbeFails() {
+        // Arrange
+        MailCircuitBreaker breaker =
+                new MailCircuitBreaker(meterRegistry, true, 50, 80, Duration.ofSeconds(5), 10, 4, Duration.ZERO, 2);
+        for (int i = 0; i < 4; i++) {
+            breaker.acquirePermission();
+            breaker.onFailure(FAST);
+        }
+
+        // Act
+        breaker.acquirePermission();
+        breaker.onFailure(FAST);
+
+        // Assert
+        assertEquals(MailCircuitBreaker.State.OPEN, breaker.getState());
+    }
+}
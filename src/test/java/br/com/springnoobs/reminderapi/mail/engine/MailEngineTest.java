@@ -0,0 +1,86 @@
+package br.com.springnoobs.reminderapi.mail.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.springnoobs.reminderapi.mail.breaker.MailCircuitBreaker;
+import br.com.springnoobs.reminderapi.mail.exception.EmailSendException;
+import br.com.springnoobs.reminderapi.mail.governor.SendGovernor;
+import br.com.springnoobs.reminderapi.mail.smtp.FakeSmtpServer;
+import br.com.springnoobs.reminderapi.mail.template.EmailTemplateRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+class MailEngineTest {
+
+    private FakeSmtpServer smtpServer;
+
+    private JavaMailSenderImpl mailSender;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        smtpServer = new FakeSmtpServer();
+
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpServer.getPort());
+
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        smtpServer.close();
+    }
+
+    @Test
+    void shouldSendWholeBatchWhenDomainGroupIsLargerThanBurst() throws IOException, MessagingException {
+        // Arrange
+        SendGovernor sendGovernor =
+                new SendGovernor(meterRegistry, true, 1000, 2, 4, 1, 32, Duration.ofSeconds(2), Duration.ofSeconds(1));
+        MailEngine mailEngine = new MailEngine(
+                mailSender,
+                new SmtpTransportPool(mailSender, true, 2, Duration.ofMinutes(2), Duration.ofSeconds(5)),
+                sendGovernor,
+                new MailCircuitBreaker(
+                        meterRegistry, false, 50, 80, Duration.ofSeconds(5), 20, 10, Duration.ofSeconds(30), 3),
+                new EmailTemplateRegistry(false));
+
+        // Act
+        Map<MimeMessage, EmailSendException> failures = mailEngine.sendBatch(createMessages(5));
+
+        // Assert
+        assertTrue(failures.isEmpty());
+        assertEquals(5, smtpServer.getMessages().size());
+        assertEquals(0.0, meterRegistry.get("mail.governor.deferred").counter().count());
+    }
+
+    private List<MimeMessage> createMessages(int count) throws MessagingException {
+        List<MimeMessage> messages = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true);
+            helper.setFrom("reminder@test.com");
+            helper.setTo("user" + i + "@gmail.com");
+            helper.setSubject("Lembrete - " + i);
+            helper.setText("<p>" + i + "</p>", true);
+            messages.add(message);
+        }
+
+        return messages;
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.springnoobs.reminderapi.mail.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.springnoobs.reminderapi.mail.smtp.FakeSmtpServer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+class SmtpTransportPoolTest {
+
+    private FakeSmtpServer smtpServer;
+
+    private JavaMailSenderImpl mailSender;
+
+    private SmtpTransportPool pool;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        smtpServer = new FakeSmtpServer();
+
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpServer.getPort());
+
+        pool = new SmtpTransportPool(mailSender, true, 2, Duration.ofMinutes(2), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        smtpServer.close();
+    }
+
+    @Test
+    void shouldSendWholeBatchOverOneConnection() throws MessagingException {
+        // Act
+        Map<MimeMessage, Exception> failures = pool.send(createMessages(5));
+
+        // Assert
+        assertTrue(failures.isEmpty());
+        assertEquals(5, smtpServer.getMessages().size());
+        assertEquals(1, smtpServer.getConnectionCount());
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    void shouldReuseConnectionBetweenSends() throws MessagingException {
+        // Act
+        pool.send(createMessages(1));
+        pool.send(createMessages(1));
+        pool.send(createMessages(1));
+
+        // Assert
+        assertEquals(3, smtpServer.getMessages().size());
+        assertEquals(1, smtpServer.getConnectionCount());
+    }
+
+    @Test
+    void shouldEvictIdleConnectionsWhenMaxIdleIsExceeded() throws MessagingException {
+        // Arrange
+        SmtpTransportPool pool = new SmtpTransportPool(mailSender, true, 2, Duration.ZERO, Duration.ofSeconds(5));
+        pool.send(createMessages(1));
+
+        // Act
+        pool.evictIdleTransports();
+        pool.send(createMessages(1));
+
+        // Assert
+        assertEquals(2, smtpServer.getMessages().size());
+        assertEquals(2, smtpServer.getConnectionCount());
+    }
+
+    @Test
+    void shouldReconnectWhenPooledConnectionWasDropped() throws MessagingException {
+        // Arrange
+        pool.send(createMessages(1));
+
+        // Act
+        smtpServer.dropConnections();
+        Map<MimeMessage, Exception> failures = pool.send(createMessages(2));
+
+        // Assert
+        assertTrue(failures.isEmpty());
+        assertEquals(3, smtpServer.getMessages().size());
+        assertEquals(2, smtpServer.getConnectionCount());
+    }
+
+    private List<MimeMessage> createMessages(int count) throws MessagingException {
+        List<MimeMessage> messages = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true);
+            helper.setFrom("reminder@test.com");
+            helper.setTo("john.doe@test.com");
+            helper.setSubject("Lembrete - " + i);
+            helper.setText("<p>" + i + "</p>", true);
+            messages.add(message);
+        }
+
+        return messages;
+    }
+}
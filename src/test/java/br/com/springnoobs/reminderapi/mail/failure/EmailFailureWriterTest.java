@@ -0,0 +1,154 @@
+package br.com.springnoobs.reminderapi.mail.failure;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import br.com.springnoobs.reminderapi.mail.entity.EmailSendFailure;
+import br.com.springnoobs.reminderapi.mail.entity.EmailSendFailureStatus;
+import br.com.springnoobs.reminderapi.mail.repository.EmailSendFailureRepository;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailFailureWriterTest {
+
+    @Autowired
+    private EmailSendFailureRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setup() {
+        repository.deleteAll();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void shouldBufferFailuresUntilFlushSizeWhenWriteBehindIsEnabled() {
+        // Arrange
+        EmailFailureWriter writer =
+                new EmailFailureWriter(jdbcTemplate, new TransactionTemplate(transactionManager), true, 10, 3);
+
+        // Act
+        writer.record(createFailure("first@example.com"));
+        writer.record(createFailure("second@example.com"));
+        long beforeFlush = repository.count();
+
+        writer.record(createFailure("third@example.com"));
+
+        // Assert
+        assertEquals(0, beforeFlush);
+        assertEquals(3, repository.count());
+        assertEquals(0, writer.getBufferedCount());
+    }
+
+    @Test
+    void shouldWriteFailureReadableByJpaWhenFlushed() {
+        // Arrange
+        EmailFailureWriter writer =
+                new EmailFailureWriter(jdbcTemplate, new TransactionTemplate(transactionManager), true, 10, 100);
+        EmailSendFailure failure = createFailure("user@example.com");
+
+        // Act
+        writer.record(failure);
+        writer.flush();
+
+        // Assert
+        EmailSendFailure stored = repository.findAll().getFirst();
+        assertEquals("user@example.com", stored.getEmail());
+        assertEquals(EmailSendFailureStatus.PENDING, stored.getStatus());
+        assertEquals(failure.getFailedAt(), stored.getFailedAt());
+        assertEquals(failure.getNextAttemptAt(), stored.getNextAttemptAt());
+    }
+
+    @Test
+    void shouldSkipFailureWhenSamePayloadIsAlreadyPending() {
+        // Arrange
+        EmailFailureWriter writer =
+                new EmailFailureWriter(jdbcTemplate, new TransactionTemplate(transactionManager), false, 10, 100);
+        EmailSendFailure first = createFailure("user@example.com");
+        first.setPayload(new byte[] {1, 2, 3});
+        first.setPayloadHash("abc123");
+        EmailSendFailure duplicate = createFailure("user@example.com");
+        duplicate.setPayload(new byte[] {1, 2, 3});
+        duplicate.setPayloadHash("abc123");
+
+        // Act
+        writer.record(first);
+        writer.record(duplicate);
+
+        // Assert
+        assertEquals(1, repository.count());
+        assertArrayEquals(new byte[] {1, 2, 3}, repository.findAll().getFirst().getPayload());
+    }
+
+    @Test
+    void shouldKeepOnlyLatestFailureWhenSameReminderFailsAgain() {
+        // Arrange
+        EmailFailureWriter writer =
+                new EmailFailureWriter(jdbcTemplate, new TransactionTemplate(transactionManager), true, 10, 100);
+        EmailSendFailure unrelated = createFailure("other@example.com");
+        unrelated.setReminderId(2L);
+        EmailSendFailure tenDays = createFailure("user@example.com");
+        tenDays.setReminderId(1L);
+        tenDays.setOffset("10-days");
+        EmailSendFailure fiveDays = createFailure("user@example.com");
+        fiveDays.setReminderId(1L);
+        fiveDays.setOffset("5-days");
+        EmailSendFailure twoDays = createFailure("user@example.com");
+        twoDays.setReminderId(1L);
+        twoDays.setOffset("2-days");
+
+        // Act
+        writer.record(unrelated);
+        writer.record(tenDays);
+        writer.flush();
+
+        writer.record(fiveDays);
+        writer.record(twoDays);
+        writer.flush();
+
+        // Assert
+        assertEquals(2, repository.count());
+        assertEquals(
+                List.of("2-days"),
+                repository.findAll().stream()
+                        .filter(failure -> failure.getReminderId() == 1L)
+                        .map(EmailSendFailure::getOffset)
+                        .toList());
+    }
+
+    private static EmailSendFailure createFailure(String email) {
+        EmailSendFailure failure = new EmailSendFailure();
+        failure.setEmail(email);
+        failure.setSubject("Lembrete");
+        failure.setErrorMessage("SMTP Error");
+        failure.setFailedAt(Instant.now().truncatedTo(ChronoUnit.MICROS));
+        failure.setNextAttemptAt(failure.getFailedAt());
+        return failure;
+    }
+}
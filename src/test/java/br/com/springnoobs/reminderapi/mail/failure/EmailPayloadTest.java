@@ -0,0 +1,59 @@
+package br.com.springnoobs.reminderapi.mail.failure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import java.util.Date;
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+
+class EmailPayloadTest {
+
+    private final Session session = Session.getInstance(new Properties());
+
+    @Test
+    void shouldRestoreMessageWhenPayloadIsOpened() throws Exception {
+        // Arrange
+        MimeMessage message = createMessage("user@example.com", "<p>Lembrete</p>");
+
+        // Act
+        EmailPayload payload = EmailPayload.of(message);
+        MimeMessage restored = new MimeMessage(session, EmailPayload.open(payload.data()));
+
+        // Assert
+        assertEquals("Lembrete - Consulta", restored.getSubject());
+        assertEquals("user@example.com", restored.getAllRecipients()[0].toString());
+        assertEquals("<p>Lembrete</p>", restored.getContent());
+    }
+
+    @Test
+    void shouldHashIdenticalEmailsEquallyWhenMessageIdAndDateDiffer() throws Exception {
+        // Arrange
+        MimeMessage first = createMessage("user@example.com", "<p>Lembrete</p>");
+        MimeMessage second = createMessage("user@example.com", "<p>Lembrete</p>");
+        second.setSentDate(new Date(0));
+        MimeMessage other = createMessage("other@example.com", "<p>Lembrete</p>");
+
+        // Act
+        EmailPayload firstPayload = EmailPayload.of(first);
+        EmailPayload secondPayload = EmailPayload.of(second);
+        EmailPayload otherPayload = EmailPayload.of(other);
+
+        // Assert
+        assertEquals(firstPayload.hash(), secondPayload.hash());
+        assertNotEquals(firstPayload.hash(), otherPayload.hash());
+    }
+
+    private MimeMessage createMessage(String to, String html) throws Exception {
+        MimeMessage message = new MimeMessage(session);
+        message.setRecipient(MimeMessage.RecipientType.TO, new InternetAddress(to));
+        message.setSubject("Lembrete - Consulta");
+        message.setContent(html, "text/html; charset=UTF-8");
+        message.setSentDate(new Date());
+        message.saveChanges();
+        return message;
+    }
+}
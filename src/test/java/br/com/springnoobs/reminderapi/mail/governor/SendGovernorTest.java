@@ -0,0 +1,115 @@
+package br.com.springnoobs.reminderapi.mail.governor;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import br.com.springnoobs.reminderapi.mail.exception.EmailDeferredException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SendGovernorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldShrinkConcurrencyLimitWhenServerThrottles() {
+        // Arrange
+        SendGovernor governor = new SendGovernor(
+                meterRegistry, true, 0.001, 100, 8, 1, 32, Duration.ofSeconds(2), Duration.ofSeconds(1));
+
+        // Act
+        governor.acquire("john.doe@test.com", 1).release(Duration.ofMillis(10), true);
+
+        // Assert
+        assertEquals(5, governor.getConcurrencyLimit());
+        assertEquals(
+                5.0,
+                meterRegistry.get("mail.governor.concurrency.limit").gauge().value());
+        assertEquals(1.0, meterRegistry.get("mail.governor.throttled").counter().count());
+    }
+
+    @Test
+    void shouldShrinkConcurrencyLimitWhenSendIsSlow() {
+        // Arrange
+        SendGovernor governor = new SendGovernor(
+                meterRegistry, true, 0.001, 100, 8, 1, 32, Duration.ofSeconds(2), Duration.ofSeconds(1));
+
+        // Act
+        governor.acquire("john.doe@test.com", 1).release(Duration.ofSeconds(5), false);
+
+        // Assert
+        assertEquals(5, governor.getConcurrencyLimit());
+    }
+
+    @Test
+    void shouldGrowConcurrencyLimitWhenSendsRecover() {
+        // Arrange
+        SendGovernor governor = new SendGovernor(
+                meterRegistry, true, 0.001, 1000, 2, 1, 32, Duration.ofSeconds(2), Duration.ofSeconds(1));
+
+        // Act
+        for (int i = 0; i < 12; i++) {
+            governor.acquire("john.doe@test.com", 1).release(Duration.ofMillis(10), false);
+        }
+
+        // Assert
+        assertEquals(5, governor.getConcurrencyLimit());
+    }
+
+    @Test
+    void shouldDeferWhenDomainRateIsExceeded() {
+        // Arrange
+        SendGovernor governor =
+                new SendGovernor(meterRegistry, true, 0.001, 1, 4, 1, 32, Duration.ofSeconds(2), Duration.ofMillis(10));
+        governor.acquire("john.doe@test.com", 1).release(Duration.ofMillis(10), false);
+
+        // Act & Assert
+        assertThrows(EmailDeferredException.class, () -> governor.acquire("jane.doe@test.com", 1));
+        assertDoesNotThrow(() -> governor.acquire("jane.doe@other.com", 1));
+        assertEquals(1.0, meterRegistry.get("mail.governor.deferred").counter().count());
+    }
+
+    @Test
+    void shouldDeferWhenConcurrencyLimitIsReached() {
+        // Arrange
+        SendGovernor governor = new SendGovernor(
+                meterRegistry, true, 0.001, 100, 1, 1, 32, Duration.ofSeconds(2), Duration.ofMillis(10));
+        governor.acquire("john.doe@test.com", 1);
+
+        // Act & Assert
+        assertThrows(EmailDeferredException.class, () -> governor.acquire("jane.doe@other.com", 1));
+    }
+
+    @Test
+    void shouldRefundDomainTokensWhenConcurrencyLimitIsReached() {
+        // Arrange
+        SendGovernor governor =
+                new SendGovernor(meterRegistry, true, 0.001, 1, 1, 1, 32, Duration.ofSeconds(2), Duration.ofMillis(10));
+        SendGovernor.Permit permit = governor.acquire("john.doe@test.com", 1);
+        assertThrows(EmailDeferredException.class, () -> governor.acquire("jane.doe@other.com", 1));
+        permit.release(Duration.ofMillis(10), false);
+
+        // Act & Assert
+        assertDoesNotThrow(() -> governor.acquire("jane.doe@other.com", 1));
+    }
+
+    @Test
+    void shouldNotLimitWhenDisabled() {
+        // Arrange
+        SendGovernor governor =
+                new SendGovernor(meterRegistry, false, 0.001, 1, 1, 1, 32, Duration.ofSeconds(2), Duration.ZERO);
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertDoesNotThrow(() -> governor.acquire("john.doe@test.com", 1));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package br.com.springnoobs.reminderapi.mail.retry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+import br.com.springnoobs.reminderapi.mail.entity.EmailSendFailure;
+import br.com.springnoobs.reminderapi.mail.entity.EmailSendFailureStatus;
+import br.com.springnoobs.reminderapi.mail.exception.EmailSendException;
+import br.com.springnoobs.reminderapi.mail.failure.EmailFailureWriter;
+import br.com.springnoobs.reminderapi.mail.repository.EmailSendFailureRepository;
+import br.com.springnoobs.reminderapi.mail.service.EmailService;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailRetryDrainerTest {
+
+    private static final int FAILURES = 200;
+
+    private static final int NODES = 4;
+
+    @Autowired
+    private EmailSendFailureRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EmailService emailService;
+
+    private EmailFailureWriter emailFailureWriter;
+
+    private EmailRetryPolicy retryPolicy;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        repository.deleteAll();
+
+        emailFailureWriter =
+                new EmailFailureWriter(jdbcTemplate, new TransactionTemplate(transactionManager), false, 100, 100);
+        retryPolicy = new EmailRetryPolicy(Duration.ofMinutes(1), Duration.ofHours(1), 8, 10, 5, 10);
+    }
+
+    @AfterEach
+    public void cleanup() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void shouldRetryEachFailureOnceWhenSeveralNodesDrainConcurrently() throws InterruptedException {
+        // Arrange
+        repository.saveAll(createFailures(FAILURES));
+
+        Map<String, AtomicInteger> sends = new ConcurrentHashMap<>();
+        doAnswer(invocation -> {
+                    EmailSendFailure failure = invocation.getArgument(0);
+                    sends.computeIfAbsent(failure.getEmail(), email -> new AtomicInteger())
+                            .incrementAndGet();
+                    return null;
+                })
+                .when(emailService)
+                .retryEmailSendFailure(any());
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> nodes = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < NODES; i++) {
+            EmailRetryDrainer drainer = new EmailRetryDrainer(
+                    repository, emailService, emailFailureWriter, retryPolicy, 4, Duration.ofMinutes(5));
+
+            nodes.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                    while (drainer.drain() > 0 || repository.count() > 0) {
+                        Thread.onSpinWait();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+
+        start.countDown();
+        for (Thread node : nodes) {
+            node.join(Duration.ofSeconds(60));
+        }
+
+        // Assert
+        assertEquals(0, repository.count());
+        assertEquals(FAILURES, sends.size());
+        assertTrue(sends.values().stream().allMatch(count -> count.get() == 1));
+    }
+
+    @Test
+    void shouldReleaseLeaseAndBackOffWhenRetryFails() {
+        // Arrange
+        repository.saveAll(createFailures(3));
+
+        doThrow(new EmailSendException("relay down")).when(emailService).retryEmailSendFailure(any());
+
+        EmailRetryDrainer drainer = new EmailRetryDrainer(
+                repository, emailService, emailFailureWriter, retryPolicy, 4, Duration.ofMinutes(5));
+
+        // Act
+        int claimed = drainer.drain();
+
+        // Assert
+        assertEquals(3, claimed);
+        assertEquals(0, drainer.drain());
+
+        for (EmailSendFailure failure : repository.findAll()) {
+            assertEquals(1, failure.getRetryCount());
+            assertEquals(EmailSendFailureStatus.PENDING, failure.getStatus());
+            assertNull(failure.getClaimedBy());
+            assertNull(failure.getLeaseUntil());
+            assertTrue(failure.getNextAttemptAt().isAfter(Instant.now()));
+        }
+    }
+
+    private static List<EmailSendFailure> createFailures(int count) {
+        List<EmailSendFailure> failures = new ArrayList<>();
+        Instant failedAt = Instant.now().minusSeconds(60);
+
+        for (int i = 0; i < count; i++) {
+            EmailSendFailure failure = new EmailSendFailure();
+            failure.setEmail("user" + i + "@example.com");
+            failure.setSubject("Lembrete");
+            failure.setFailedAt(failedAt);
+            failure.setNextAttemptAt(failedAt);
+            failures.add(failure);
+        }
+
+        return failures;
+    }
+}
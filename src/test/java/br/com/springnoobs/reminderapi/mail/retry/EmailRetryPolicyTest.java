@@ -0,0 +1,64 @@
+package br.com.springnoobs.reminderapi.mail.retry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class EmailRetryPolicyTest {
+
+    private final EmailRetryPolicy policy =
+            new EmailRetryPolicy(Duration.ofMinutes(1), Duration.ofHours(1), 3, 20, 5, 80);
+
+    @Test
+    void shouldDoubleDelayWithJitterWhenAttemptsIncrease() {
+        // Arrange
+        Duration first = policy.nextDelay(1);
+        Duration third = policy.nextDelay(3);
+
+        // Assert
+        assertTrue(first.compareTo(Duration.ofSeconds(30)) >= 0);
+        assertTrue(first.compareTo(Duration.ofMinutes(1)) <= 0);
+        assertTrue(third.compareTo(Duration.ofMinutes(2)) >= 0);
+        assertTrue(third.compareTo(Duration.ofMinutes(4)) <= 0);
+    }
+
+    @Test
+    void shouldCapDelayWhenAttemptsAreHigh() {
+        // Act
+        Duration delay = policy.nextDelay(40);
+
+        // Assert
+        assertTrue(delay.compareTo(Duration.ofMinutes(30)) >= 0);
+        assertTrue(delay.compareTo(Duration.ofHours(1)) <= 0);
+    }
+
+    @Test
+    void shouldBeExhaustedWhenMaxAttemptsReached() {
+        // Assert
+        assertFalse(policy.isExhausted(2));
+        assertTrue(policy.isExhausted(3));
+    }
+
+    @Test
+    void shouldAdaptBatchSizeWhenBatchesSucceedOrFail() {
+        // Act
+        policy.recordBatch(20, 20);
+        int grown = policy.getBatchSize();
+
+        policy.recordBatch(10, 10);
+        int unchanged = policy.getBatchSize();
+
+        policy.recordBatch(40, 5);
+        policy.recordBatch(20, 0);
+        policy.recordBatch(10, 0);
+        int shrunk = policy.getBatchSize();
+
+        // Assert
+        assertEquals(40, grown);
+        assertEquals(40, unchanged);
+        assertEquals(5, shrunk);
+    }
+}
@@ -1,7 +1,10 @@
 package br.com.springnoobs.reminderapi.mail.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -11,13 +14,17 @@ import static org.mockito.Mockito.when;
 import br.com.springnoobs.reminderapi.mail.engine.MailEngine;
 import br.com.springnoobs.reminderapi.mail.entity.EmailSendFailure;
 import br.com.springnoobs.reminderapi.mail.exception.EmailSendException;
-import br.com.springnoobs.reminderapi.mail.repository.EmailSendFailureRepository;
+import br.com.springnoobs.reminderapi.mail.failure.EmailFailureWriter;
+import br.com.springnoobs.reminderapi.mail.spool.MessageSpool;
 import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
 import br.com.springnoobs.reminderapi.user.entity.Contact;
 import br.com.springnoobs.reminderapi.user.entity.User;
 import jakarta.mail.internet.MimeMessage;
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,7 +32,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.MessageSource;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.TaskScheduler;
 
 class EmailServiceTest {
 
@@ -36,7 +45,16 @@ class EmailServiceTest {
     private JavaMailSender mailSender;
 
     @Mock
-    private EmailSendFailureRepository emailSendFailureRepository;
+    private EmailFailureWriter emailFailureWriter;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private MessageSpool messageSpool;
+
+    @Mock
+    private MessageSource messageSource;
 
     @InjectMocks
     private EmailService emailService;
@@ -64,7 +82,7 @@ class EmailServiceTest {
 
         MimeMessage message = mock(MimeMessage.class);
         when(mailSender.createMimeMessage()).thenReturn(message);
-        when(mailEngine.createEmailMessage(any())).thenReturn(message);
+        when(mailEngine.createEmailMessage(any(), any(), any())).thenReturn(message);
 
         // Act
         emailService.send(reminder);
@@ -73,6 +91,114 @@ class EmailServiceTest {
         verify(mailEngine).sendEmail(message);
     }
 
+    @Test
+    void shouldRecordOnlyFailedMessagesWhenSendingBatch() {
+        // Arrange
+        User user = new User();
+        user.setFirstName("John");
+        Contact contact = new Contact();
+        contact.setEmail("john.doe@test.com");
+
+        user.setContact(contact);
+        contact.setUser(user);
+
+        Reminder first = new Reminder();
+        first.setId(1L);
+        first.setTitle("First Reminder");
+        first.setDueDate(Instant.now());
+        first.setUser(user);
+
+        Reminder second = new Reminder();
+        second.setId(2L);
+        second.setTitle("Second Reminder");
+        second.setDueDate(Instant.now());
+        second.setUser(user);
+
+        MimeMessage firstMessage = mock(MimeMessage.class);
+        MimeMessage secondMessage = mock(MimeMessage.class);
+        when(mailEngine.createEmailMessage(any(), any(), any())).thenReturn(firstMessage, secondMessage);
+        when(mailEngine.sendBatch(List.of(firstMessage, secondMessage)))
+                .thenReturn(Map.of(secondMessage, new EmailSendException("SMTP Error")));
+
+        Map<Reminder, String> offsetsByReminder = new LinkedHashMap<>();
+        offsetsByReminder.put(first, "2-days");
+        offsetsByReminder.put(second, "2-days");
+
+        // Act
+        List<Reminder> handled = emailService.sendBatch(offsetsByReminder);
+
+        // Assert
+        assertEquals(List.of(first, second), handled);
+        verify(mailEngine, never()).sendEmail(any());
+        verify(emailFailureWriter).record(argThat(failure -> failure.getReminderId() == 2L));
+    }
+
+    @Test
+    void shouldRecordOffsetOfEachReminderWhenDigestFails() {
+        // Arrange
+        User user = new User();
+        user.setFirstName("John");
+        Contact contact = new Contact();
+        contact.setEmail("john.doe@test.com");
+
+        user.setContact(contact);
+        contact.setUser(user);
+
+        Reminder first = new Reminder();
+        first.setId(1L);
+        first.setTitle("First Reminder");
+        first.setDueDate(Instant.now());
+        first.setUser(user);
+
+        Reminder second = new Reminder();
+        second.setId(2L);
+        second.setTitle("Second Reminder");
+        second.setDueDate(Instant.now());
+        second.setUser(user);
+
+        MimeMessage message = mock(MimeMessage.class);
+        when(mailEngine.createDigestMessage(any(), any(), any())).thenReturn(message);
+        doThrow(new EmailSendException("SMTP Error")).when(mailEngine).sendEmail(message);
+
+        Map<Reminder, String> offsetsByReminder = new LinkedHashMap<>();
+        offsetsByReminder.put(first, "5-days");
+        offsetsByReminder.put(second, "2-days");
+
+        // Act
+        emailService.sendDigest(offsetsByReminder);
+
+        // Assert
+        verify(emailFailureWriter)
+                .record(argThat(failure -> failure.getReminderId() == 1L && "5-days".equals(failure.getOffset())));
+        verify(emailFailureWriter)
+                .record(argThat(failure -> failure.getReminderId() == 2L && "2-days".equals(failure.getOffset())));
+    }
+
+    @Test
+    void shouldRecordOffsetWhenRegisteringSendFailure() {
+        // Arrange
+        User user = new User();
+        user.setFirstName("John");
+        Contact contact = new Contact();
+        contact.setEmail("john.doe@test.com");
+
+        user.setContact(contact);
+        contact.setUser(user);
+
+        Reminder reminder = new Reminder();
+        reminder.setId(1L);
+        reminder.setTitle("Test Reminder");
+        reminder.setDueDate(Instant.now());
+        reminder.setUser(user);
+
+        // Act
+        emailService.registerSendFailure(reminder, "2-days", "Mail dispatch queue is full");
+
+        // Assert
+        verify(emailFailureWriter)
+                .record(argThat(failure -> failure.getReminderId() == 1L && "2-days".equals(failure.getOffset())));
+    }
+
     @Test
     void shouldThrowEmailSendExceptionWhenTrySendEmailWithFailureHandling() {
         // Arrange
@@ -92,7 +218,8 @@ class EmailServiceTest {
         MimeMessage mimeMessage = mock(MimeMessage.class);
         Map<String, String> variables = new HashMap<>();
 
-        EmailService service = Mockito.spy(new EmailService(mailEngine, emailSendFailureRepository));
+        EmailService service = Mockito.spy(
+                new EmailService(mailEngine, emailFailureWriter, taskScheduler, messageSpool, messageSource));
 
         doThrow(new EmailSendException("SMTP Error")).when(mailEngine).sendEmail(mimeMessage);
 
@@ -101,7 +228,7 @@ class EmailServiceTest {
 
         // Assert
         Mockito.verify(service).registerEmailFailure(variables, "SMTP Error");
-        verify(emailSendFailureRepository).save(any());
+        verify(emailFailureWriter).record(any());
     }
 
     @Test
@@ -119,9 +246,10 @@ class EmailServiceTest {
         emailSendFailure.setErrorMessage("SMTP Error");
 
         MimeMessage message = mock(MimeMessage.class);
-        when(mailEngine.createEmailMessage(any())).thenReturn(message);
+        when(mailEngine.createEmailMessage(any(), any(), any())).thenReturn(message);
 
-        EmailService service = Mockito.spy(new EmailService(mailEngine, emailSendFailureRepository));
+        EmailService service = Mockito.spy(
+                new EmailService(mailEngine, emailFailureWriter, taskScheduler, messageSpool, messageSource));
 
         // Act
         service.retryEmailSendFailure(emailSendFailure);
@@ -130,6 +258,57 @@ class EmailServiceTest {
         verify(service).dispatchEmail(any());
     }
 
+    @Test
+    void shouldRenderOffsetVariantWhenRetryEmailSendFailureHasOffset() {
+        // Arrange
+        EmailSendFailure emailSendFailure = new EmailSendFailure();
+
+        emailSendFailure.setName("Lucas");
+        emailSendFailure.setEmail("test@example.com");
+        emailSendFailure.setTitle("Test Reminder");
+        emailSendFailure.setDueDate("11/12/2025");
+        emailSendFailure.setDisableNotificationUrl("#");
+        emailSendFailure.setSubject("Test - Subject");
+        emailSendFailure.setOffset("2-days");
+        emailSendFailure.setErrorMessage("SMTP Error");
+
+        MimeMessage message = mock(MimeMessage.class);
+        when(mailEngine.createEmailMessage(any(), eq("2-days"), eq(Locale.forLanguageTag("pt-BR"))))
+                .thenReturn(message);
+
+        EmailService service = Mockito.spy(
+                new EmailService(mailEngine, emailFailureWriter, taskScheduler, messageSpool, messageSource));
+
+        // Act
+        service.retryEmailSendFailure(emailSendFailure);
+
+        // Assert
+        verify(service).dispatchEmail(message);
+    }
+
+    @Test
+    void shouldResendStoredPayloadWhenRetryEmailSendFailureHasPayload() {
+        // Arrange
+        EmailSendFailure emailSendFailure = new EmailSendFailure();
+
+        emailSendFailure.setEmail("test@example.com");
+        emailSendFailure.setPayload(new byte[] {31, -117, 8, 0, 0, 0, 0, 0, 0, -1, 3, 0, 0, 0, 0, 0, 0, 0, 0, 0});
+        emailSendFailure.setErrorMessage("SMTP Error");
+
+        MimeMessage message = mock(MimeMessage.class);
+        when(mailEngine.readEmailMessage(any())).thenReturn(message);
+
+        EmailService service = Mockito.spy(
+                new EmailService(mailEngine, emailFailureWriter, taskScheduler, messageSpool, messageSource));
+
+        // Act
+        service.retryEmailSendFailure(emailSendFailure);
+
+        // Assert
+        verify(service).dispatchEmail(message);
+        verify(mailEngine, never()).createEmailMessage(any(), any(), any());
+    }
+
     @Test
     void shouldReturnWhenRetryEmailSendFailureWithNullMimeMessageAndWithoutRemindAtDate() {
         // Arrange
@@ -143,9 +322,10 @@ class EmailServiceTest {
         emailSendFailure.setSubject("Test - Subject");
         emailSendFailure.setErrorMessage("SMTP Error");
 
-        when(mailEngine.createEmailMessage(any())).thenReturn(null);
+        when(mailEngine.createEmailMessage(any(), any(), any())).thenReturn(null);
 
-        EmailService service = Mockito.spy(new EmailService(mailEngine, emailSendFailureRepository));
+        EmailService service = Mockito.spy(
+                new EmailService(mailEngine, emailFailureWriter, taskScheduler, messageSpool, messageSource));
 
         // Act
         service.retryEmailSendFailure(emailSendFailure);
@@ -171,9 +351,10 @@ class EmailServiceTest {
         reminder.setDueDate(Instant.now());
         reminder.setUser(user);
 
-        when(mailEngine.createEmailMessage(any())).thenReturn(null);
+        when(mailEngine.createEmailMessage(any(), any(), any())).thenReturn(null);
 
-        EmailService service = Mockito.spy(new EmailService(mailEngine, emailSendFailureRepository));
+        EmailService service = Mockito.spy(
+                new EmailService(mailEngine, emailFailureWriter, taskScheduler, messageSpool, messageSource));
 
         // Act
         service.send(reminder);
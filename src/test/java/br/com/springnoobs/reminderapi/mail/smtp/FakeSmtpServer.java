@@ -0,0 +1,188 @@
+package br.com.springnoobs.reminderapi.mail.smtp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Minimal in-process SMTP sink for tests. Accepts every message and keeps the raw DATA section in memory.
+ * Latency is added before each message is acknowledged, failureRate rejects that share of messages with a
+ * permanent 554 reply and connections beyond maxConnections are refused with 421.
+ */
+public class FakeSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    private final AtomicInteger rejectedCount = new AtomicInteger();
+
+    private final Duration latency;
+
+    private final double failureRate;
+
+    private final int maxConnections;
+
+    private volatile boolean running = true;
+
+    public FakeSmtpServer() throws IOException {
+        this(Duration.ZERO, 0, Integer.MAX_VALUE);
+    }
+
+    public FakeSmtpServer(Duration latency, double failureRate, int maxConnections) throws IOException {
+        this.latency = latency;
+        this.failureRate = failureRate;
+        this.maxConnections = maxConnections;
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+
+        Thread.ofVirtual().name("fake-smtp-acceptor").start(this::acceptLoop);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public List<String> getMessages() {
+        return messages;
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    public int getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /*
+     * Drops every open client connection without a QUIT, as a relay restart or idle timeout would.
+     */
+    public void dropConnections() {
+        openSockets.forEach(FakeSmtpServer::closeQuietly);
+        openSockets.clear();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        closeQuietly(serverSocket);
+        dropConnections();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                connectionCount.incrementAndGet();
+                openSockets.add(socket);
+
+                Thread.ofVirtual().start(() -> handle(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+                BufferedReader reader =
+                        new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                OutputStream out = socket.getOutputStream()) {
+
+            if (openSockets.size() > maxConnections) {
+                reply(out, "421 Too many connections");
+                return;
+            }
+
+            reply(out, "220 fake-smtp ready");
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+
+                switch (command) {
+                    case "EHLO", "HELO" -> reply(out, "250 fake-smtp");
+                    case "MAIL", "RCPT", "RSET", "NOOP" -> reply(out, "250 OK");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        String data = readData(reader);
+
+                        pause(latency);
+
+                        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                            rejectedCount.incrementAndGet();
+                            reply(out, "554 Transaction failed");
+                        } else {
+                            messages.add(data);
+                            reply(out, "250 OK queued");
+                        }
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (SocketException e) {
+            // connection dropped by the client or by dropConnections()
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            openSockets.remove(socket);
+        }
+    }
+
+    private static String readData(BufferedReader reader) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+
+        while ((line = reader.readLine()) != null && !line.equals(".")) {
+            data.append(line.startsWith("..") ? line.substring(1) : line).append("\r\n");
+        }
+
+        return data.toString();
+    }
+
+    private static void pause(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void reply(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            // ignored
+        }
+    }
+}
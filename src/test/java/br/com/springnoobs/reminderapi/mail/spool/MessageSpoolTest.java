@@ -0,0 +1,98 @@
+package br.com.springnoobs.reminderapi.mail.spool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class MessageSpoolTest {
+
+    @TempDir
+    private Path directory;
+
+    private MessageSpool spool;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        spool = new MessageSpool(true, directory, DataSize.ofBytes(64));
+        spool.open();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        spool.close();
+    }
+
+    @Test
+    void shouldReadSpooledMessageWhenAppended() throws IOException {
+        // Arrange
+        byte[] message = "Subject: Lembrete\r\n\r\nbody".getBytes(StandardCharsets.US_ASCII);
+        spool.append(1L, "2-days", message);
+
+        // Act
+        Optional<InputStream> spooled = spool.open(1L, "2-days");
+
+        // Assert
+        assertTrue(spooled.isPresent());
+        assertArrayEquals(message, spooled.get().readAllBytes());
+        assertFalse(spool.open(1L, "5-days").isPresent());
+    }
+
+    @Test
+    void shouldDropAllOffsetsWhenReminderIsInvalidated() {
+        // Arrange
+        spool.append(1L, "5-days", new byte[] {1});
+        spool.append(1L, "2-days", new byte[] {2});
+        spool.append(2L, "2-days", new byte[] {3});
+
+        // Act
+        spool.invalidate(1L);
+
+        // Assert
+        assertFalse(spool.contains(1L, "5-days"));
+        assertFalse(spool.contains(1L, "2-days"));
+        assertTrue(spool.contains(2L, "2-days"));
+    }
+
+    @Test
+    void shouldReturnLatestMessageWhenKeyIsSpooledTwice() throws IOException {
+        // Arrange
+        spool.append(1L, "2-days", "old".getBytes(StandardCharsets.US_ASCII));
+        spool.append(1L, "2-days", "new".getBytes(StandardCharsets.US_ASCII));
+
+        // Act
+        byte[] message = spool.open(1L, "2-days").orElseThrow().readAllBytes();
+
+        // Assert
+        assertEquals("new", new String(message, StandardCharsets.US_ASCII));
+        assertEquals(1, spool.size());
+    }
+
+    @Test
+    void shouldDeleteSealedSegmentWhenNoEntryIsLive() {
+        // Arrange
+        spool.append(1L, "2-days", new byte[64]);
+        spool.append(2L, "2-days", new byte[64]);
+        spool.append(3L, "2-days", new byte[64]);
+
+        // Act
+        spool.invalidate(1L);
+        spool.evictSpooledBefore(Instant.now().plusSeconds(1));
+
+        // Assert
+        assertEquals(0, spool.size());
+        assertEquals(1, spool.getSegmentCount());
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.springnoobs.reminderapi.mail.template;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+
+/*
+ * Compares the previous MailEngine rendering path (classpath read + String.replace per variable) with the
+ * precompiled template. Run with: ./mvnw -Pbenchmark verify -Djmh.includes=EmailTemplateBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final String TEMPLATE_PATH = "templates/email/email-template.html";
+
+    private EmailTemplate compiledTemplate;
+
+    private Map<String, String> variables;
+
+    @Setup
+    public void setup() {
+        compiledTemplate = EmailTemplateCompiler.compileClasspath(TEMPLATE_PATH);
+
+        variables = new HashMap<>();
+        variables.put("name", "John");
+        variables.put("email", "john.doe@test.com");
+        variables.put("title", "Pagar a conta de luz");
+        variables.put("remind_at", "01/12/2025");
+        variables.put("due_date", "11/12/2025");
+        variables.put("disable_notification_url", "http://localhost:8080/reminders/1/disable-notifications");
+        variables.put("subject", "Lembrete - Pagar a conta de luz");
+    }
+
+    @Benchmark
+    public String legacyReadAndReplace() throws IOException {
+        String result = new String(
+                new ClassPathResource(TEMPLATE_PATH).getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+        for (Map.Entry<String, String> entry : variables.entrySet()) {
+            String emailVariable = "{{" + entry.getKey() + "}}";
+
+            if (result.contains(emailVariable)) {
+                result = result.replace(emailVariable, entry.getValue());
+            }
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public String compiledRender() {
+        return compiledTemplate.render(variables);
+    }
+}
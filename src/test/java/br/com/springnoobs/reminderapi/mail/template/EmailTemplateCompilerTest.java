@@ -0,0 +1,85 @@
+package br.com.springnoobs.reminderapi.mail.template;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class EmailTemplateCompilerTest {
+
+    @Test
+    void shouldRenderAllPlaceholdersWhenVariablesArePresent() {
+        // Arrange
+        EmailTemplate template = EmailTemplateCompiler.compile("<p>Olá {{name}}, {{title}} vence em {{due_date}}</p>");
+
+        // Act
+        String html = template.render(Map.of("name", "John", "title", "Pagar conta", "due_date", "11/12/2025"));
+
+        // Assert
+        assertEquals("<p>Olá John, Pagar conta vence em 11/12/2025</p>", html);
+    }
+
+    @Test
+    void shouldEscapeHtmlWhenVariableContainsMarkup() {
+        // Arrange
+        EmailTemplate template = EmailTemplateCompiler.compile("<a href=\"{{url}}\">{{title}}</a>");
+
+        // Act
+        String html = template.render(Map.of("url", "http://x/?a=1&b=\"2\"", "title", "<script>'x'</script>"));
+
+        // Assert
+        assertEquals(
+                "<a href=\"http://x/?a=1&amp;b=&quot;2&quot;\">&lt;script&gt;&#39;x&#39;&lt;/script&gt;</a>", html);
+    }
+
+    @Test
+    void shouldNotEscapeWhenPlaceholderIsRaw() {
+        // Arrange
+        EmailTemplate template = EmailTemplateCompiler.compile("<div>{{{items}}}</div><p>{{count}}</p>");
+
+        // Act
+        String html = template.render(Map.of("items", "<p>A &amp; B</p>", "count", "<2>"));
+
+        // Assert
+        assertEquals("<div><p>A &amp; B</p></div><p>&lt;2&gt;</p>", html);
+    }
+
+    @Test
+    void shouldRenderEmptyWhenVariableIsMissing() {
+        // Arrange
+        EmailTemplate template = EmailTemplateCompiler.compile("[{{missing}}]");
+
+        // Act
+        String html = template.render(Map.of());
+
+        // Assert
+        assertEquals("[]", html);
+    }
+
+    @Test
+    void shouldKeepUnclosedPlaceholderAsLiteral() {
+        // Arrange
+        EmailTemplate template = EmailTemplateCompiler.compile("{{ name }} and {{broken");
+
+        // Act
+        String html = template.render(Map.of("name", "John"));
+
+        // Assert
+        assertEquals("John and {{broken", html);
+        assertArrayEquals(new String[] {"name"}, template.getPlaceholders());
+    }
+
+    @Test
+    void shouldCompileEmailTemplateFromClasspath() {
+        // Act
+        EmailTemplate template = EmailTemplateCompiler.compileClasspath("templates/email/email-template.html");
+        String html = template.render(Map.of("name", "John"));
+
+        // Assert
+        assertTrue(html.contains("<strong>John</strong>"));
+        assertFalse(html.contains("{{"));
+    }
+}
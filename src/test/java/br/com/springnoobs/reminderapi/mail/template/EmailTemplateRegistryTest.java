@@ -0,0 +1,52 @@
+package br.com.springnoobs.reminderapi.mail.template;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EmailTemplateRegistryTest {
+
+    private EmailTemplateRegistry registry;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        registry = new EmailTemplateRegistry(false);
+    }
+
+    @Test
+    void shouldCompileEveryTemplateWhenStarting() {
+        // Act & Assert
+        assertTrue(registry.getTemplateKeys()
+                .containsAll(Set.of(
+                        "email-template", "email-template-2-days", "email-digest-template", "email-digest-item")));
+    }
+
+    @Test
+    void shouldReturnVariantWhenVariantExists() {
+        // Act
+        String html = registry.get("email-template", "2-days", Locale.forLanguageTag("pt-BR"))
+                .render(Map.of("title", "Pagar conta"));
+
+        // Assert
+        assertTrue(html.contains("Faltam 2 dias"));
+    }
+
+    @Test
+    void shouldFallBackToPlainTemplateWhenVariantOrLocaleIsMissing() {
+        // Act & Assert
+        assertSame(registry.get("email-template"), registry.get("email-template", "10-days", Locale.ENGLISH));
+    }
+
+    @Test
+    void shouldThrowWhenTemplateDoesNotExist() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> registry.get("missing-template"));
+    }
+}
@@ -0,0 +1,177 @@
+package br.com.springnoobs.reminderapi.reminder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+import br.com.springnoobs.reminderapi.reminder.dto.request.UpdateReminderRequestDTO;
+import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import br.com.springnoobs.reminderapi.schedule.service.JobService;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffsetPlans;
+import br.com.springnoobs.reminderapi.user.entity.Contact;
+import br.com.springnoobs.reminderapi.user.entity.User;
+import br.com.springnoobs.reminderapi.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/*
+ * PUT /reminders/{id} latency under concurrent load against the JDBC job store. Seeds scheduled reminders in H2,
+ * then updates each one twice from a thread pool: once keeping the due date (title-only, skips the scheduler)
+ * and once moving it (reschedules the moved triggers). Reports requests/sec, p50 and p99 for both rounds.
+ * Excluded from the regular build, run with: ./mvnw -Pbenchmark test -Dtest=ReminderUpdateLatencyHarnessTest
+ * Tune with -Dharness.reminders and -Dharness.threads. A rescheduling PUT holds two connections (the request's
+ * open-in-view session and the Quartz job store), so the pool is sized above twice the default thread count.
+ */
+@Tag("benchmark")
+@SpringBootTest(
+        properties = {
+            "spring.quartz.auto-startup=false",
+            "spring.jpa.show-sql=false",
+            "spring.datasource.hikari.maximum-pool-size=50"
+        })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReminderUpdateLatencyHarnessTest {
+
+    private static final int REMINDERS = Integer.getInteger("harness.reminders", 500);
+
+    private static final int THREADS = Integer.getInteger("harness.threads", 20);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private ReminderOffsetPlans offsetPlans;
+
+    @Test
+    void shouldReportLatencyWhenUpdatingRemindersConcurrently() throws Exception {
+        // Arrange
+        List<Reminder> reminders = seedReminders();
+        jobService.scheduleJobs(reminders);
+
+        // Act
+        Round titleOnly = updateAll(reminders, reminder -> reminder.getDueDate());
+        Round dueDateMoved =
+                updateAll(reminders, reminder -> reminder.getDueDate().plus(Duration.ofHours(1)));
+
+        // Assert
+        report("title-only", titleOnly);
+        report("due date moved", dueDateMoved);
+
+        assertEquals(reminders.size(), titleOnly.latencies().length);
+        assertEquals(reminders.size(), dueDateMoved.latencies().length);
+    }
+
+    private Round updateAll(List<Reminder> reminders, Function<Reminder, Instant> dueDate) throws Exception {
+        long[] latencies = new long[reminders.size()];
+        List<Future<?>> updates = new ArrayList<>();
+
+        long startedAt = System.nanoTime();
+
+        try (ExecutorService clients = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < reminders.size(); i++) {
+                int index = i;
+                Reminder reminder = reminders.get(index);
+                byte[] body = objectMapper.writeValueAsBytes(
+                        new UpdateReminderRequestDTO("Updated " + index, dueDate.apply(reminder), null));
+
+                updates.add(clients.submit(() -> {
+                    long requestedAt = System.nanoTime();
+
+                    int status = mockMvc.perform(put("/reminders/{id}", reminder.getId())
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(body))
+                            .andReturn()
+                            .getResponse()
+                            .getStatus();
+
+                    latencies[index] = System.nanoTime() - requestedAt;
+
+                    assertEquals(200, status);
+                    return null;
+                }));
+            }
+
+            for (Future<?> update : updates) {
+                update.get();
+            }
+        }
+
+        return new Round(latencies, System.nanoTime() - startedAt);
+    }
+
+    private void report(String name, Round round) {
+        int requests = round.latencies().length;
+
+        long[] sorted = round.latencies().clone();
+        Arrays.sort(sorted);
+
+        System.out.printf(
+                "%nPUT latency (%s): %d requests, %d threads, %.1f requests/sec, p50 %.2f ms, p99 %.2f ms%n%n",
+                name,
+                requests,
+                THREADS,
+                requests / (round.elapsed() / 1e9),
+                percentile(sorted, 0.50) / 1e6,
+                percentile(sorted, 0.99) / 1e6);
+    }
+
+    private List<Reminder> seedReminders() {
+        String defaultPlan = offsetPlans.getDefaultPlan().format();
+        List<Reminder> reminders = new ArrayList<>();
+
+        for (int i = 0; i < REMINDERS; i++) {
+            User user = new User();
+            user.setFirstName("User " + i);
+            user.setLastName("Harness");
+
+            Contact contact = new Contact();
+            contact.setEmail("user" + i + "-" + System.nanoTime() + "@harness.test");
+            contact.setUser(user);
+            user.setContact(contact);
+
+            Reminder reminder = new Reminder();
+            reminder.setTitle("Reminder " + i);
+            reminder.setDueDate(Instant.now().plus(Duration.ofDays(30)).truncatedTo(ChronoUnit.MILLIS));
+            reminder.setScheduledOffsetPlan(defaultPlan);
+            reminder.setUser(user);
+            user.getReminders().add(reminder);
+
+            userRepository.save(user);
+            reminders.add(reminder);
+        }
+
+        return reminders;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private record Round(long[] latencies, long elapsed) {}
+}
@@ -10,6 +10,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import br.com.springnoobs.reminderapi.reminder.dto.request.CreateReminderRequestDTO;
 import br.com.springnoobs.reminderapi.reminder.dto.request.UpdateReminderRequestDTO;
+import br.com.springnoobs.reminderapi.reminder.dto.response.NotificationDeliveryResponseDTO;
+import br.com.springnoobs.reminderapi.reminder.dto.response.NotificationDeliveryStatus;
 import br.com.springnoobs.reminderapi.reminder.dto.response.ReminderResponseDTO;
 import br.com.springnoobs.reminderapi.reminder.exception.NotFoundException;
 import br.com.springnoobs.reminderapi.reminder.exception.ReminderSchedulerException;
@@ -18,6 +20,7 @@ import br.com.springnoobs.reminderapi.user.dto.request.ContactRequestDTO;
 import br.com.springnoobs.reminderapi.user.dto.request.CreateUserRequestDTO;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -93,12 +96,47 @@ class ReminderControllerTest {
                 .andDo(document("find-reminder-by-id-not-found"));
     }
 
+    @Test
+    void shouldReturnDeliveriesWhenFindDeliveriesWithValidId() throws Exception {
+        long reminderId = 1L;
+        Instant dueDate = Instant.now().plus(3, ChronoUnit.DAYS);
+        var deliveries = List.of(
+                new NotificationDeliveryResponseDTO(
+                        "10-days",
+                        dueDate.minus(10, ChronoUnit.DAYS),
+                        NotificationDeliveryStatus.SENT,
+                        dueDate.minus(10, ChronoUnit.DAYS)),
+                new NotificationDeliveryResponseDTO(
+                        "5-days", dueDate.minus(5, ChronoUnit.DAYS), NotificationDeliveryStatus.SENT, Instant.now()),
+                new NotificationDeliveryResponseDTO(
+                        "2-days", dueDate.minus(2, ChronoUnit.DAYS), NotificationDeliveryStatus.SCHEDULED, null));
+        when(service.findDeliveries(reminderId)).thenReturn(deliveries);
+
+        mockMvc.perform(get("/reminders/{id}/deliveries", reminderId).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].offset").value("10-days"))
+                .andExpect(jsonPath("$[0].status").value("SENT"))
+                .andExpect(jsonPath("$[2].status").value("SCHEDULED"))
+                .andDo(document("find-reminder-deliveries"));
+    }
+
+    @Test
+    void shouldReturnNotFoundWhenFindDeliveriesWithInvalidId() throws Exception {
+        long reminderId = 99L;
+        when(service.findDeliveries(reminderId)).thenThrow(new NotFoundException("Reminder not found"));
+
+        mockMvc.perform(get("/reminders/{id}/deliveries", reminderId).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andDo(document("find-reminder-deliveries-not-found"));
+    }
+
     @Test
     void shouldCreateReminderWhenRequestIsValid() throws Exception {
         CreateUserRequestDTO createUserRequestDTO = new CreateUserRequestDTO(
                 "First Name", "Last Name", new ContactRequestDTO("email@test.com", "123456789"));
 
-        var request = new CreateReminderRequestDTO("New Reminder", Instant.now().plusSeconds(60), createUserRequestDTO);
+        var request =
+                new CreateReminderRequestDTO("New Reminder", Instant.now().plusSeconds(60), createUserRequestDTO, null);
         var response = new ReminderResponseDTO(request.title(), request.dueDate());
 
         when(service.create(request)).thenReturn(response);
@@ -116,8 +154,8 @@ class ReminderControllerTest {
         CreateUserRequestDTO createUserRequestDTO = new CreateUserRequestDTO(
                 "First Name", "Last Name", new ContactRequestDTO("email@test.com", "123456789"));
 
-        var request =
-                new CreateReminderRequestDTO("Past Reminder", Instant.now().minusSeconds(60), createUserRequestDTO);
+        var request = new CreateReminderRequestDTO(
+                "Past Reminder", Instant.now().minusSeconds(60), createUserRequestDTO, null);
 
         mockMvc.perform(post("/reminders")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -132,7 +170,8 @@ class ReminderControllerTest {
         CreateUserRequestDTO createUserRequestDTO = new CreateUserRequestDTO(
                 "First Name", "Last Name", new ContactRequestDTO("email@test.com", "123456789"));
 
-        var request = new CreateReminderRequestDTO("New Reminder", Instant.now().plusSeconds(60), createUserRequestDTO);
+        var request =
+                new CreateReminderRequestDTO("New Reminder", Instant.now().plusSeconds(60), createUserRequestDTO, null);
 
         when(service.create(request)).thenThrow(new ReminderSchedulerException("Scheduler error on create"));
 
@@ -149,7 +188,7 @@ class ReminderControllerTest {
     void shouldUpdateReminderWhenRequestIsValid() throws Exception {
         long reminderId = 1L;
         var request =
-                new UpdateReminderRequestDTO("Updated Reminder", Instant.now().plusSeconds(60));
+                new UpdateReminderRequestDTO("Updated Reminder", Instant.now().plusSeconds(60), null);
         var response = new ReminderResponseDTO(request.title(), request.dueDate());
 
         when(service.update(reminderId, request)).thenReturn(response);
@@ -166,7 +205,7 @@ class ReminderControllerTest {
     void shouldReturnBadRequestWhenUpdatingReminderWithPastDate() throws Exception {
         long reminderId = 1L;
         var request =
-                new UpdateReminderRequestDTO("Past Reminder", Instant.now().minusSeconds(60));
+                new UpdateReminderRequestDTO("Past Reminder", Instant.now().minusSeconds(60), null);
 
         mockMvc.perform(put("/reminders/{id}", reminderId)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -180,7 +219,7 @@ class ReminderControllerTest {
     void shouldReturnNotFoundWhenUpdatingNonExistentReminder() throws Exception {
         long reminderId = 99L;
         var request =
-                new UpdateReminderRequestDTO("Updated Reminder", Instant.now().plusSeconds(60));
+                new UpdateReminderRequestDTO("Updated Reminder", Instant.now().plusSeconds(60), null);
 
         when(service.update(reminderId, request)).thenThrow(new NotFoundException("Reminder not found"));
 
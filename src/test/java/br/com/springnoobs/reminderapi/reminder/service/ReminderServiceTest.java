@@ -4,20 +4,28 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import br.com.springnoobs.reminderapi.mail.spool.MessageSpool;
 import br.com.springnoobs.reminderapi.reminder.dto.request.CreateReminderRequestDTO;
 import br.com.springnoobs.reminderapi.reminder.dto.request.UpdateReminderRequestDTO;
+import br.com.springnoobs.reminderapi.reminder.dto.response.NotificationDeliveryResponseDTO;
+import br.com.springnoobs.reminderapi.reminder.dto.response.NotificationDeliveryStatus;
 import br.com.springnoobs.reminderapi.reminder.dto.response.ReminderResponseDTO;
 import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
 import br.com.springnoobs.reminderapi.reminder.exception.NotFoundException;
 import br.com.springnoobs.reminderapi.reminder.exception.ReminderSchedulerException;
 import br.com.springnoobs.reminderapi.reminder.repository.ReminderRepository;
-import br.com.springnoobs.reminderapi.schedule.service.JobService;
+import br.com.springnoobs.reminderapi.schedule.dispatch.NotificationLedger;
+import br.com.springnoobs.reminderapi.schedule.engine.ReminderScheduleEngine;
+import br.com.springnoobs.reminderapi.schedule.entity.NotificationDelivery;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffsetPlan;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffsetPlans;
 import br.com.springnoobs.reminderapi.user.dto.request.ContactRequestDTO;
 import br.com.springnoobs.reminderapi.user.dto.request.CreateUserRequestDTO;
 import br.com.springnoobs.reminderapi.user.entity.Contact;
 import br.com.springnoobs.reminderapi.user.entity.User;
 import br.com.springnoobs.reminderapi.user.service.UserService;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -36,17 +44,29 @@ class ReminderServiceTest {
     private ReminderRepository repository;
 
     @Mock
-    private JobService jobService;
+    private ReminderScheduleEngine scheduleEngine;
 
     @Mock
     private UserService userService;
 
+    @Mock
+    private MessageSpool messageSpool;
+
+    @Mock
+    private ReminderOffsetPlans offsetPlans;
+
+    @Mock
+    private NotificationLedger notificationLedger;
+
     @InjectMocks
     private ReminderService service;
 
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
+
+        when(offsetPlans.resolve(any(Reminder.class))).thenReturn(ReminderOffsetPlan.parse("10d,5d,2d"));
+        when(offsetPlans.resolveScheduled(any())).thenReturn(ReminderOffsetPlan.parse("10d,5d,2d"));
     }
 
     @Test
@@ -79,6 +99,35 @@ class ReminderServiceTest {
         assertEquals("Title", page.getContent().getFirst().title());
     }
 
+    @Test
+    void shouldReturnStatusPerOffsetWhenFindDeliveries() {
+        // Arrange
+        Instant dueDate = Instant.now().plus(3, ChronoUnit.DAYS);
+        Instant sentAt = Instant.now().minus(2, ChronoUnit.DAYS);
+
+        Reminder reminder = new Reminder();
+        reminder.setId(1L);
+        reminder.setDueDate(dueDate);
+
+        when(repository.findById(1L)).thenReturn(Optional.of(reminder));
+        when(notificationLedger.findDeliveries(1L))
+                .thenReturn(List.of(
+                        new NotificationDelivery(1L, "10-days", dueDate, sentAt),
+                        new NotificationDelivery(1L, "2-days", dueDate.minus(1, ChronoUnit.DAYS), sentAt)));
+
+        // Act
+        List<NotificationDeliveryResponseDTO> deliveries = service.findDeliveries(1L);
+
+        // Assert
+        assertEquals(3, deliveries.size());
+        assertEquals("10-days", deliveries.get(0).offset());
+        assertEquals(NotificationDeliveryStatus.SENT, deliveries.get(0).status());
+        assertEquals(sentAt, deliveries.get(0).sentAt());
+        assertEquals(NotificationDeliveryStatus.NOT_SENT, deliveries.get(1).status());
+        assertEquals(NotificationDeliveryStatus.SCHEDULED, deliveries.get(2).status());
+        assertEquals(dueDate.minus(2, ChronoUnit.DAYS), deliveries.get(2).fireAt());
+    }
+
     @Test
     void shouldThrowNotFoundExceptionWhenTryFindReminderByIdWithInvalidId() {
         // Arrange
@@ -112,7 +161,7 @@ class ReminderServiceTest {
 
         // Arrange
         Instant dueDate = Instant.now().plusSeconds(60);
-        CreateReminderRequestDTO request = new CreateReminderRequestDTO("Create", dueDate, createUserRequestDTO);
+        CreateReminderRequestDTO request = new CreateReminderRequestDTO("Create", dueDate, createUserRequestDTO, null);
 
         Reminder reminder = new Reminder();
         reminder.setTitle(request.title());
@@ -133,7 +182,7 @@ class ReminderServiceTest {
 
         when(repository.save(any())).thenReturn(reminder);
         when(userService.createAndSaveUser(createUserRequestDTO)).thenReturn(user);
-        doNothing().when(jobService).scheduleJob(any(Reminder.class));
+        doNothing().when(scheduleEngine).schedule(any(Reminder.class));
 
         // Act
         ReminderResponseDTO response = service.create(request);
@@ -151,7 +200,7 @@ class ReminderServiceTest {
                 "First Name", "Last Name", new ContactRequestDTO("email@test.com", "123456789"));
 
         Instant dueDate = Instant.now().plusSeconds(60);
-        CreateReminderRequestDTO request = new CreateReminderRequestDTO("Create", dueDate, createUserRequestDTO);
+        CreateReminderRequestDTO request = new CreateReminderRequestDTO("Create", dueDate, createUserRequestDTO, null);
 
         when(userService.createAndSaveUser(any(CreateUserRequestDTO.class)))
                 .thenThrow(new NotFoundException("User not found"));
@@ -167,7 +216,7 @@ class ReminderServiceTest {
                 "First Name", "Last Name", new ContactRequestDTO("email@test.com", "123456789"));
 
         Instant dueDate = Instant.now().plusSeconds(60);
-        CreateReminderRequestDTO request = new CreateReminderRequestDTO("Create", dueDate, createUserRequestDTO);
+        CreateReminderRequestDTO request = new CreateReminderRequestDTO("Create", dueDate, createUserRequestDTO, null);
 
         User user = new User();
         user.setFirstName("First Name");
@@ -180,8 +229,8 @@ class ReminderServiceTest {
         when(userService.createAndSaveUser(any(CreateUserRequestDTO.class))).thenReturn(user);
         when(repository.save(any(Reminder.class))).thenReturn(reminder);
         doThrow(new SchedulerException("Failed to schedule job"))
-                .when(jobService)
-                .scheduleJob(any(Reminder.class));
+                .when(scheduleEngine)
+                .schedule(any(Reminder.class));
 
         // Act & Assert
         assertThrows(ReminderSchedulerException.class, () -> service.create(request));
@@ -191,14 +240,14 @@ class ReminderServiceTest {
     void shouldUpdateReminderWhenRequestIsValid() throws SchedulerException {
         // Arrange
         Instant dueDate = Instant.now().plusSeconds(60);
-        UpdateReminderRequestDTO request = new UpdateReminderRequestDTO("Update", dueDate);
+        UpdateReminderRequestDTO request = new UpdateReminderRequestDTO("Update", dueDate, null);
 
         Reminder reminder = new Reminder();
         reminder.setTitle("Old Title");
 
         when(repository.findById(1L)).thenReturn(Optional.of(reminder));
         when(repository.save(any())).thenReturn(reminder);
-        doNothing().when(jobService).updateReminderSchedules(any(Reminder.class));
+        doNothing().when(scheduleEngine).reschedule(any(Reminder.class));
 
         // Act
         ReminderResponseDTO response = service.update(1L, request);
@@ -210,11 +259,35 @@ class ReminderServiceTest {
         verify(repository).save(any());
     }
 
+    @Test
+    void shouldSkipSchedulerWhenUpdateKeepsDueDateAndOffsetPlan() throws SchedulerException {
+        // Arrange
+        Instant dueDate = Instant.now().plusSeconds(60);
+        UpdateReminderRequestDTO request = new UpdateReminderRequestDTO("Update", dueDate, null);
+
+        Reminder reminder = new Reminder();
+        reminder.setId(1L);
+        reminder.setTitle("Old Title");
+        reminder.setDueDate(dueDate);
+        reminder.setScheduledOffsetPlan("10d,5d,2d");
+
+        when(repository.findById(1L)).thenReturn(Optional.of(reminder));
+        when(repository.save(any())).thenReturn(reminder);
+
+        // Act
+        ReminderResponseDTO response = service.update(1L, request);
+
+        // Assert
+        assertEquals("Update", response.title());
+        verify(scheduleEngine, never()).reschedule(any(Reminder.class));
+        verify(messageSpool).invalidate(1L);
+    }
+
     @Test
     void shouldThrowNotFoundExceptionWhenTryUpdateReminderWithInvalidId() {
         // Arrange
         Instant dueDate = Instant.now().plusSeconds(60);
-        UpdateReminderRequestDTO request = new UpdateReminderRequestDTO("Update", dueDate);
+        UpdateReminderRequestDTO request = new UpdateReminderRequestDTO("Update", dueDate, null);
 
         when(repository.findById(1L)).thenReturn(Optional.empty());
 
@@ -226,15 +299,15 @@ class ReminderServiceTest {
     void shouldThrowReminderSchedulerExceptionWhenUpdateReminderFailsToSchedule() throws SchedulerException {
         // Arrange
         Instant dueDate = Instant.now().plusSeconds(60);
-        UpdateReminderRequestDTO request = new UpdateReminderRequestDTO("Update", dueDate);
+        UpdateReminderRequestDTO request = new UpdateReminderRequestDTO("Update", dueDate, null);
 
         Reminder reminder = new Reminder();
         reminder.setTitle("Old Title");
 
         when(repository.findById(1L)).thenReturn(Optional.of(reminder));
         doThrow(new SchedulerException("Failed to update job"))
-                .when(jobService)
-                .updateReminderSchedules(any(Reminder.class));
+                .when(scheduleEngine)
+                .reschedule(any(Reminder.class));
 
         // Act & Assert
         assertThrows(ReminderSchedulerException.class, () -> service.update(1L, request));
@@ -248,13 +321,14 @@ class ReminderServiceTest {
         reminder.setTitle("Delete");
 
         when(repository.findById(1L)).thenReturn(Optional.of(reminder));
-        doNothing().when(jobService).deleteReminderSchedules(1L);
+        doNothing().when(scheduleEngine).unschedule(1L);
 
         // Act
         service.delete(1L);
 
         // Assert
         verify(repository).deleteById(1L);
+        verify(messageSpool).invalidate(1L);
     }
 
     @Test
@@ -274,7 +348,9 @@ class ReminderServiceTest {
         reminder.setTitle("Delete");
 
         when(repository.findById(1L)).thenReturn(Optional.of(reminder));
-        doThrow(new SchedulerException("Failed to delete job")).when(jobService).deleteReminderSchedules(1L);
+        doThrow(new SchedulerException("Failed to delete job"))
+                .when(scheduleEngine)
+                .unschedule(1L);
 
         // Act & Assert
         assertThrows(ReminderSchedulerException.class, () -> service.delete(1L));
@@ -305,15 +381,15 @@ class ReminderServiceTest {
         reminder.setId(reminderId);
 
         when(repository.findById(reminderId)).thenReturn(Optional.of(reminder));
-        doNothing().when(jobService).unscheduleReminderJobTriggers(reminderId);
+        doNothing().when(scheduleEngine).disableNotifications(reminderId);
 
         // Act
         service.disableReminderNotifications(reminderId);
 
         // Assert
         verify(repository).findById(reminderId);
-        verify(jobService).unscheduleReminderJobTriggers(reminderId);
-        verifyNoMoreInteractions(repository, jobService);
+        verify(scheduleEngine).disableNotifications(reminderId);
+        verifyNoMoreInteractions(repository, scheduleEngine);
     }
 
     @Test
@@ -327,6 +403,6 @@ class ReminderServiceTest {
 
         // Verify
         verify(repository).findById(invalidReminderId);
-        verifyNoInteractions(jobService);
+        verifyNoInteractions(scheduleEngine);
     }
 }
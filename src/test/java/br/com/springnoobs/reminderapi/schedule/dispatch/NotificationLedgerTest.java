@@ -0,0 +1,104 @@
+package br.com.springnoobs.reminderapi.schedule.dispatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import br.com.springnoobs.reminderapi.schedule.repository.NotificationDeliveryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationLedgerTest {
+
+    @Autowired
+    private NotificationDeliveryRepository repository;
+
+    private Reminder reminder;
+
+    @BeforeEach
+    public void setup() {
+        repository.deleteAll();
+
+        reminder = new Reminder();
+        reminder.setId(1L);
+        reminder.setDueDate(Instant.now().plus(5, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void shouldClaimOffsetOnceWhenTwoNodesFireTheSameTrigger() {
+        // Arrange
+        NotificationLedger first = new NotificationLedger(repository, new SimpleMeterRegistry(), true, 100);
+        NotificationLedger second = new NotificationLedger(repository, new SimpleMeterRegistry(), true, 100);
+
+        // Act
+        boolean claimedByFirst = first.claim(reminder, "2-days");
+        boolean claimedAgainByFirst = first.claim(reminder, "2-days");
+        boolean claimedBySecond = second.claim(reminder, "2-days");
+        boolean otherOffset = second.claim(reminder, "5-days");
+
+        // Assert
+        assertTrue(claimedByFirst);
+        assertFalse(claimedAgainByFirst);
+        assertFalse(claimedBySecond);
+        assertTrue(otherOffset);
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    void shouldClaimOffsetAgainWhenDueDateMoved() {
+        // Arrange
+        NotificationLedger ledger = new NotificationLedger(repository, new SimpleMeterRegistry(), true, 100);
+        ledger.claim(reminder, "2-days");
+
+        Instant movedDueDate = reminder.getDueDate().plus(1, ChronoUnit.DAYS);
+        reminder.setDueDate(movedDueDate);
+        NotificationLedger otherNode = new NotificationLedger(repository, new SimpleMeterRegistry(), true, 100);
+
+        // Act
+        boolean claimed = otherNode.claim(reminder, "2-days");
+
+        // Assert
+        assertTrue(claimed);
+        assertEquals(1, repository.count());
+        assertEquals(movedDueDate, ledger.findDeliveries(1L).getFirst().getDueDate());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlySeenKeyWhenHotKeysAreFull() {
+        // Arrange
+        NotificationLedger ledger = new NotificationLedger(repository, new SimpleMeterRegistry(), true, 2);
+        ledger.claim(reminder, "10-days");
+        ledger.claim(reminder, "5-days");
+        ledger.claim(reminder, "10-days");
+        ledger.claim(reminder, "2-days");
+        repository.deleteAll();
+
+        // Act
+        boolean recentlySeen = ledger.claim(reminder, "10-days");
+        boolean evicted = ledger.claim(reminder, "5-days");
+
+        // Assert
+        assertFalse(recentlySeen);
+        assertTrue(evicted);
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.springnoobs.reminderapi.schedule.dispatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.scheduling.TaskScheduler;
+
+class ReminderCoalescerTest {
+
+    @Mock
+    private ReminderDispatcher reminderDispatcher;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private ReminderCoalescer coalescer;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        coalescer = new ReminderCoalescer(reminderDispatcher, taskScheduler, true, Duration.ofSeconds(60));
+    }
+
+    @Test
+    void shouldNotAcceptWhenDisabled() {
+        // Arrange
+        ReminderCoalescer disabled =
+                new ReminderCoalescer(reminderDispatcher, taskScheduler, false, Duration.ofSeconds(60));
+
+        // Act
+        boolean accepted = disabled.offer(1L, 10L, "5-days");
+
+        // Assert
+        assertFalse(accepted);
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void shouldDispatchDigestWhenUserHasSeveralRemindersInWindow() {
+        // Arrange
+        assertTrue(coalescer.offer(1L, 10L, "5-days"));
+        assertTrue(coalescer.offer(1L, 11L, "2-days"));
+        assertTrue(coalescer.offer(2L, 20L, "5-days"));
+
+        // Act
+        coalescer.flush(1L);
+
+        // Assert
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+        verify(reminderDispatcher)
+                .dispatchDigest(List.of(new FiredReminder(10L, "5-days"), new FiredReminder(11L, "2-days")));
+        assertEquals(1, coalescer.getPendingCount());
+    }
+
+    @Test
+    void shouldDispatchSingleReminderWhenUserHasOnlyOne() {
+        // Arrange
+        coalescer.offer(1L, 10L, "5-days");
+
+        // Act
+        coalescer.flush(1L);
+
+        // Assert
+        verify(reminderDispatcher).dispatch(10L, "5-days");
+        verify(reminderDispatcher, never()).dispatchDigest(any());
+    }
+
+    @Test
+    void shouldFlushPendingRemindersWhenShuttingDown() {
+        // Arrange
+        coalescer.offer(1L, 10L, "5-days");
+        coalescer.offer(2L, 20L, "5-days");
+
+        // Act
+        coalescer.flushAll();
+
+        // Assert
+        verify(reminderDispatcher, times(2)).dispatch(anyLong(), anyString());
+        assertEquals(0, coalescer.getPendingCount());
+    }
+}
@@ -0,0 +1,241 @@
+package br.com.springnoobs.reminderapi.schedule.dispatch;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import br.com.springnoobs.reminderapi.mail.service.EmailService;
+import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import br.com.springnoobs.reminderapi.reminder.repository.ReminderRepository;
+import br.com.springnoobs.reminderapi.reminder.service.ReminderService;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class ReminderDispatcherTest {
+
+    @Mock
+    private ReminderRepository reminderRepository;
+
+    @Mock
+    private ReminderService reminderService;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private NotificationLedger notificationLedger;
+
+    private ReminderDispatcher dispatcher;
+
+    private Reminder reminder;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        reminder = new Reminder();
+        reminder.setId(1L);
+        reminder.setTitle("Test Reminder");
+
+        when(reminderRepository.findByIdWithAssociations(1L)).thenReturn(Optional.of(reminder));
+        when(notificationLedger.claim(any(), any())).thenReturn(true);
+
+        dispatcher = new ReminderDispatcher(
+                reminderRepository,
+                reminderService,
+                emailService,
+                notificationLedger,
+                false,
+                10,
+                1,
+                Duration.ofSeconds(5));
+    }
+
+    @Test
+    void shouldSendInlineWhenAsyncIsDisabled() {
+        // Act
+        dispatcher.dispatch(1L);
+
+        // Assert
+        verify(emailService).send(reminder, null);
+        verify(reminderService).registerReminderExecution(reminder);
+    }
+
+    @Test
+    void shouldSendOnWorkerThreadWhenAsyncIsEnabled() throws InterruptedException {
+        // Arrange
+        ReminderDispatcher dispatcher = new ReminderDispatcher(
+                reminderRepository,
+                reminderService,
+                emailService,
+                notificationLedger,
+                true,
+                10,
+                1,
+                Duration.ofSeconds(5));
+        dispatcher.startWorkers();
+
+        // Act
+        dispatcher.dispatch(1L);
+
+        // Assert
+        verify(emailService, timeout(2000)).send(reminder, null);
+        verify(reminderService, timeout(2000)).registerReminderExecution(reminder);
+
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void shouldRegisterFailureWhenQueueIsFull() throws InterruptedException {
+        // Arrange
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+                    sending.countDown();
+                    release.await();
+                    return null;
+                })
+                .when(emailService)
+                .send(any(), any());
+
+        ReminderDispatcher dispatcher = new ReminderDispatcher(
+                reminderRepository,
+                reminderService,
+                emailService,
+                notificationLedger,
+                true,
+                1,
+                1,
+                Duration.ofSeconds(5));
+        dispatcher.startWorkers();
+
+        dispatcher.dispatch(1L);
+        sending.await();
+        dispatcher.dispatch(1L);
+
+        // Act
+        dispatcher.dispatch(1L, "2-days");
+
+        // Assert
+        verify(emailService).registerSendFailure(reminder, "2-days", ReminderDispatcher.QUEUE_FULL_MESSAGE);
+
+        release.countDown();
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void shouldDrainQueueWhenShuttingDown() throws InterruptedException {
+        // Arrange
+        ReminderDispatcher dispatcher = new ReminderDispatcher(
+                reminderRepository,
+                reminderService,
+                emailService,
+                notificationLedger,
+                true,
+                10,
+                1,
+                Duration.ofSeconds(5));
+
+        dispatcher.dispatch(1L);
+        dispatcher.dispatch(1L);
+        dispatcher.startWorkers();
+
+        // Act
+        dispatcher.shutdown();
+
+        // Assert
+        verify(emailService, times(2)).send(reminder, null);
+        verify(emailService, never()).registerSendFailure(any(), any(), any());
+    }
+
+    @Test
+    void shouldLoadAndRegisterOnceWhenDispatchingBatch() {
+        // Arrange
+        Reminder other = new Reminder();
+        other.setId(2L);
+        other.setTitle("Other Reminder");
+
+        when(reminderRepository.findAllByIdWithAssociations(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(other, reminder));
+
+        when(emailService.sendBatch(any())).thenReturn(List.of(reminder, other));
+
+        // Act
+        dispatcher.dispatchBatch(List.of(
+                new FiredReminder(1L, "2-days"), new FiredReminder(2L, "5-days"), new FiredReminder(3L, "2-days")));
+
+        // Assert
+        verify(emailService).sendBatch(Map.of(reminder, "2-days", other, "5-days"));
+        verify(emailService, never()).send(any(), any());
+        verify(reminderRepository, never()).findByIdWithAssociations(any());
+        verify(reminderService).registerReminderExecutions(List.of(reminder, other));
+        verify(reminderService, never()).registerReminderExecution(any());
+    }
+
+    @Test
+    void shouldSkipSendWhenOffsetWasAlreadyDelivered() {
+        // Arrange
+        when(notificationLedger.claim(reminder, "2-days")).thenReturn(false);
+
+        // Act
+        dispatcher.dispatch(1L, "2-days");
+
+        // Assert
+        verify(emailService, never()).send(any(), any());
+        verify(reminderService, never()).registerReminderExecution(any());
+    }
+
+    @Test
+    void shouldClaimEachOffsetWhenDispatchingDigest() {
+        // Arrange
+        Reminder other = new Reminder();
+        other.setId(2L);
+        other.setTitle("Other Reminder");
+
+        Reminder delivered = new Reminder();
+        delivered.setId(3L);
+        delivered.setTitle("Delivered Reminder");
+
+        when(reminderRepository.findAllByIdWithAssociations(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(delivered, other, reminder));
+        when(notificationLedger.claim(delivered, "2-days")).thenReturn(false);
+
+        // Act
+        dispatcher.dispatchDigest(List.of(
+                new FiredReminder(1L, "2-days"), new FiredReminder(2L, "5-days"), new FiredReminder(3L, "2-days")));
+
+        // Assert
+        verify(notificationLedger).claim(reminder, "2-days");
+        verify(notificationLedger).claim(other, "5-days");
+        verify(emailService).sendDigest(Map.of(reminder, "2-days", other, "5-days"));
+        verify(reminderService).registerReminderExecutions(List.of(reminder, other));
+    }
+
+    @Test
+    void shouldNotSendDigestWhenEveryOffsetWasAlreadyDelivered() {
+        // Arrange
+        Reminder other = new Reminder();
+        other.setId(2L);
+
+        when(reminderRepository.findAllByIdWithAssociations(List.of(1L, 2L))).thenReturn(List.of(reminder, other));
+        when(notificationLedger.claim(any(), any())).thenReturn(false);
+
+        // Act
+        dispatcher.dispatchDigest(List.of(new FiredReminder(1L, "2-days"), new FiredReminder(2L, "2-days")));
+
+        // Assert
+        verify(emailService, never()).sendDigest(any());
+        verify(reminderService, never()).registerReminderExecutions(any());
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.springnoobs.reminderapi.schedule.dispatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.scheduling.TaskScheduler;
+
+class ReminderFiringBatcherTest {
+
+    @Mock
+    private ReminderDispatcher reminderDispatcher;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private ReminderFiringBatcher batcher;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        batcher = new ReminderFiringBatcher(reminderDispatcher, taskScheduler, true, Duration.ofMillis(200), 3);
+    }
+
+    @Test
+    void shouldNotAcceptWhenDisabled() {
+        // Arrange
+        ReminderFiringBatcher disabled =
+                new ReminderFiringBatcher(reminderDispatcher, taskScheduler, false, Duration.ofMillis(200), 3);
+
+        // Act
+        boolean accepted = disabled.offer(1L, "2-days");
+
+        // Assert
+        assertFalse(accepted);
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void shouldDispatchBatchWhenWindowCloses() {
+        // Arrange
+        assertTrue(batcher.offer(1L, "2-days"));
+        assertTrue(batcher.offer(2L, "5-days"));
+
+        // Act
+        batcher.flush();
+
+        // Assert
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+        verify(reminderDispatcher)
+                .dispatchBatch(List.of(new FiredReminder(1L, "2-days"), new FiredReminder(2L, "5-days")));
+        assertEquals(0, batcher.getPendingCount());
+    }
+
+    @Test
+    void shouldDispatchRightAwayWhenBatchIsFull() {
+        // Act
+        batcher.offer(1L, "2-days");
+        batcher.offer(2L, "2-days");
+        batcher.offer(3L, "2-days");
+        batcher.offer(4L, "2-days");
+
+        // Assert
+        verify(reminderDispatcher)
+                .dispatchBatch(List.of(
+                        new FiredReminder(1L, "2-days"),
+                        new FiredReminder(2L, "2-days"),
+                        new FiredReminder(3L, "2-days")));
+        assertEquals(1, batcher.getPendingCount());
+    }
+
+    @Test
+    void shouldKeepNextWindowOpenWhenTimerOfFullBatchFires() {
+        // Arrange
+        ArgumentCaptor<Runnable> timers = ArgumentCaptor.forClass(Runnable.class);
+
+        batcher.offer(1L, "2-days");
+        batcher.offer(2L, "2-days");
+        batcher.offer(3L, "2-days");
+        batcher.offer(4L, "2-days");
+        batcher.offer(5L, "2-days");
+
+        verify(taskScheduler, times(2)).schedule(timers.capture(), any(Instant.class));
+
+        // Act
+        timers.getAllValues().getFirst().run();
+
+        // Assert
+        assertEquals(2, batcher.getPendingCount());
+        verify(reminderDispatcher, times(1)).dispatchBatch(any());
+
+        timers.getAllValues().getLast().run();
+
+        verify(reminderDispatcher)
+                .dispatchBatch(List.of(new FiredReminder(4L, "2-days"), new FiredReminder(5L, "2-days")));
+        assertEquals(0, batcher.getPendingCount());
+    }
+}
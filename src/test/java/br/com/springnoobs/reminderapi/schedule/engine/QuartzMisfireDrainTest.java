@@ -0,0 +1,172 @@
+package br.com.springnoobs.reminderapi.schedule.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderCoalescer;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.impl.StdSchedulerFactory;
+import org.quartz.impl.matchers.GroupMatcher;
+
+class QuartzMisfireDrainTest {
+
+    private static final AtomicInteger executions = new AtomicInteger();
+
+    private Scheduler scheduler;
+
+    private ReminderDispatcher reminderDispatcher;
+
+    private QuartzMisfireDrain drain;
+
+    @BeforeEach
+    public void setup() throws SchedulerException {
+        Properties properties = new Properties();
+        properties.setProperty(StdSchedulerFactory.PROP_SCHED_INSTANCE_NAME, "misfire-" + UUID.randomUUID());
+        properties.setProperty(StdSchedulerFactory.PROP_JOB_STORE_CLASS, "org.quartz.simpl.RAMJobStore");
+        properties.setProperty("org.quartz.threadPool.threadCount", "2");
+
+        scheduler = new StdSchedulerFactory(properties).getScheduler();
+        reminderDispatcher = mock(ReminderDispatcher.class);
+        executions.set(0);
+
+        drain = new QuartzMisfireDrain(
+                scheduler,
+                mock(ReminderCoalescer.class),
+                reminderDispatcher,
+                new SimpleMeterRegistry(),
+                true,
+                2,
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(1));
+        drain.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws SchedulerException {
+        drain.stop();
+        scheduler.shutdown();
+    }
+
+    @Test
+    void shouldSendClosestDueDateFirstWhenTriggersMisfired() throws SchedulerException {
+        // Arrange
+        Instant now = Instant.now();
+        scheduleMisfired(1L, "2-days", now.plus(Duration.ofDays(5)), now.minus(Duration.ofHours(3)));
+        scheduleMisfired(2L, "2-days", now.plus(Duration.ofDays(3)), now.minus(Duration.ofHours(2)));
+        scheduleMisfired(3L, "2-days", now.plus(Duration.ofDays(1)), now.minus(Duration.ofHours(1)));
+
+        // Act
+        scheduler.start();
+
+        // Assert
+        InOrder inOrder = inOrder(reminderDispatcher);
+        inOrder.verify(reminderDispatcher, timeout(5000)).dispatch(3L, "2-days");
+        inOrder.verify(reminderDispatcher, timeout(5000)).dispatch(2L, "2-days");
+        verify(reminderDispatcher, timeout(5000)).dispatch(1L, "2-days");
+        assertEquals(0, executions.get());
+        assertEquals(3, drain.getCollectedCount());
+    }
+
+    @Test
+    void shouldDropEarlierOffsetWhenLaterOffsetOfSameReminderMisfired() throws SchedulerException {
+        // Arrange
+        Instant now = Instant.now();
+        Instant dueDate = now.plus(Duration.ofDays(1));
+        JobDetail job = scheduleMisfired(1L, "5-days", dueDate, now.minus(Duration.ofHours(3)));
+        scheduler.scheduleJob(misfiredTrigger(job, "2-days", dueDate, now.minus(Duration.ofHours(1))));
+
+        // Act
+        scheduler.start();
+
+        // Assert
+        verify(reminderDispatcher, timeout(5000)).dispatch(1L, "2-days");
+        verify(reminderDispatcher, after(1000).never()).dispatch(1L, "5-days");
+        assertEquals(0, drain.getPendingCount());
+        assertEquals(0, executions.get());
+        assertTrue(scheduler
+                .getTriggerKeys(GroupMatcher.triggerGroupEquals("reminders"))
+                .isEmpty());
+    }
+
+    @Test
+    void shouldKeepFallbacksFromFiringWhenBacklogOutlastsFallbackDelay() throws SchedulerException {
+        // Arrange
+        Instant now = Instant.now();
+        for (long reminderId = 1; reminderId <= 8; reminderId++) {
+            scheduleMisfired(
+                    reminderId,
+                    "2-days",
+                    now.plus(Duration.ofDays(reminderId)),
+                    now.minus(Duration.ofHours(reminderId)));
+        }
+
+        // Act
+        scheduler.start();
+
+        // Assert
+        verify(reminderDispatcher, timeout(10000)).dispatch(8L, "2-days");
+        assertEquals(0, executions.get());
+        assertTrue(scheduler
+                .getTriggerKeys(GroupMatcher.triggerGroupEquals("reminders"))
+                .isEmpty());
+    }
+
+    private JobDetail scheduleMisfired(long reminderId, String offset, Instant dueDate, Instant fireTime)
+            throws SchedulerException {
+        JobDetail job = JobBuilder.newJob(CountingJob.class)
+                .withIdentity("reminder-job-" + reminderId, "reminders")
+                .usingJobData("reminder-id", reminderId)
+                .storeDurably()
+                .build();
+
+        scheduler.addJob(job, true);
+        scheduler.scheduleJob(misfiredTrigger(job, offset, dueDate, fireTime));
+
+        return job;
+    }
+
+    private static Trigger misfiredTrigger(JobDetail job, String offset, Instant dueDate, Instant fireTime) {
+        return TriggerBuilder.newTrigger()
+                .withIdentity(
+                        "reminder-trigger-" + job.getJobDataMap().getLong("reminder-id") + "-" + offset, "reminders")
+                .forJob(job)
+                .usingJobData("offset", offset)
+                .usingJobData("due-date", dueDate.toEpochMilli())
+                .startAt(Date.from(fireTime))
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                .build();
+    }
+
+    public static class CountingJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {
+            executions.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package br.com.springnoobs.reminderapi.schedule.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import br.com.springnoobs.reminderapi.reminder.repository.ReminderRepository;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderCoalescer;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderDispatcher;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderFiringBatcher;
+import br.com.springnoobs.reminderapi.schedule.entity.ReminderNotification;
+import br.com.springnoobs.reminderapi.schedule.partition.PartitionLeaseManager;
+import br.com.springnoobs.reminderapi.schedule.repository.ReminderNodeRepository;
+import br.com.springnoobs.reminderapi.schedule.repository.ReminderNotificationRepository;
+import br.com.springnoobs.reminderapi.schedule.repository.ReminderPartitionLeaseRepository;
+import br.com.springnoobs.reminderapi.schedule.service.JobService;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffsetPlans;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.impl.StdSchedulerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QuartzReminderJobMigrationTest {
+
+    private static final int PARTITIONS = 8;
+
+    @Autowired
+    private ReminderNotificationRepository repository;
+
+    @Autowired
+    private ReminderPartitionLeaseRepository leaseRepository;
+
+    @Autowired
+    private ReminderNodeRepository nodeRepository;
+
+    private Scheduler scheduler;
+
+    private JobService jobService;
+
+    @BeforeEach
+    public void setup() throws SchedulerException {
+        repository.deleteAll();
+        leaseRepository.deleteAll();
+        nodeRepository.deleteAll();
+
+        Properties properties = new Properties();
+        properties.setProperty(StdSchedulerFactory.PROP_SCHED_INSTANCE_NAME, "migration-" + UUID.randomUUID());
+        properties.setProperty(StdSchedulerFactory.PROP_JOB_STORE_CLASS, "org.quartz.simpl.RAMJobStore");
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+
+        scheduler = new StdSchedulerFactory(properties).getScheduler();
+        jobService =
+                new JobService(scheduler, new ReminderOffsetPlans(mock(ReminderRepository.class), "10d,5d,2d"), 500);
+    }
+
+    @AfterEach
+    public void cleanup() throws SchedulerException {
+        scheduler.shutdown();
+        repository.deleteAll();
+        leaseRepository.deleteAll();
+        nodeRepository.deleteAll();
+    }
+
+    @Test
+    void shouldTakeOffsetFromTriggerNameWhenTriggerHasNoOffsetData() throws SchedulerException {
+        // Arrange
+        Instant fireAt = Instant.now().plus(Duration.ofDays(3));
+        JobDetail job = scheduleBaselineJob(1L);
+
+        scheduler.scheduleJob(baselineTrigger(job, "reminder-trigger-1-10-days", fireAt));
+        scheduler.scheduleJob(baselineTrigger(job, "reminder-trigger-1-2-days-drain-1700000000000", fireAt));
+
+        // Act
+        new QuartzReminderJobMigration(jobService, repository, true, 64).migrate();
+
+        // Assert
+        List<ReminderNotification> notifications = repository.findAll();
+
+        assertEquals(1, notifications.size());
+        assertEquals("10-days", notifications.getFirst().getOffset());
+        assertFalse(scheduler.checkExists(job.getKey()));
+    }
+
+    @Test
+    void shouldFireMigratedReminderWhenPartitionsAreEnabled() throws SchedulerException {
+        // Arrange
+        JobDetail job = scheduleBaselineJob(5L);
+        scheduler.scheduleJob(
+                baselineTrigger(job, "reminder-trigger-5-2-days", Instant.now().plusSeconds(5)));
+
+        PartitionLeaseManager leaseManager = new PartitionLeaseManager(
+                leaseRepository,
+                nodeRepository,
+                repository,
+                new SimpleMeterRegistry(),
+                true,
+                PARTITIONS,
+                Duration.ofMinutes(1),
+                "node-1");
+        ReminderDispatcher reminderDispatcher = mock(ReminderDispatcher.class);
+
+        // The lease manager opens at @PostConstruct, before the migration runs on ApplicationReadyEvent.
+        leaseManager.open();
+
+        // Act
+        new QuartzReminderJobMigration(jobService, repository, true, PARTITIONS).migrate();
+
+        int fired = new ReminderSweeper(
+                        repository,
+                        mock(ReminderCoalescer.class),
+                        mock(ReminderFiringBatcher.class),
+                        reminderDispatcher,
+                        new SimpleAsyncTaskScheduler(),
+                        leaseManager,
+                        Duration.ofSeconds(30),
+                        100,
+                        Duration.ofMinutes(2))
+                .sweep();
+
+        // Assert
+        assertEquals(
+                PartitionLeaseManager.partitionOf(5L, PARTITIONS),
+                repository.findAll().getFirst().getPartition());
+        assertEquals(1, fired);
+        verify(reminderDispatcher, timeout(10_000)).dispatch(5L, "2-days");
+    }
+
+    // Jobs and triggers as stored before the offset and plan were kept in their data.
+    private JobDetail scheduleBaselineJob(long reminderId) throws SchedulerException {
+        JobDetail job = JobBuilder.newJob(NoOpJob.class)
+                .withIdentity(new JobKey("reminder-job-" + reminderId, "reminders"))
+                .usingJobData("reminder-id", reminderId)
+                .storeDurably()
+                .build();
+
+        scheduler.addJob(job, false);
+
+        return job;
+    }
+
+    private static Trigger baselineTrigger(JobDetail job, String name, Instant fireAt) {
+        return TriggerBuilder.newTrigger()
+                .withIdentity(name, "reminders")
+                .forJob(job)
+                .startAt(Date.from(fireAt))
+                .build();
+    }
+
+    public static class NoOpJob implements Job {
+
+        @Override
+        public void execute(JobExecutionContext context) {}
+    }
+}
@@ -0,0 +1,134 @@
+package br.com.springnoobs.reminderapi.schedule.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import br.com.springnoobs.reminderapi.reminder.repository.ReminderRepository;
+import br.com.springnoobs.reminderapi.schedule.service.JobService;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffsetPlans;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.SchedulerException;
+import org.quartz.TriggerKey;
+import org.springframework.data.domain.Pageable;
+
+class QuartzReminderReconcilerTest {
+
+    private JobService jobService;
+
+    private ReminderRepository reminderRepository;
+
+    private QuartzReminderReconciler reconciler;
+
+    @BeforeEach
+    public void setup() {
+        jobService = mock(JobService.class);
+        reminderRepository = mock(ReminderRepository.class);
+
+        reconciler = new QuartzReminderReconciler(
+                jobService,
+                reminderRepository,
+                new ReminderOffsetPlans(reminderRepository, "10d,5d,2d"),
+                new SimpleMeterRegistry(),
+                false,
+                2,
+                Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldRecreateTriggersWhenReminderIsMissingOne() throws SchedulerException {
+        // Arrange
+        Reminder complete = reminder(1L);
+        Reminder incomplete = reminder(2L);
+        Reminder unscheduled = reminder(3L);
+
+        Set<TriggerKey> triggerKeys = new HashSet<>(triggerKeys(complete.getId()));
+        triggerKeys.addAll(triggerKeys(incomplete.getId()));
+        triggerKeys.remove(JobService.reminderTriggerKey(incomplete.getId(), "5-days"));
+
+        when(jobService.findReminderTriggerKeys()).thenReturn(triggerKeys);
+        when(jobService.findReminderJobIds()).thenReturn(new HashSet<>(Set.of(1L, 2L)));
+        when(reminderRepository.findSchedulableByIdGreaterThan(any(Instant.class), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(complete, incomplete));
+        when(reminderRepository.findSchedulableByIdGreaterThan(any(Instant.class), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(unscheduled));
+
+        // Act
+        ReconciliationReport report = reconciler.reconcile().orElseThrow();
+
+        // Assert
+        verify(jobService).scheduleJobs(List.of(incomplete));
+        verify(jobService).scheduleJobs(List.of(unscheduled));
+        verify(jobService, never()).deleteReminderSchedules(anyCollection());
+        assertEquals(3, report.scanned());
+        assertEquals(2, report.recreated());
+        assertEquals(0, report.orphansDeleted());
+    }
+
+    @Test
+    void shouldStoreDisabledFlagWhenLegacyReminderJobHasNoTriggers() throws SchedulerException {
+        // Arrange
+        Reminder disabledBeforeFlag = reminder(1L);
+        Reminder rescheduled = reminder(2L);
+        rescheduled.setScheduledOffsetPlan("10d,5d,2d");
+
+        when(jobService.findReminderTriggerKeys()).thenReturn(Set.of());
+        when(jobService.findReminderJobIds()).thenReturn(new HashSet<>(Set.of(1L, 2L)));
+        when(reminderRepository.findSchedulableByIdGreaterThan(any(Instant.class), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(disabledBeforeFlag, rescheduled));
+
+        // Act
+        ReconciliationReport report = reconciler.reconcile().orElseThrow();
+
+        // Assert
+        verify(reminderRepository).disableNotifications(List.of(1L));
+        verify(jobService).scheduleJobs(List.of(rescheduled));
+        assertEquals(1, report.recreated());
+    }
+
+    @Test
+    void shouldDeleteJobsWhenReminderNoLongerExists() throws SchedulerException {
+        // Arrange
+        when(jobService.findReminderTriggerKeys()).thenReturn(Set.of());
+        when(jobService.findReminderJobIds()).thenReturn(new HashSet<>(Set.of(7L, 8L)));
+        when(reminderRepository.findSchedulableByIdGreaterThan(any(Instant.class), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(reminderRepository.findExistingIds(anyCollection())).thenReturn(List.of(8L));
+
+        // Act
+        ReconciliationReport report = reconciler.reconcile().orElseThrow();
+
+        // Assert
+        verify(jobService).deleteReminderSchedules(List.of(7L));
+        assertEquals(1, report.orphansDeleted());
+        assertTrue(reconciler.getLastReport().isPresent());
+    }
+
+    private static Reminder reminder(Long id) {
+        Instant dueDate = Instant.now().plus(Duration.ofDays(30));
+
+        return new Reminder(id, "Reminder " + id, null, dueDate, dueDate, null, false);
+    }
+
+    private static Set<TriggerKey> triggerKeys(Long reminderId) {
+        return Set.of(
+                JobService.reminderTriggerKey(reminderId, "10-days"),
+                JobService.reminderTriggerKey(reminderId, "5-days"),
+                JobService.reminderTriggerKey(reminderId, "2-days"));
+    }
+}
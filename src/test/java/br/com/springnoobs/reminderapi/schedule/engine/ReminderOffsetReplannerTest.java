@@ -0,0 +1,117 @@
+package br.com.springnoobs.reminderapi.schedule.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import br.com.springnoobs.reminderapi.mail.spool.MessageSpool;
+import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import br.com.springnoobs.reminderapi.reminder.repository.ReminderRepository;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffsetPlans;
+import br.com.springnoobs.reminderapi.user.entity.Contact;
+import br.com.springnoobs.reminderapi.user.entity.User;
+import br.com.springnoobs.reminderapi.user.repository.UserRepository;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.quartz.SchedulerException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReminderOffsetReplannerTest {
+
+    @Autowired
+    private ReminderRepository reminderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Mock
+    private ReminderScheduleEngine scheduleEngine;
+
+    @Mock
+    private MessageSpool messageSpool;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        cleanup();
+
+        saveReminderScheduledBeforePlansWereStored();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        reminderRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldNotRescheduleReminderWithoutScheduledPlanWhenDefaultPlanIsUnchanged() throws SchedulerException {
+        // Arrange
+        ReminderOffsetReplanner replanner = new ReminderOffsetReplanner(
+                reminderRepository,
+                scheduleEngine,
+                new ReminderOffsetPlans(reminderRepository, "10d,5d,2d"),
+                messageSpool,
+                100);
+
+        // Act
+        int replanned = replanner.replan();
+
+        // Assert
+        assertEquals(0, replanned);
+        verify(scheduleEngine, never()).reschedule(any());
+    }
+
+    @Test
+    void shouldRescheduleReminderWithoutScheduledPlanWhenDefaultPlanChanged() throws SchedulerException {
+        // Arrange
+        ReminderOffsetReplanner replanner = new ReminderOffsetReplanner(
+                reminderRepository,
+                scheduleEngine,
+                new ReminderOffsetPlans(reminderRepository, "7d,1d"),
+                messageSpool,
+                100);
+
+        // Act
+        int replanned = replanner.replan();
+
+        // Assert
+        assertEquals(1, replanned);
+        verify(scheduleEngine).reschedule(any());
+        assertEquals("7d,1d", reminderRepository.findAll().getFirst().getScheduledOffsetPlan());
+    }
+
+    private void saveReminderScheduledBeforePlansWereStored() {
+        User user = new User();
+        user.setFirstName("John");
+        user.setLastName("Doe");
+
+        Contact contact = new Contact();
+        contact.setEmail("john.doe@test.com");
+        contact.setUser(user);
+        user.setContact(contact);
+
+        Reminder reminder = new Reminder();
+        reminder.setTitle("Test Reminder");
+        reminder.setDueDate(Instant.now().plus(Duration.ofDays(30)));
+        reminder.setUser(user);
+        user.getReminders().add(reminder);
+
+        userRepository.save(user);
+    }
+}
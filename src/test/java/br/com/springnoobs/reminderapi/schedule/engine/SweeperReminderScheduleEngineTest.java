@@ -0,0 +1,185 @@
+package br.com.springnoobs.reminderapi.schedule.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import br.com.springnoobs.reminderapi.reminder.repository.ReminderRepository;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderCoalescer;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderDispatcher;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderFiringBatcher;
+import br.com.springnoobs.reminderapi.schedule.entity.ReminderNotification;
+import br.com.springnoobs.reminderapi.schedule.entity.ReminderNotificationStatus;
+import br.com.springnoobs.reminderapi.schedule.partition.PartitionLeaseManager;
+import br.com.springnoobs.reminderapi.schedule.repository.ReminderNotificationRepository;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffsetPlans;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SweeperReminderScheduleEngineTest {
+
+    @Autowired
+    private ReminderNotificationRepository repository;
+
+    @Mock
+    private ReminderRepository reminderRepository;
+
+    @Mock
+    private ReminderDispatcher reminderDispatcher;
+
+    @Mock
+    private ReminderCoalescer reminderCoalescer;
+
+    @Mock
+    private ReminderFiringBatcher reminderFiringBatcher;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private PartitionLeaseManager partitionLeaseManager;
+
+    private SweeperReminderScheduleEngine engine;
+
+    private ReminderSweeper sweeper;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        repository.deleteAll();
+
+        engine = new SweeperReminderScheduleEngine(
+                repository, reminderRepository, new ReminderOffsetPlans(reminderRepository, "10d,5d,2d"), 64);
+        sweeper = new ReminderSweeper(
+                repository,
+                reminderCoalescer,
+                reminderFiringBatcher,
+                reminderDispatcher,
+                taskScheduler,
+                partitionLeaseManager,
+                Duration.ofSeconds(30),
+                2,
+                Duration.ofMinutes(2));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void shouldStoreOnlyFutureOffsetsWhenReminderIsScheduled() {
+        // Arrange
+        Reminder reminder = new Reminder();
+        reminder.setId(1L);
+        reminder.setDueDate(Instant.now().plus(6, ChronoUnit.DAYS));
+
+        // Act
+        engine.schedule(reminder);
+
+        // Assert
+        assertEquals(2, repository.count());
+        assertFalse(engine.hasPendingNotification(1L, "10-days"));
+        assertTrue(engine.hasPendingNotification(1L, "5-days"));
+        assertTrue(engine.hasPendingNotification(1L, "2-days"));
+    }
+
+    @Test
+    void shouldFireEachDueNotificationOnceWhenTwoSweepersRun() {
+        // Arrange
+        Instant due = Instant.now().minusSeconds(1);
+        repository.saveAll(List.of(
+                new ReminderNotification(1L, null, "10-days", due),
+                new ReminderNotification(2L, null, "5-days", due),
+                new ReminderNotification(3L, null, "2-days", due)));
+
+        ReminderSweeper otherNode = new ReminderSweeper(
+                repository,
+                reminderCoalescer,
+                reminderFiringBatcher,
+                reminderDispatcher,
+                taskScheduler,
+                partitionLeaseManager,
+                Duration.ofSeconds(30),
+                2,
+                Duration.ofMinutes(2));
+
+        // Act
+        int claimed = sweeper.sweep() + otherNode.sweep();
+
+        // Assert
+        assertEquals(3, claimed);
+        verify(reminderDispatcher).dispatch(1L, "10-days");
+        verify(reminderDispatcher).dispatch(2L, "5-days");
+        verify(reminderDispatcher).dispatch(3L, "2-days");
+        verify(reminderDispatcher, times(3)).dispatch(anyLong(), any());
+        assertEquals(3, repository.countByStatus(ReminderNotificationStatus.FIRED));
+    }
+
+    @Test
+    void shouldNotFireWhenReminderIsUnscheduledAfterSweep() {
+        // Arrange
+        repository.save(
+                new ReminderNotification(1L, null, "2-days", Instant.now().plusSeconds(10)));
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+
+        // Act
+        sweeper.sweep();
+        verify(taskScheduler).schedule(task.capture(), any(Instant.class));
+
+        engine.unschedule(1L);
+        task.getValue().run();
+
+        // Assert
+        verify(reminderDispatcher, never()).dispatch(eq(1L), any());
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void shouldPersistDisabledFlagWhenNotificationsAreDisabledAndClearItWhenRescheduled() {
+        // Arrange
+        Reminder reminder = new Reminder();
+        reminder.setId(1L);
+        reminder.setDueDate(Instant.now().plus(6, ChronoUnit.DAYS));
+        engine.schedule(reminder);
+
+        // Act
+        engine.disableNotifications(1L);
+        long pendingWhenDisabled = repository.count();
+        reminder.setNotificationsDisabled(true);
+        engine.reschedule(reminder);
+
+        // Assert
+        verify(reminderRepository).updateNotificationsDisabled(1L, true);
+        assertEquals(0, pendingWhenDisabled);
+        assertFalse(reminder.isNotificationsDisabled());
+        assertEquals(2, repository.count());
+    }
+}
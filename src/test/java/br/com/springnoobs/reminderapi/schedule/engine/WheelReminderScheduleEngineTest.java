@@ -0,0 +1,191 @@
+package br.com.springnoobs.reminderapi.schedule.engine;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import br.com.springnoobs.reminderapi.reminder.repository.ReminderRepository;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderCoalescer;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderDispatcher;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderFiringBatcher;
+import br.com.springnoobs.reminderapi.schedule.service.ReminderOffsetPlans;
+import br.com.springnoobs.reminderapi.user.entity.Contact;
+import br.com.springnoobs.reminderapi.user.entity.User;
+import br.com.springnoobs.reminderapi.user.repository.UserRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WheelReminderScheduleEngineTest {
+
+    @Autowired
+    private ReminderRepository reminderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ReminderDispatcher reminderDispatcher;
+
+    private User user;
+
+    private WheelReminderScheduleEngine engine;
+
+    @BeforeEach
+    public void setup() {
+        reminderRepository.deleteAll();
+        userRepository.deleteAll();
+
+        reminderDispatcher = mock(ReminderDispatcher.class);
+
+        user = new User();
+        user.setFirstName("John");
+        user.setLastName("Doe");
+
+        Contact contact = new Contact();
+        contact.setEmail("john.doe@test.com");
+        contact.setUser(user);
+        user.setContact(contact);
+
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    public void cleanup() throws InterruptedException {
+        if (engine != null) {
+            engine.stop();
+        }
+
+        reminderRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldFireMissedOffsetWhenItIsWithinRecoveryLookback() {
+        // Arrange
+        Instant now = Instant.now();
+        Reminder missed = saveReminder(now.plus(2, ChronoUnit.DAYS).minus(10, ChronoUnit.MINUTES));
+        Reminder tooOld = saveReminder(now.plus(2, ChronoUnit.DAYS).minus(2, ChronoUnit.HOURS));
+
+        // Act
+        startEngine(Duration.ofMinutes(10));
+
+        // Assert
+        verify(reminderDispatcher, timeout(3000)).dispatch(missed.getId(), "2-days");
+        verify(reminderDispatcher, after(1000).never()).dispatch(eq(tooOld.getId()), any());
+    }
+
+    @Test
+    void shouldFireOffsetBeyondFirstWindowWhenNextSliceIsLoaded() {
+        // Arrange
+        Reminder reminder = saveReminder(Instant.now().plus(2, ChronoUnit.DAYS).plusSeconds(3));
+
+        // Act
+        startEngine(Duration.ofSeconds(2));
+
+        // Assert
+        verify(reminderDispatcher, timeout(6000)).dispatch(reminder.getId(), "2-days");
+    }
+
+    @Test
+    void shouldNotFireStaleEntryWhenDueDateOrPlanChanged() {
+        // Arrange
+        Instant dueDate = Instant.now().plus(2, ChronoUnit.DAYS).plusSeconds(1);
+        Reminder unchanged = saveReminder(dueDate);
+        Reminder moved = saveReminder(dueDate);
+        Reminder replanned = saveReminder(dueDate);
+        startEngine(Duration.ofMinutes(10));
+
+        // Act
+        moved.setDueDate(dueDate.plus(1, ChronoUnit.DAYS));
+        reminderRepository.save(moved);
+        replanned.setOffsetPlan("5d");
+        reminderRepository.save(replanned);
+
+        // Assert
+        verify(reminderDispatcher, timeout(3000)).dispatch(unchanged.getId(), "2-days");
+        verify(reminderDispatcher, after(500).never()).dispatch(eq(moved.getId()), any());
+        verify(reminderDispatcher, never()).dispatch(eq(replanned.getId()), any());
+    }
+
+    @Test
+    void shouldNotFireWhenReminderIsDisabledOrDeleted() {
+        // Arrange
+        Instant dueDate = Instant.now().plus(2, ChronoUnit.DAYS).plusSeconds(1);
+        Reminder enabled = saveReminder(dueDate);
+        Reminder disabled = saveReminder(dueDate);
+        Reminder deleted = saveReminder(dueDate);
+        startEngine(Duration.ofMinutes(10));
+
+        // Act
+        engine.disableNotifications(disabled.getId());
+        reminderRepository.deleteById(deleted.getId());
+        engine.unschedule(deleted.getId());
+
+        // Assert
+        verify(reminderDispatcher, timeout(3000)).dispatch(enabled.getId(), "2-days");
+        verify(reminderDispatcher, after(500).never()).dispatch(eq(disabled.getId()), any());
+        verify(reminderDispatcher, never()).dispatch(eq(deleted.getId()), any());
+    }
+
+    @Test
+    void shouldDispatchOnceWhenSameDeadlineIsInWheelSeveralTimes() {
+        // Arrange
+        Reminder reminder = saveReminder(Instant.now().plus(2, ChronoUnit.DAYS).plusSeconds(1));
+        startEngine(Duration.ofMinutes(10));
+
+        // Act
+        engine.schedule(reminder);
+        engine.schedule(reminder);
+
+        // Assert
+        verify(reminderDispatcher, timeout(3000)).dispatch(reminder.getId(), "2-days");
+        verify(reminderDispatcher, after(1000)).dispatch(eq(reminder.getId()), any());
+    }
+
+    private void startEngine(Duration window) {
+        engine = new WheelReminderScheduleEngine(
+                reminderRepository,
+                mock(ReminderCoalescer.class),
+                mock(ReminderFiringBatcher.class),
+                reminderDispatcher,
+                new TransactionTemplate(transactionManager),
+                new ReminderOffsetPlans(reminderRepository, "10d,5d,2d"),
+                Duration.ofMillis(10),
+                512,
+                window,
+                Duration.ofHours(1));
+        engine.start();
+    }
+
+    private Reminder saveReminder(Instant dueDate) {
+        Reminder reminder = new Reminder();
+        reminder.setTitle("Test Reminder");
+        reminder.setDueDate(dueDate.truncatedTo(ChronoUnit.MILLIS));
+        reminder.setUser(user);
+
+        return reminderRepository.save(reminder);
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.springnoobs.reminderapi.schedule.job.mail;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import br.com.springnoobs.reminderapi.mail.breaker.MailCircuitBreaker;
+import br.com.springnoobs.reminderapi.mail.retry.EmailRetryDrainer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+
+class RetryFailedEmailsJobTest {
+
+    @Mock
+    private EmailRetryDrainer drainer;
+
+    @Mock
+    private MailCircuitBreaker circuitBreaker;
+
+    private RetryFailedEmailsJob job;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+
+        job = new RetryFailedEmailsJob(drainer, circuitBreaker);
+    }
+
+    @Test
+    void shouldDrainUntilNoRowIsClaimedWhenBacklogExceedsBatchSize() throws JobExecutionException {
+        // Arrange
+        when(circuitBreaker.isCallPermitted()).thenReturn(true);
+        when(drainer.drain()).thenReturn(20, 20, 5, 0);
+
+        // Act
+        job.execute(mock(JobExecutionContext.class));
+
+        // Assert
+        verify(drainer, times(4)).drain();
+    }
+
+    @Test
+    void shouldStopDrainingWhenCircuitBreakerOpens() throws JobExecutionException {
+        // Arrange
+        when(circuitBreaker.isCallPermitted()).thenReturn(true, false);
+        when(drainer.drain()).thenReturn(20);
+
+        // Act
+        job.execute(mock(JobExecutionContext.class));
+
+        // Assert
+        verify(drainer, times(1)).drain();
+    }
+}
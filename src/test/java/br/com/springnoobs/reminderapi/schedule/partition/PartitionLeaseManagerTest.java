@@ -0,0 +1,203 @@
+package br.com.springnoobs.reminderapi.schedule.partition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderCoalescer;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderDispatcher;
+import br.com.springnoobs.reminderapi.schedule.dispatch.ReminderFiringBatcher;
+import br.com.springnoobs.reminderapi.schedule.engine.ReminderSweeper;
+import br.com.springnoobs.reminderapi.schedule.entity.ReminderNotification;
+import br.com.springnoobs.reminderapi.schedule.repository.ReminderNodeRepository;
+import br.com.springnoobs.reminderapi.schedule.repository.ReminderNotificationRepository;
+import br.com.springnoobs.reminderapi.schedule.repository.ReminderPartitionLeaseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PartitionLeaseManagerTest {
+
+    private static final int PARTITIONS = 8;
+
+    private static final Duration LEASE = Duration.ofMillis(500);
+
+    @Autowired
+    private ReminderPartitionLeaseRepository leaseRepository;
+
+    @Autowired
+    private ReminderNodeRepository nodeRepository;
+
+    @Autowired
+    private ReminderNotificationRepository notificationRepository;
+
+    private PartitionLeaseManager first;
+
+    private PartitionLeaseManager second;
+
+    @Mock
+    private ReminderDispatcher firstDispatcher;
+
+    @Mock
+    private ReminderDispatcher secondDispatcher;
+
+    @Mock
+    private ReminderCoalescer reminderCoalescer;
+
+    @Mock
+    private ReminderFiringBatcher reminderFiringBatcher;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private ReminderSweeper firstSweeper;
+
+    private ReminderSweeper secondSweeper;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        cleanup();
+
+        first = new PartitionLeaseManager(
+                leaseRepository,
+                nodeRepository,
+                notificationRepository,
+                new SimpleMeterRegistry(),
+                true,
+                PARTITIONS,
+                LEASE,
+                "node-1");
+        second = new PartitionLeaseManager(
+                leaseRepository,
+                nodeRepository,
+                notificationRepository,
+                new SimpleMeterRegistry(),
+                true,
+                PARTITIONS,
+                LEASE,
+                "node-2");
+
+        firstSweeper = new ReminderSweeper(
+                notificationRepository,
+                reminderCoalescer,
+                reminderFiringBatcher,
+                firstDispatcher,
+                taskScheduler,
+                first,
+                Duration.ofSeconds(30),
+                100,
+                Duration.ofMinutes(2));
+        secondSweeper = new ReminderSweeper(
+                notificationRepository,
+                reminderCoalescer,
+                reminderFiringBatcher,
+                secondDispatcher,
+                taskScheduler,
+                second,
+                Duration.ofSeconds(30),
+                100,
+                Duration.ofMinutes(2));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        notificationRepository.deleteAll();
+        leaseRepository.deleteAll();
+        nodeRepository.deleteAll();
+    }
+
+    @Test
+    void shouldFireOnlyOwnPartitionsWhenTwoNodesShareTheTable() {
+        // Arrange
+        seedDueNotifications(1, 16);
+
+        first.open();
+        second.open();
+        first.heartbeat();
+        second.heartbeat();
+
+        // Act
+        int fired = firstSweeper.sweep() + secondSweeper.sweep();
+
+        // Assert
+        Set<Integer> firstPartitions = first.getOwnedPartitions();
+        Set<Integer> secondPartitions = second.getOwnedPartitions();
+
+        Set<Integer> allPartitions = new HashSet<>(firstPartitions);
+        allPartitions.addAll(secondPartitions);
+
+        assertEquals(PARTITIONS / 2, firstPartitions.size());
+        assertEquals(PARTITIONS / 2, secondPartitions.size());
+        assertEquals(PARTITIONS, allPartitions.size());
+        assertEquals(16, fired);
+
+        for (long reminderId = 1; reminderId <= 16; reminderId++) {
+            int partition = PartitionLeaseManager.partitionOf(reminderId, PARTITIONS);
+            ReminderDispatcher owner = firstPartitions.contains(partition) ? firstDispatcher : secondDispatcher;
+            ReminderDispatcher other = owner == firstDispatcher ? secondDispatcher : firstDispatcher;
+
+            verify(owner).dispatch(reminderId, "2-days");
+            verify(other, never()).dispatch(reminderId, "2-days");
+        }
+    }
+
+    @Test
+    void shouldHandOffPartitionsWhenNodeStopsHeartbeating() throws InterruptedException {
+        // Arrange
+        seedDueNotifications(1, 16);
+
+        first.open();
+        second.open();
+        first.heartbeat();
+        second.heartbeat();
+
+        // Act
+        Thread.sleep(LEASE.toMillis() * 2);
+        second.heartbeat();
+
+        int firedByStoppedNode = firstSweeper.sweep();
+        int firedBySurvivor = secondSweeper.sweep();
+
+        // Assert
+        assertTrue(first.getOwnedPartitions().isEmpty());
+        assertEquals(PARTITIONS, second.getOwnedPartitions().size());
+        assertEquals(0, firedByStoppedNode);
+        assertEquals(16, firedBySurvivor);
+        verify(firstDispatcher, never()).dispatch(anyLong(), any());
+        verify(secondDispatcher, times(16)).dispatch(anyLong(), any());
+        assertEquals(1, nodeRepository.count());
+    }
+
+    // Stored without partition, as rows written before partitioning was enabled; open() assigns them.
+    private void seedDueNotifications(long fromReminderId, long toReminderId) {
+        Instant due = Instant.now().minusSeconds(1);
+
+        notificationRepository.saveAll(LongStream.rangeClosed(fromReminderId, toReminderId)
+                .mapToObj(reminderId -> new ReminderNotification(reminderId, null, "2-days", due))
+                .toList());
+    }
+}
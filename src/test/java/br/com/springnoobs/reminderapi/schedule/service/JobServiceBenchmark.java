@@ -0,0 +1,116 @@
+package br.com.springnoobs.reminderapi.schedule.service;
+
+import br.com.springnoobs.reminderapi.reminder.entity.Reminder;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.impl.StdSchedulerFactory;
+
+/*
+ * Per-reminder cost of scheduling and deleting reminders through a JDBC job store (JobStoreTX on in-memory H2)
+ * when the bulk JobService methods run with chunks of 1, 100 and 10k reminders. A chunk of 1 costs the same
+ * job store transactions as the per-reminder methods. Run with:
+ * ./mvnw -Pbenchmark verify -Djmh.includes=JobServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JobServiceBenchmark {
+
+    private static final int REMINDERS = 10_000;
+
+    @Param({"1", "100", "10000"})
+    private int chunkSize;
+
+    private Scheduler scheduler;
+
+    private JobService jobService;
+
+    private List<Reminder> reminders;
+
+    private List<Long> reminderIds;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException, SchedulerException {
+        String url = "jdbc:h2:mem:quartz-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+
+        try (Connection connection = DriverManager.getConnection(url);
+                Statement statement = connection.createStatement()) {
+            statement.execute("RUNSCRIPT FROM 'classpath:/org/quartz/impl/jdbcjobstore/tables_h2.sql'");
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty(StdSchedulerFactory.PROP_SCHED_INSTANCE_NAME, "benchmark-" + UUID.randomUUID());
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+        properties.setProperty(StdSchedulerFactory.PROP_JOB_STORE_CLASS, "org.quartz.impl.jdbcjobstore.JobStoreTX");
+        properties.setProperty(
+                "org.quartz.jobStore.driverDelegateClass", "org.quartz.impl.jdbcjobstore.StdJDBCDelegate");
+        properties.setProperty("org.quartz.jobStore.dataSource", "benchmark");
+        properties.setProperty("org.quartz.dataSource.benchmark.provider", "hikaricp");
+        properties.setProperty("org.quartz.dataSource.benchmark.driver", "org.h2.Driver");
+        properties.setProperty("org.quartz.dataSource.benchmark.URL", url);
+        properties.setProperty("org.quartz.dataSource.benchmark.maxConnections", "2");
+
+        scheduler = new StdSchedulerFactory(properties).getScheduler();
+        jobService = new JobService(scheduler, new ReminderOffsetPlans(null, "10d,5d,2d"), chunkSize);
+
+        Instant dueDate = Instant.now().plus(Duration.ofDays(30));
+        reminders = new ArrayList<>(REMINDERS);
+        reminderIds = new ArrayList<>(REMINDERS);
+
+        for (long id = 1; id <= REMINDERS; id++) {
+            reminders.add(new Reminder(id, "Reminder " + id, null, dueDate, dueDate, null, false));
+            reminderIds.add(id);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void clear() throws SchedulerException {
+        scheduler.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SchedulerException {
+        scheduler.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REMINDERS)
+    public void scheduleJobs() throws SchedulerException {
+        jobService.scheduleJobs(reminders);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REMINDERS)
+    public void scheduleAndDeleteJobs() throws SchedulerException {
+        jobService.scheduleJobs(reminders);
+        jobService.deleteReminderSchedules(reminderIds);
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.springnoobs.reminderapi.schedule.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ReminderOffsetPlanTest {
+
+    @Test
+    void shouldSortAndDeduplicateOffsetsWhenParsingPlan() {
+        // Act
+        ReminderOffsetPlan plan = ReminderOffsetPlan.parse("1h,30d,7d,1d,24h,1h");
+
+        // Assert
+        assertEquals("30d,7d,1d,1h", plan.format());
+        assertEquals(
+                List.of(Duration.ofDays(30), Duration.ofDays(7), Duration.ofDays(1), Duration.ofHours(1)),
+                plan.offsets().stream().map(ReminderOffset::duration).toList());
+    }
+
+    @Test
+    void shouldKeepDaysSuffixWhenPlanUsesDefaultOffsets() {
+        // Act
+        ReminderOffsetPlan plan = ReminderOffsetPlan.parse("10d,5d,2d");
+
+        // Assert
+        assertEquals(
+                List.of("10-days", "5-days", "2-days"),
+                plan.offsets().stream().map(ReminderOffset::suffix).toList());
+    }
+
+    @Test
+    void shouldNameSuffixByLargestUnitWhenOffsetIsNotWholeDays() {
+        // Act
+        ReminderOffsetPlan plan = ReminderOffsetPlan.parse("1d,36h,90m,1h");
+
+        // Assert
+        assertEquals(
+                List.of("36-hours", "1-day", "90-minutes", "1-hour"),
+                plan.offsets().stream().map(ReminderOffset::suffix).toList());
+        assertEquals(2, plan.indexOf(Duration.ofMinutes(90)));
+        assertEquals(-1, plan.indexOf(Duration.ofDays(2)));
+    }
+
+    @Test
+    void shouldThrowIllegalArgumentExceptionWhenPlanIsInvalid() {
+        // Assert
+        assertThrows(IllegalArgumentException.class, () -> ReminderOffsetPlan.parse("2 weeks"));
+        assertThrows(IllegalArgumentException.class, () -> ReminderOffsetPlan.parse("1d,2d,3d,4d,5d,6d,7d,8d,9d"));
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.springnoobs.reminderapi.schedule.wheel;
+
+import java.util.Date;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.quartz.Job;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.impl.StdSchedulerFactory;
+
+/*
+ * Compares scheduling a batch of reminders in the timing wheel with scheduling them in a Quartz RAMJobStore
+ * (the Quartz path without JDBC round trips), and measures how fast the wheel expires them. Memory per scheduled
+ * reminder is printed at teardown. Run with: ./mvnw -Pbenchmark verify -Djmh.includes=TimingWheelBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimingWheelBenchmark {
+
+    private static final int REMINDERS = 10_000;
+
+    private static final long TICK_MILLIS = 10;
+
+    private static final long SPAN_MILLIS = 20 * 60 * 1000;
+
+    private static final long START = 1_700_000_000_000L;
+
+    private long[] deadlines;
+
+    private TimingWheel filledWheel;
+
+    private Scheduler scheduler;
+
+    @Setup(Level.Trial)
+    public void setup() throws SchedulerException {
+        deadlines = new long[REMINDERS];
+        for (int i = 0; i < REMINDERS; i++) {
+            deadlines[i] = START + (i * 7_919L) % (SPAN_MILLIS / 2);
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty(StdSchedulerFactory.PROP_SCHED_INSTANCE_NAME, "benchmark-" + UUID.randomUUID());
+        properties.setProperty(StdSchedulerFactory.PROP_JOB_STORE_CLASS, "org.quartz.simpl.RAMJobStore");
+        properties.setProperty("org.quartz.threadPool.threadCount", "1");
+
+        scheduler = new StdSchedulerFactory(properties).getScheduler();
+    }
+
+    @Setup(Level.Invocation)
+    public void fillWheel() {
+        filledWheel = new TimingWheel(TICK_MILLIS, 512, SPAN_MILLIS, START);
+
+        for (int i = 0; i < REMINDERS; i++) {
+            filledWheel.add(deadlines[i], i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SchedulerException {
+        TimingWheel wheel = new TimingWheel(TICK_MILLIS, 512, SPAN_MILLIS, START);
+        for (int i = 0; i < REMINDERS; i++) {
+            wheel.add(deadlines[i], i);
+        }
+
+        scheduler.clear();
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long before = runtime.totalMemory() - runtime.freeMemory();
+        scheduleInQuartz();
+        System.gc();
+        long after = runtime.totalMemory() - runtime.freeMemory();
+
+        System.out.printf(
+                "%nTiming wheel: %d bytes per reminder, Quartz RAMJobStore: ~%d bytes per reminder%n",
+                wheel.getEntryBytes() / wheel.size(), (after - before) / REMINDERS);
+
+        scheduler.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REMINDERS)
+    public TimingWheel insertIntoWheel() {
+        TimingWheel wheel = new TimingWheel(TICK_MILLIS, 512, SPAN_MILLIS, START);
+
+        for (int i = 0; i < REMINDERS; i++) {
+            wheel.add(deadlines[i], i);
+        }
+
+        return wheel;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REMINDERS)
+    public void scheduleInQuartz(Blackhole blackhole) throws SchedulerException {
+        scheduler.clear();
+        scheduleInQuartz();
+        blackhole.consume(scheduler);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REMINDERS)
+    public void fireFromWheel(Blackhole blackhole) {
+        filledWheel.advance(START + SPAN_MILLIS, (deadline, value) -> blackhole.consume(value));
+    }
+
+    private void scheduleInQuartz() throws SchedulerException {
+        for (int i = 0; i < REMINDERS; i++) {
+            JobDetail job = JobBuilder.newJob(NoOpJob.class)
+                    .withIdentity("reminder-" + i, "reminders")
+                    .usingJobData("reminder_id", (long) i)
+                    .build();
+
+            Trigger trigger = TriggerBuilder.newTrigger()
+                    .withIdentity("reminder-" + i, "reminders")
+                    .startAt(new Date(deadlines[i]))
+                    .build();
+
+            scheduler.scheduleJob(job, trigger);
+        }
+    }
+
+    public static class NoOpJob implements Job {
+
+        @Override
+        public void execute(org.quartz.JobExecutionContext context) {}
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.springnoobs.reminderapi.schedule.wheel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void shouldFireEntryWhenItsTickElapses() {
+        // Arrange
+        TimingWheel wheel = new TimingWheel(10, 8, 80, START);
+        List<Long> fired = new ArrayList<>();
+        wheel.add(START + 35, 7L);
+
+        // Act
+        wheel.advance(START + 30, (deadline, value) -> fired.add(value));
+        boolean firedEarly = !fired.isEmpty();
+        wheel.advance(START + 40, (deadline, value) -> fired.add(value));
+
+        // Assert
+        assertFalse(firedEarly);
+        assertEquals(List.of(7L), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldCascadeEntriesWhenDeadlineIsOnUpperLevel() {
+        // Arrange
+        TimingWheel wheel = new TimingWheel(10, 8, 10_000, START);
+        List<long[]> fired = new ArrayList<>();
+        long[] deadlines = {START + 95, START + 640, START + 4_321, START + 9_999};
+
+        for (int i = 0; i < deadlines.length; i++) {
+            assertTrue(wheel.add(deadlines[i], i));
+        }
+
+        // Act
+        for (long now = START; now <= START + 10_010; now += 7) {
+            long current = now;
+            wheel.advance(now, (deadline, value) -> fired.add(new long[] {deadline, value, current}));
+        }
+
+        // Assert
+        assertEquals(deadlines.length, fired.size());
+        for (long[] entry : fired) {
+            assertEquals(deadlines[(int) entry[1]], entry[0]);
+            assertTrue(entry[2] >= entry[0]);
+            assertTrue(entry[2] - entry[0] < 10 + 7);
+        }
+    }
+
+    @Test
+    void shouldRejectEntryWhenDeadlineIsBeyondSpan() {
+        // Arrange
+        TimingWheel wheel = new TimingWheel(10, 8, 80, START);
+
+        // Act
+        boolean added = wheel.add(START + wheel.getSpanMillis() + 10, 1L);
+
+        // Assert
+        assertFalse(added);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldFireOnNextAdvanceWhenDeadlineIsPast() {
+        // Arrange
+        TimingWheel wheel = new TimingWheel(10, 8, 80, START);
+        List<Long> fired = new ArrayList<>();
+        wheel.add(START - 5_000, 3L);
+
+        // Act
+        wheel.advance(START, (deadline, value) -> fired.add(value));
+
+        // Assert
+        assertEquals(List.of(3L), fired);
+    }
+
+    @Test
+    void shouldFireInTickOrderWhenAdvancingSeveralTicks() {
+        // Arrange
+        TimingWheel wheel = new TimingWheel(10, 8, 1_000, START);
+        List<Long> fired = new ArrayList<>();
+        wheel.add(START + 500, 3L);
+        wheel.add(START + 15, 1L);
+        wheel.add(START + 120, 2L);
+
+        // Act
+        wheel.advance(START + 1_000, (deadline, value) -> fired.add(value));
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), fired);
+    }
+}